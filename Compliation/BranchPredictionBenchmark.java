@@ -0,0 +1,350 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Branch prediction benchmark for complexCondition.
+ * JavaBenchmark feeds complexCondition sequential i, whose modulo branches repeat
+ * every 30 values. Here the same function runs over generated inputs with
+ * controlled branch entropy (sequential, sorted by branch path, random,
+ * adversarial) next to branchless lookup-table and arithmetic versions, so the
+ * branch prediction cost can be told apart from inlining. With perf available,
+ * each variant/input pair is rerun in a forked JVM under perf stat to count
+ * branch misses per call. The input generators, measurement and perf helpers are
+ * shared with KotlinBranchPredictionBenchmark.
+ *
+ * Usage: BranchPredictionBenchmark [--no-perf]
+ */
+public class BranchPredictionBenchmark {
+    public static final int INPUT_SIZE = 1 << 16;
+    public static final long CALLS_PER_MEASUREMENT = Integer.getInteger("iterations", 20_000_000);
+    private static final long SEED = 42;
+    private static final String SINGLE_FLAG = "--single";
+
+    // Keeps results reachable so the JIT cannot drop the measured loops
+    private static volatile long sink;
+
+    public enum InputKind {
+        SEQUENTIAL("sequential"),
+        SORTED("sorted by path"),
+        RANDOM("random"),
+        ADVERSARIAL("adversarial");
+
+        private final String label;
+
+        InputKind(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** Runs a variant over the whole input the given number of times and returns a checksum. */
+    @FunctionalInterface
+    public interface PassRunner {
+        long run(int[] input, int passes);
+    }
+
+    public static class BranchResult {
+        public final String variant;
+        public final InputKind input;
+        public final double nsPerCall;
+        public final boolean checksumMatches;
+        public double branchMissesPerCall = Double.NaN;
+
+        BranchResult(String variant, InputKind input, double nsPerCall, boolean checksumMatches) {
+            this.variant = variant;
+            this.input = input;
+            this.nsPerCall = nsPerCall;
+            this.checksumMatches = checksumMatches;
+        }
+    }
+
+    // Which of complexCondition's six return statements a value reaches
+    public static int path(int value) {
+        int parity = value % 2 == 0 ? 0 : 3;
+        if (value % 3 == 0) {
+            return parity;
+        }
+        return parity + (value % 5 == 0 ? 1 : 2);
+    }
+
+    /**
+     * Sorted means grouped by branch path (sorting by value would not help a modulo branch);
+     * adversarial draws every path with equal probability, so no branch level has a favourite.
+     */
+    public static int[] inputs(InputKind kind, int size) {
+        Random random = new Random(SEED);
+        int[] values = new int[size];
+        switch (kind) {
+            case SEQUENTIAL:
+                for (int i = 0; i < size; i++) {
+                    values[i] = i;
+                }
+                break;
+            case RANDOM:
+                for (int i = 0; i < size; i++) {
+                    values[i] = random.nextInt(1 << 30);
+                }
+                break;
+            case SORTED:
+                List<List<Integer>> byPath = new ArrayList<>();
+                for (int p = 0; p < 6; p++) {
+                    byPath.add(new ArrayList<>());
+                }
+                for (int i = 0; i < size; i++) {
+                    int value = random.nextInt(1 << 30);
+                    byPath.get(path(value)).add(value);
+                }
+                int index = 0;
+                for (List<Integer> group : byPath) {
+                    for (int value : group) {
+                        values[index++] = value;
+                    }
+                }
+                break;
+            case ADVERSARIAL:
+                for (int i = 0; i < size; i++) {
+                    int target = random.nextInt(6);
+                    int value;
+                    do {
+                        value = random.nextInt(1 << 30);
+                    } while (path(value) != target);
+                    values[i] = value;
+                }
+                break;
+        }
+        return values;
+    }
+
+    // complexCondition's result for each value mod 30 is (value * MUL + ADD) / DIV with one of six parameter sets
+    private static final byte[] PATH_BY_RESIDUE = new byte[30];
+    private static final int[] MUL = {2, 3, 1, 1, 1, 1};
+    private static final int[] ADD = {0, 0, 1, 0, 0, -1};
+    private static final int[] DIV = {1, 1, 1, 3, 5, 1};
+
+    static {
+        for (int r = 0; r < 30; r++) {
+            PATH_BY_RESIDUE[r] = (byte) path(r);
+        }
+    }
+
+    // Table lookup instead of the branch tree; the variable divisor costs an idiv
+    public static int complexConditionLookup(int value) {
+        int p = PATH_BY_RESIDUE[(value % 30 + 30) % 30];
+        return (value * MUL[p] + ADD[p]) / DIV[p];
+    }
+
+    private static int isZero(int x) {
+        return ((x | -x) >>> 31) ^ 1;
+    }
+
+    // Computes all six results and selects one with masks: no data-dependent branch at all
+    public static int complexConditionArithmetic(int value) {
+        int even = (value & 1) ^ 1;
+        int odd = even ^ 1;
+        int by3 = isZero(value % 3);
+        int by5 = isZero(value % 5) & (by3 ^ 1);
+        int other = (by3 | by5) ^ 1;
+        return (value * 2 & -(even & by3))
+                | (value * 3 & -(even & by5))
+                | (value + 1 & -(even & other))
+                | (value / 3 & -(odd & by3))
+                | (value / 5 & -(odd & by5))
+                | (value - 1 & -(odd & other));
+    }
+
+    private static long reference(int[] input) {
+        long sum = 0;
+        for (int value : input) {
+            sum += JavaBenchmark.complexCondition(value);
+        }
+        return sum;
+    }
+
+    /** Warms the variant on the input, checks it against complexCondition, then times CALLS_PER_MEASUREMENT calls. */
+    public static BranchResult measure(String variant, InputKind kind, int[] input, PassRunner runner) {
+        int passes = (int) Math.max(1, CALLS_PER_MEASUREMENT / input.length);
+        boolean matches = runner.run(input, 1) == reference(input);
+        sink += runner.run(input, passes);
+
+        long startTime = System.nanoTime();
+        sink += runner.run(input, passes);
+        long elapsed = System.nanoTime() - startTime;
+        return new BranchResult(variant, kind, (double) elapsed / ((long) passes * input.length), matches);
+    }
+
+    /** Child side of the perf runs: the warm-up always runs, the measured passes only when measure is set. */
+    public static void runSingle(PassRunner runner, InputKind kind, boolean measure) {
+        int[] input = inputs(kind, INPUT_SIZE);
+        int passes = (int) Math.max(1, CALLS_PER_MEASUREMENT / input.length);
+        sink += runner.run(input, passes);
+        if (measure) {
+            sink += runner.run(input, passes);
+        }
+    }
+
+    private static Boolean perfAvailable;
+
+    public static boolean perfAvailable() {
+        if (perfAvailable == null) {
+            try {
+                perfAvailable = perfBranchMisses("true") >= 0;
+            } catch (IOException | InterruptedException e) {
+                perfAvailable = false;
+            }
+        }
+        return perfAvailable;
+    }
+
+    // branch-misses of the whole command from perf stat's CSV output, or -1 if not counted
+    private static long perfBranchMisses(String... command) throws IOException, InterruptedException {
+        List<String> perf = new ArrayList<>();
+        perf.add("perf");
+        perf.add("stat");
+        perf.add("-x,");
+        perf.add("-e");
+        perf.add("branch-misses");
+        for (String part : command) {
+            perf.add(part);
+        }
+        Process process = new ProcessBuilder(perf).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        long misses = -1;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length > 2 && fields[2].startsWith("branch-misses")) {
+                    try {
+                        misses = Long.parseLong(fields[0]);
+                    } catch (NumberFormatException e) {
+                        misses = -1; // "<not supported>" or "<not counted>"
+                    }
+                }
+            }
+        }
+        return process.waitFor() == 0 ? misses : -1;
+    }
+
+    /**
+     * Branch misses per call of one variant, counted by perf in a forked JVM.
+     * A second, warm-up-only run is subtracted to remove JVM startup and JIT work.
+     */
+    public static double perfBranchMissesPerCall(String mainClass, String variant, InputKind kind) throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classPath = System.getProperty("java.class.path");
+        String iterations = "-Diterations=" + CALLS_PER_MEASUREMENT;
+        long measured = perfBranchMisses(java, iterations, "-cp", classPath, mainClass, SINGLE_FLAG, variant, kind.name(), "measure");
+        long baseline = perfBranchMisses(java, iterations, "-cp", classPath, mainClass, SINGLE_FLAG, variant, kind.name(), "baseline");
+        if (measured < 0 || baseline < 0) {
+            return Double.NaN;
+        }
+        long calls = Math.max(1, CALLS_PER_MEASUREMENT / INPUT_SIZE) * INPUT_SIZE;
+        return Math.max(0, measured - baseline) / (double) calls;
+    }
+
+    /** Measures every variant on every input kind, adding perf branch misses when requested and available. */
+    public static List<BranchResult> runAll(String mainClass, Map<String, PassRunner> variants, boolean usePerf)
+            throws IOException, InterruptedException {
+        List<BranchResult> results = new ArrayList<>();
+        for (InputKind kind : InputKind.values()) {
+            int[] input = inputs(kind, INPUT_SIZE);
+            for (Map.Entry<String, PassRunner> variant : variants.entrySet()) {
+                results.add(measure(variant.getKey(), kind, input, variant.getValue()));
+            }
+        }
+        if (usePerf && perfAvailable()) {
+            System.out.println("Counting branch misses with perf stat...");
+            for (BranchResult result : results) {
+                result.branchMissesPerCall = perfBranchMissesPerCall(mainClass, result.variant, result.input);
+            }
+        } else if (usePerf) {
+            System.out.println("perf stat not available (or branch-misses not permitted); branch-miss column left empty");
+        }
+        return results;
+    }
+
+    /** Handles the --single child mode used by the perf runs; returns false for a normal run. */
+    public static boolean handleSingle(String[] args, Map<String, PassRunner> variants) {
+        if (args.length != 4 || !args[0].equals(SINGLE_FLAG)) {
+            return false;
+        }
+        runSingle(variants.get(args[1]), InputKind.valueOf(args[2]), args[3].equals("measure"));
+        return true;
+    }
+
+    public static void printResults(String title, List<BranchResult> results) {
+        System.out.println("\n=== " + title + " ===");
+        System.out.println("+--------------------------+------------------+----------------------+--------------+----------------------+----------+");
+        System.out.println("| Variant                  | Input            | Time Per Call (ns)   | vs Sorted    | Branch Misses/Call   | Checksum |");
+        System.out.println("+--------------------------+------------------+----------------------+--------------+----------------------+----------+");
+        for (BranchResult r : results) {
+            double sorted = Double.NaN;
+            for (BranchResult other : results) {
+                if (other.variant.equals(r.variant) && other.input == InputKind.SORTED) {
+                    sorted = other.nsPerCall;
+                }
+            }
+            System.out.printf("| %-24s | %-16s | %20.3f | %11.2fx | %20s | %-8s |\n",
+                    r.variant, r.input.getLabel(), r.nsPerCall, r.nsPerCall / sorted,
+                    Double.isNaN(r.branchMissesPerCall) ? "n/a" : String.format("%.4f", r.branchMissesPerCall),
+                    r.checksumMatches ? "ok" : "MISMATCH");
+        }
+        System.out.println("+--------------------------+------------------+----------------------+--------------+----------------------+----------+");
+    }
+
+    private static Map<String, PassRunner> variants() {
+        Map<String, PassRunner> variants = new LinkedHashMap<>();
+        variants.put("complexCondition", (input, passes) -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int value : input) {
+                    sum += JavaBenchmark.complexCondition(value);
+                }
+            }
+            return sum;
+        });
+        variants.put("lookup table", (input, passes) -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int value : input) {
+                    sum += complexConditionLookup(value);
+                }
+            }
+            return sum;
+        });
+        variants.put("branchless arithmetic", (input, passes) -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int value : input) {
+                    sum += complexConditionArithmetic(value);
+                }
+            }
+            return sum;
+        });
+        return variants;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, PassRunner> variants = variants();
+        if (handleSingle(args, variants)) {
+            return;
+        }
+        boolean usePerf = args.length == 0 || !args[0].equals("--no-perf");
+
+        System.out.println("Java Branch Prediction Benchmark:");
+        System.out.println("==================================");
+        List<BranchResult> results = runAll(BranchPredictionBenchmark.class.getName(), variants, usePerf);
+        printResults("Java complexCondition Branch Prediction Results", results);
+        System.out.println("==================================");
+        System.out.println("Java Branch Prediction Benchmark Completed");
+    }
+}
@@ -0,0 +1,443 @@
+/**
+ * Code Cache and Deoptimization Pressure Benchmark
+ * Fills the code cache with many distinct hot methods and flips type profiles
+ * to force uncommon traps, reporting code cache usage, deopts and throughput.
+ * Run with -XX:ReservedCodeCacheSize=4m -XX:-UseCodeCacheFlushing (the Gradle task does)
+ * so the cache actually fills and the compiler shuts off.
+ */
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+public class CodeCachePressureBenchmark {
+    private static final int NUM_CLASSES = Integer.getInteger("classes", 2000);
+    private static final int BATCH_SIZE = 250;
+    // Enough calls per generated method to pass the C1 and C2 compile thresholds
+    private static final int WARMUP_CALLS = Integer.getInteger("iterations", 30_000);
+    private static final int MEASURE_CALLS = 1_000;
+    // Calls per run of a class's own loop; the shared fill site dispatches once per INNER_CALLS calls
+    private static final int INNER_CALLS = 100;
+    private static final int STEPS = Integer.getInteger("steps", 64); // Arithmetic steps per generated method, sets its code size
+    private static final int WINDOW_CALLS = 250_000;
+    private static final int WINDOWS_PER_PHASE = 8;
+    private static final double HIGH_SEGMENT_USAGE = 0.9; // A code heap this full is about to trigger CodeCacheFull
+
+    private static class BatchResult {
+        int classes;
+        long codeCacheUsedKb;
+        long compileTimeMs;
+        long deopts;
+        boolean codeCacheFull;
+        double callsPerSecond;
+        double maxSegmentUsage;
+
+        BatchResult(int classes, long codeCacheUsedKb, long compileTimeMs, long deopts, boolean codeCacheFull, double callsPerSecond,
+                    double maxSegmentUsage) {
+            this.classes = classes;
+            this.codeCacheUsedKb = codeCacheUsedKb;
+            this.compileTimeMs = compileTimeMs;
+            this.deopts = deopts;
+            this.codeCacheFull = codeCacheFull;
+            this.callsPerSecond = callsPerSecond;
+            this.maxSegmentUsage = maxSegmentUsage;
+        }
+    }
+
+    private static class PhaseResult {
+        String phase;
+        double firstWindowCallsPerSecond;
+        double steadyCallsPerSecond;
+        long deopts;
+        Instant start;
+        Instant end;
+
+        PhaseResult(String phase) {
+            this.phase = phase;
+        }
+    }
+
+    private final List<BatchResult> batchResults = new ArrayList<>();
+    private final List<PhaseResult> phaseResults = new ArrayList<>();
+    private final List<Instant> batchEnds = new ArrayList<>();
+    private Instant fillStart;
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private int generatedClasses = 0;
+    private int sink = 0;
+
+    /**
+     * Every class gets its own constants, so each one compiles to a separate nmethod.
+     * applyAsInt(x) is one step of the arithmetic; applyAsInt(x, calls) loops over it,
+     * so each class drives its own method through a private monomorphic call site.
+     */
+    private byte[] generateClassBytes(int seed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(50); // Java 6 class file, verified without a StackMapTable for the loop
+
+        int loopConstants = 14 + 2 * STEPS; // First constant after the integer constants
+        out.writeShort(loopConstants + 5);
+        writeUtf8(out, "CodeCacheOp");                         // #1
+        writeClass(out, 1);                                    // #2
+        writeUtf8(out, "java/lang/Object");                    // #3
+        writeClass(out, 3);                                    // #4
+        writeUtf8(out, "java/util/function/IntUnaryOperator"); // #5
+        writeClass(out, 5);                                    // #6
+        writeUtf8(out, "<init>");                              // #7
+        writeUtf8(out, "()V");                                 // #8
+        out.writeByte(12);                                     // #9 NameAndType <init>()V
+        out.writeShort(7);
+        out.writeShort(8);
+        out.writeByte(10);                                     // #10 Methodref Object.<init>
+        out.writeShort(4);
+        out.writeShort(9);
+        writeUtf8(out, "applyAsInt");                          // #11
+        writeUtf8(out, "(I)I");                                // #12
+        writeUtf8(out, "Code");                                // #13
+        int state = seed * 0x9E3779B9 + 1;
+        for (int i = 0; i < 2 * STEPS; i++) {                  // #14.. integer constants
+            state = state * 1103515245 + 12345;
+            out.writeByte(3);
+            out.writeInt(state | 1);
+        }
+        writeUtf8(out, "java/util/function/IntBinaryOperator"); // loopConstants
+        writeClass(out, loopConstants);                          // loopConstants + 1
+        writeUtf8(out, "(II)I");                                 // loopConstants + 2
+        out.writeByte(12);                                       // loopConstants + 3 NameAndType applyAsInt(I)I
+        out.writeShort(11);
+        out.writeShort(12);
+        out.writeByte(10);                                       // loopConstants + 4 Methodref CodeCacheOp.applyAsInt(I)I
+        out.writeShort(2);
+        out.writeShort(loopConstants + 3);
+
+        out.writeShort(0x0031); // public final super
+        out.writeShort(2);
+        out.writeShort(4);
+        out.writeShort(2);
+        out.writeShort(6);
+        out.writeShort(loopConstants + 1);
+        out.writeShort(0); // fields
+
+        out.writeShort(3); // methods
+        byte[] init = {0x2a, (byte) 0xb7, 0, 10, (byte) 0xb1}; // aload_0; invokespecial #10; return
+        writeMethod(out, 7, 8, 1, 1, init);
+
+        // x = x * K + C; x ^= x >>> s; repeated STEPS times
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        code.write(0x1b); // iload_1
+        for (int i = 0; i < STEPS; i++) {
+            code.write(0x13); // ldc_w K
+            code.write((14 + 2 * i) >> 8);
+            code.write(14 + 2 * i);
+            code.write(0x68); // imul
+            code.write(0x13); // ldc_w C
+            code.write((15 + 2 * i) >> 8);
+            code.write(15 + 2 * i);
+            code.write(0x60); // iadd
+            code.write(0x59); // dup
+            code.write(0x10); // bipush s
+            code.write(7 + (seed + i) % 17);
+            code.write(0x7c); // iushr
+            code.write(0x82); // ixor
+        }
+        code.write(0xac); // ireturn
+        writeMethod(out, 11, 12, 3, 2, code.toByteArray());
+
+        // while (calls > 0) { x = applyAsInt(x); calls--; } return x; the final class makes the call monomorphic
+        byte[] loop = {
+                0x1c,                                     // 0: iload_2
+                (byte) 0x9e, 0, 15,                       // 1: ifle 16
+                0x2a, 0x1b,                               // 4: aload_0; iload_1
+                (byte) 0xb6, (byte) ((loopConstants + 4) >> 8), (byte) (loopConstants + 4), // 6: invokevirtual applyAsInt(I)I
+                0x3c,                                     // 9: istore_1
+                (byte) 0x84, 2, -1,                       // 10: iinc 2, -1
+                (byte) 0xa7, -1, -13,                     // 13: goto 0
+                0x1b, (byte) 0xac                         // 16: iload_1; ireturn
+        };
+        writeMethod(out, 11, loopConstants + 2, 2, 3, loop);
+
+        out.writeShort(0); // class attributes
+        return bytes.toByteArray();
+    }
+
+    private static void writeUtf8(DataOutputStream out, String value) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(value);
+    }
+
+    private static void writeClass(DataOutputStream out, int nameIndex) throws IOException {
+        out.writeByte(7);
+        out.writeShort(nameIndex);
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(0x0001); // public
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(13); // Code
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // code attributes
+    }
+
+    private IntUnaryOperator newOperator() throws ReflectiveOperationException, IOException {
+        byte[] bytes = generateClassBytes(generatedClasses++);
+        Class<?> hidden = lookup.defineHiddenClass(bytes, true).lookupClass();
+        return (IntUnaryOperator) hidden.getDeclaredConstructor().newInstance();
+    }
+
+    // Sum of the code heaps; a single "CodeCache" pool when the cache is too small to be segmented
+    private static long codeCacheUsedKb() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().contains("Code")) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used / 1024;
+    }
+
+    private static long codeCacheMaxKb() {
+        long max = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().contains("Code") && pool.getUsage().getMax() > 0) {
+                max += pool.getUsage().getMax();
+            }
+        }
+        return max / 1024;
+    }
+
+    // Fullest single code heap (used / max); one heap filling up is enough to stop compilation
+    private static double maxSegmentUsage() {
+        double usage = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (pool.getName().contains("Code") && max > 0) {
+                usage = Math.max(usage, (double) pool.getUsage().getUsed() / max);
+            }
+        }
+        return usage;
+    }
+
+    private static long compileTimeMs() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported() ? compilation.getTotalCompilationTime() : 0;
+    }
+
+    // Call site used only by the fill phase, so its megamorphic profile never reaches the type-flip site.
+    // Each op runs INNER_CALLS calls through its own loop, so dispatch here is a small share of the time
+    private int fillSite(IntUnaryOperator op, int x, int calls) {
+        IntBinaryOperator loop = (IntBinaryOperator) op;
+        for (int i = 0; i < calls; i += INNER_CALLS) {
+            x = loop.applyAsInt(x, INNER_CALLS);
+        }
+        return x;
+    }
+
+    // Generates distinct hot methods batch by batch until NUM_CLASSES; after each batch's warm-up the whole
+    // working set is timed, which keeps every method hot so the sweeper cannot make room by flushing old ones
+    public void runFillTest() throws ReflectiveOperationException, IOException {
+        List<IntUnaryOperator> workingSet = new ArrayList<>();
+        long compileBefore = compileTimeMs();
+        fillStart = Instant.now();
+        for (int created = 0; created < NUM_CLASSES; ) {
+            List<IntUnaryOperator> batch = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE && created < NUM_CLASSES; i++, created++) {
+                batch.add(newOperator());
+            }
+            for (IntUnaryOperator op : batch) {
+                sink += fillSite(op, created, WARMUP_CALLS);
+            }
+            workingSet.addAll(batch);
+
+            long startTime = System.nanoTime();
+            for (IntUnaryOperator op : workingSet) {
+                sink += fillSite(op, created, MEASURE_CALLS);
+            }
+            long elapsed = System.nanoTime() - startTime;
+
+            long compileNow = compileTimeMs();
+            batchResults.add(new BatchResult(created, codeCacheUsedKb(), compileNow - compileBefore, 0, false,
+                    (double) workingSet.size() * MEASURE_CALLS / (elapsed / 1_000_000_000.0), maxSegmentUsage()));
+            batchEnds.add(Instant.now());
+            compileBefore = compileNow;
+        }
+    }
+
+    // Type-flip call sites, one per run so the second run starts from a clean monomorphic profile
+    private int flipSite(IntUnaryOperator op, int x) {
+        return op.applyAsInt(x);
+    }
+
+    private int flipSiteAfterFill(IntUnaryOperator op, int x) {
+        return op.applyAsInt(x);
+    }
+
+    private double runWindow(IntUnaryOperator[] ops, int typeCount, boolean afterFill) {
+        int x = 1;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < WINDOW_CALLS; i++) {
+            x = afterFill ? flipSiteAfterFill(ops[i % typeCount], x) : flipSite(ops[i % typeCount], x);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        sink += x;
+        return WINDOW_CALLS / (elapsed / 1_000_000_000.0);
+    }
+
+    // Monomorphic warm-up, then a switch to a new receiver type (class-check trap), then bi- and megamorphic
+    public void runTypeFlipTest(String label, boolean afterFill) throws ReflectiveOperationException, IOException {
+        IntUnaryOperator[] ops = new IntUnaryOperator[8];
+        for (int i = 0; i < ops.length; i++) {
+            ops[i] = newOperator();
+        }
+        IntUnaryOperator[] flipped = {ops[1]};
+        String[] phases = {"monomorphic", "flip to new type", "bimorphic", "megamorphic (8 types)"};
+        IntUnaryOperator[][] receivers = {ops, flipped, ops, ops};
+        int[] typeCounts = {1, 1, 2, 8};
+        for (int p = 0; p < phases.length; p++) {
+            PhaseResult result = new PhaseResult(label + ": " + phases[p]);
+            result.start = Instant.now();
+            double total = 0;
+            for (int w = 0; w < WINDOWS_PER_PHASE; w++) {
+                double callsPerSecond = runWindow(receivers[p], typeCounts[p], afterFill);
+                if (w == 0) {
+                    result.firstWindowCallsPerSecond = callsPerSecond;
+                } else {
+                    total += callsPerSecond;
+                }
+            }
+            result.steadyCallsPerSecond = total / (WINDOWS_PER_PHASE - 1);
+            result.end = Instant.now();
+            phaseResults.add(result);
+        }
+    }
+
+    // Index of the fill batch an event falls in; -1 before the fill started (the empty-cache flip) or after it ended
+    private int batchOf(Instant time) {
+        if (fillStart == null || time.isBefore(fillStart)) {
+            return -1;
+        }
+        for (int i = 0; i < batchEnds.size(); i++) {
+            if (!time.isAfter(batchEnds.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Attributes the recorded deoptimizations to the phase or batch they happened in
+    private void countDeopts(Recording recording) throws IOException {
+        Path file = Files.createTempFile("codecache", ".jfr");
+        recording.dump(file);
+        int codeCacheFullEvents = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            Instant time = event.getStartTime();
+            if (event.getEventType().getName().equals("jdk.CodeCacheFull")) {
+                codeCacheFullEvents++;
+                int batch = batchOf(time);
+                if (batch >= 0) {
+                    batchResults.get(batch).codeCacheFull = true;
+                }
+                continue;
+            }
+            for (PhaseResult phase : phaseResults) {
+                if (!time.isBefore(phase.start) && !time.isAfter(phase.end)) {
+                    phase.deopts++;
+                }
+            }
+            int batch = batchOf(time);
+            if (batch >= 0) {
+                batchResults.get(batch).deopts++;
+            }
+        }
+        Files.deleteIfExists(file);
+        System.out.println("CodeCacheFull events: " + codeCacheFullEvents);
+    }
+
+    public void printResults() {
+        System.out.println("\n=== Code Cache Fill Results ===");
+        System.out.printf("Code cache capacity: %,d KB, %d steps per generated method, each run through its own call site\n",
+                codeCacheMaxKb(), STEPS);
+        System.out.println("+----------------------+----------------------+----------------------+----------------------+----------------------+------------+");
+        System.out.println("| Generated Methods    | Code Cache Used (KB) | Compile Time (ms)    | Deopts               | Calls/sec            | Cache Full |");
+        System.out.println("+----------------------+----------------------+----------------------+----------------------+----------------------+------------+");
+        for (BatchResult r : batchResults) {
+            System.out.printf("| %,20d | %,20d | %,20d | %,20d | %,20.0f | %-10s |\n",
+                    r.classes, r.codeCacheUsedKb, r.compileTimeMs, r.deopts, r.callsPerSecond, r.codeCacheFull ? "yes" : "");
+        }
+        System.out.println("+----------------------+----------------------+----------------------+----------------------+----------------------+------------+");
+
+        double peak = 0;
+        for (BatchResult r : batchResults) {
+            peak = Math.max(peak, r.callsPerSecond);
+        }
+        // Only a drop that coincides with a full (or nearly full) code heap is blamed on the code cache;
+        // once CodeCacheFull has fired the compiler stays off, so later batches still count as full
+        boolean cacheFull = false;
+        for (BatchResult r : batchResults) {
+            cacheFull |= r.codeCacheFull;
+            if (r.callsPerSecond < peak / 2) {
+                boolean cachePressure = cacheFull || r.maxSegmentUsage >= HIGH_SEGMENT_USAGE;
+                System.out.printf("%s: batch ending at %,d methods runs at %.1f%% of peak (fullest code heap %.0f%% used%s)\n",
+                        cachePressure ? "Throughput cliff" : "Throughput drop", r.classes, r.callsPerSecond / peak * 100,
+                        r.maxSegmentUsage * 100, cacheFull ? ", after CodeCacheFull" : "");
+                break;
+            }
+        }
+
+        System.out.println("\n=== Type Profile Flip Results ===");
+        System.out.println("+------------------------------------------+----------------------+----------------------+----------------------+");
+        System.out.println("| Phase                                    | First Window (c/s)   | Steady (calls/sec)   | Deopts               |");
+        System.out.println("+------------------------------------------+----------------------+----------------------+----------------------+");
+        for (PhaseResult r : phaseResults) {
+            System.out.printf("| %-40s | %,20.0f | %,20.0f | %,20d |\n",
+                    r.phase, r.firstWindowCallsPerSecond, r.steadyCallsPerSecond, r.deopts);
+        }
+        System.out.println("+------------------------------------------+----------------------+----------------------+----------------------+");
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Starting Code Cache Pressure Benchmark...");
+        System.out.println("==================================");
+        CodeCachePressureBenchmark benchmark = new CodeCachePressureBenchmark();
+
+        Recording recording = new Recording();
+        recording.enable("jdk.Deoptimization");
+        recording.enable("jdk.CodeCacheFull");
+        recording.start();
+
+        benchmark.runTypeFlipTest("empty cache", false);
+        benchmark.runFillTest();
+        // Recompiling after a trap needs free code cache, so the flip is repeated once the cache is full
+        benchmark.runTypeFlipTest("after fill", true);
+
+        recording.stop();
+        benchmark.countDeopts(recording);
+        recording.close();
+        benchmark.printResults();
+        System.out.println("(checksum " + benchmark.sink + ")");
+        System.out.println("==================================");
+        System.out.println("Code Cache Pressure Benchmark Completed");
+    }
+}
@@ -0,0 +1,521 @@
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming analyzer for the Java and Kotlin inline benchmarks, replacing analyze_inline.py.
+ * Result tables are parsed line by line as the benchmarks print them, aggregates are
+ * updated per row, and each Java vs Kotlin comparison is printed as soon as both sides
+ * have arrived. At the end the warm-up, inline-comparison and Kotlin inline-vs-normal
+ * charts are rendered with Java2D, so no Python install is needed.
+ *
+ * Usage:
+ *   InlineAnalyzer --run [--out DIR]                 run JavaBenchmark and InlineBenchmarkKt, writing their logs
+ *   InlineAnalyzer [--out DIR] java.log kotlin.log   analyze existing logs
+ */
+public class InlineAnalyzer {
+    private static final String WARMUP_SUFFIX = " with Different Warm-up Iterations";
+    private static final String JAVA_COMBINED = "Combined Test Results";
+    private static final String KOTLIN_SUMMARY = "Kotlin Inline Function Performance Summary";
+    // Java "Combined Test Results" rows and the matching Kotlin summary rows
+    private static final String[][] JAVA_TO_KOTLIN = {
+            {"Simple Arithmetic", "Simple Arithmetic"},
+            {"High-Order Function", "Higher-Order Func"},
+            {"Recursive Call", "Recursive Call"},
+            {"Calls Within Loops", "Calls Within Loops"},
+            {"Nested Call", "Nested Inline"},
+            {"Complex Condition", "Complex Condition"},
+            {"Generic Function", "Generic Function"}
+    };
+
+    /** Receives each data row of a result table, together with its "=== ... ===" section title. */
+    interface RowListener {
+        void onRow(String section, String[] cells);
+    }
+
+    /** Line-at-a-time parser for the benchmarks' ASCII tables; keeps only the current section and header state. */
+    static class TableStream {
+        private final RowListener listener;
+        private String section = "";
+        private boolean inTable;
+        private boolean headerSeen;
+
+        TableStream(RowListener listener) {
+            this.listener = listener;
+        }
+
+        void accept(String line) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("===") && trimmed.endsWith("===") && trimmed.length() > 6) {
+                section = trimmed.substring(3, trimmed.length() - 3).trim();
+                inTable = false;
+            } else if (trimmed.startsWith("+-")) {
+                if (!inTable) {
+                    inTable = true;
+                    headerSeen = false;
+                }
+            } else if (trimmed.startsWith("|") && inTable) {
+                if (!headerSeen) {
+                    headerSeen = true;
+                    return;
+                }
+                String[] parts = trimmed.split("\\|");
+                String[] cells = new String[parts.length - 1];
+                for (int i = 1; i < parts.length; i++) {
+                    cells[i - 1] = parts[i].trim();
+                }
+                listener.onRow(section, cells);
+            } else {
+                inTable = false;
+            }
+        }
+    }
+
+    // Java warm-up curves: test type -> {warm-up iterations, execution time (ms)} points
+    private final Map<String, List<double[]>> javaWarmup = new LinkedHashMap<>();
+    private final Map<String, Double> javaCombined = new LinkedHashMap<>();
+    // Kotlin summary: test type -> {inline ms, normal ms, improvement %}
+    private final Map<String, double[]> kotlinSummary = new LinkedHashMap<>();
+
+    // Percent saved against the baseline; NaN when the baseline rounded to 0.00 ms and no percentage exists
+    private static double improvement(double baseline, double value) {
+        return baseline > 0 ? (baseline - value) / baseline * 100 : Double.NaN;
+    }
+
+    private static String percent(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format("%+.2f%%", value);
+    }
+
+    private static double number(String cell) {
+        return Double.parseDouble(cell.replace(",", "").replace("%", ""));
+    }
+
+    void onJavaRow(String section, String[] cells) {
+        try {
+            if (section.endsWith(WARMUP_SUFFIX) && cells.length >= 2) {
+                String testType = section.substring(0, section.length() - WARMUP_SUFFIX.length());
+                javaWarmup.computeIfAbsent(testType, k -> new ArrayList<>())
+                        .add(new double[]{number(cells[0]), number(cells[1])});
+            } else if (section.equals(JAVA_COMBINED) && cells.length >= 2) {
+                javaCombined.put(cells[0], number(cells[1]));
+                compare(cells[0], null);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Skipping unparsable Java row: " + String.join(" | ", cells));
+        }
+    }
+
+    void onKotlinRow(String section, String[] cells) {
+        try {
+            if (section.equals(KOTLIN_SUMMARY) && cells.length >= 4) {
+                kotlinSummary.put(cells[0], new double[]{number(cells[1]), number(cells[2]), number(cells[3])});
+                compare(null, cells[0]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Skipping unparsable Kotlin row: " + String.join(" | ", cells));
+        }
+    }
+
+    // Prints the Java vs Kotlin inline comparison for a test type once both results are in
+    private void compare(String javaType, String kotlinType) {
+        for (String[] pair : JAVA_TO_KOTLIN) {
+            if (pair[0].equals(javaType) || pair[1].equals(kotlinType)) {
+                Double java = javaCombined.get(pair[0]);
+                double[] kotlin = kotlinSummary.get(pair[1]);
+                if (java != null && kotlin != null) {
+                    System.out.printf("%-20s Java %,8.2f ms | Kotlin inline %,8.2f ms | Kotlin improvement %8s%n",
+                            pair[0], java, kotlin[0], percent(improvement(java, kotlin[0])));
+                }
+            }
+        }
+    }
+
+    // Feeds one benchmark's output through the table parser, optionally copying it to a log file
+    private static void consume(Reader source, PrintWriter log, RowListener listener) throws IOException {
+        TableStream tables = new TableStream(listener);
+        try (BufferedReader reader = new BufferedReader(source)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (log != null) {
+                    log.println(line);
+                }
+                tables.accept(line);
+            }
+        }
+    }
+
+    private static void runBenchmark(String mainClass, Path logFile, RowListener listener) throws IOException, InterruptedException {
+        System.out.println("Running " + mainClass + " (log: " + logFile + ")...");
+        Process process = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), mainClass)
+                .redirectErrorStream(true).start();
+        try (PrintWriter log = new PrintWriter(Files.newBufferedWriter(logFile))) {
+            consume(new InputStreamReader(process.getInputStream()), log, listener);
+        }
+        if (process.waitFor() != 0) {
+            System.out.println(mainClass + " exited with status " + process.exitValue());
+        }
+    }
+
+    private void printSummary() {
+        System.out.println("\n=== Java Warm-up Improvement ===");
+        System.out.println("+----------------------------------+----------------------+----------------------+----------------------+");
+        System.out.println("| Test Type                        | No Warm-up (ms)      | Max Warm-up (ms)     | Improvement (%)      |");
+        System.out.println("+----------------------------------+----------------------+----------------------+----------------------+");
+        for (Map.Entry<String, List<double[]>> entry : javaWarmup.entrySet()) {
+            List<double[]> points = entry.getValue();
+            double first = points.get(0)[1];
+            double last = points.get(points.size() - 1)[1];
+            double improvement = improvement(first, last);
+            System.out.printf("| %-32s | %20.2f | %20.2f | %20s |\n", entry.getKey(), first, last,
+                    Double.isNaN(improvement) ? "n/a" : String.format("%.2f", improvement));
+        }
+        System.out.println("+----------------------------------+----------------------+----------------------+----------------------+");
+    }
+
+    private void renderCharts(Path outDir) throws IOException {
+        if (!javaWarmup.isEmpty()) {
+            List<String> types = new ArrayList<>(javaWarmup.keySet());
+            double[] improvements = new double[types.size()];
+            for (int i = 0; i < types.size(); i++) {
+                List<double[]> points = javaWarmup.get(types.get(i));
+                double first = points.get(0)[1];
+                improvements[i] = points.size() < 2 ? 0 : improvement(first, points.get(points.size() - 1)[1]);
+            }
+            BufferedImage image = Charts.canvas(1500, 1000);
+            Graphics2D g = image.createGraphics();
+            Charts.lineChart(g, new Rectangle(0, 0, 1500, 500), "Java Performance with Different Warm-up Iterations",
+                    "Number of Warm-up Iterations", "Execution Time (ms)", javaWarmup);
+            Charts.barChart(g, new Rectangle(0, 500, 1500, 500), "Performance Improvement from No Warm-up to Max Warm-up (%)",
+                    "Test Type", "Improvement (%)", types, null, Arrays.asList(improvements));
+            save(image, outDir.resolve("java_warmup_analysis.png"));
+        } else {
+            System.out.println("No data found for Java with different warm-up iterations");
+        }
+
+        List<String> common = new ArrayList<>();
+        List<Double> javaTimes = new ArrayList<>();
+        List<Double> kotlinTimes = new ArrayList<>();
+        for (String[] pair : JAVA_TO_KOTLIN) {
+            if (javaCombined.containsKey(pair[0]) && kotlinSummary.containsKey(pair[1])) {
+                common.add(pair[0]);
+                javaTimes.add(javaCombined.get(pair[0]));
+                kotlinTimes.add(kotlinSummary.get(pair[1])[0]);
+            }
+        }
+        if (!common.isEmpty()) {
+            double[] java = javaTimes.stream().mapToDouble(Double::doubleValue).toArray();
+            double[] kotlin = kotlinTimes.stream().mapToDouble(Double::doubleValue).toArray();
+            double[] improvements = new double[java.length];
+            for (int i = 0; i < java.length; i++) {
+                improvements[i] = improvement(java[i], kotlin[i]);
+            }
+            BufferedImage image = Charts.canvas(1200, 1000);
+            Graphics2D g = image.createGraphics();
+            Charts.barChart(g, new Rectangle(0, 0, 1200, 500), "Java vs Kotlin Inline Execution Time of Different Test Types",
+                    "Test Type", "Execution Time (ms)", common, Arrays.asList("Java", "Kotlin Inline"), Arrays.asList(java, kotlin));
+            Charts.barChart(g, new Rectangle(0, 500, 1200, 500), "Kotlin Inline Performance Improvement over Java (%)",
+                    "Test Type", "Improvement (%)", common, null, Arrays.asList(improvements));
+            save(image, outDir.resolve("java_kotlin_inline_comparison.png"));
+        } else {
+            System.out.println("No common test types found between Java and Kotlin");
+        }
+
+        if (!kotlinSummary.isEmpty()) {
+            List<String> types = new ArrayList<>(kotlinSummary.keySet());
+            double[] inline = new double[types.size()];
+            double[] normal = new double[types.size()];
+            double[] improvements = new double[types.size()];
+            for (int i = 0; i < types.size(); i++) {
+                double[] row = kotlinSummary.get(types.get(i));
+                inline[i] = row[0];
+                normal[i] = row[1];
+                improvements[i] = row[2];
+            }
+            BufferedImage image = Charts.canvas(1200, 1000);
+            Graphics2D g = image.createGraphics();
+            Charts.barChart(g, new Rectangle(0, 0, 1200, 500), "Kotlin Inline vs Normal Function Execution Time",
+                    "Test Type", "Execution Time (ms)", types, Arrays.asList("Inline Function", "Normal Function"),
+                    Arrays.asList(inline, normal));
+            Charts.barChart(g, new Rectangle(0, 500, 1200, 500), "Performance Improvement of Inline over Normal Function (%)",
+                    "Test Type", "Improvement (%)", types, null, Arrays.asList(improvements));
+            save(image, outDir.resolve("kotlin_performance_analysis.png"));
+        } else {
+            System.out.println("No data found for the Kotlin inline summary");
+        }
+    }
+
+    private static void save(BufferedImage image, Path file) throws IOException {
+        ImageIO.write(image, "png", file.toFile());
+        System.out.println("Chart saved as '" + file + "'");
+    }
+
+    /** Minimal Java2D line and bar charts, laid out like the matplotlib subplots they replace. */
+    static class Charts {
+        private static final Color[] PALETTE = {
+                new Color(0x1f77b4), new Color(0xff7f0e), new Color(0x2ca02c), new Color(0xd62728), new Color(0x9467bd),
+                new Color(0x8c564b), new Color(0xe377c2), new Color(0x7f7f7f), new Color(0xbcbd22), new Color(0x17becf)
+        };
+        private static final Color POSITIVE = new Color(0x008000);
+        private static final Color NEGATIVE = new Color(0xff0000);
+        private static final Font TITLE_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 16);
+        private static final Font LABEL_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 13);
+        private static final Font TICK_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 11);
+
+        static BufferedImage canvas(int width, int height) {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.dispose();
+            return image;
+        }
+
+        static void lineChart(Graphics2D g, Rectangle area, String title, String xLabel, String yLabel,
+                              Map<String, List<double[]>> series) {
+            prepare(g);
+            Rectangle plot = new Rectangle(area.x + 90, area.y + 40, area.width - 120, area.height - 110);
+            double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = 0;
+            for (List<double[]> points : series.values()) {
+                for (double[] point : points) {
+                    minX = Math.min(minX, point[0]);
+                    maxX = Math.max(maxX, point[0]);
+                    maxY = Math.max(maxY, point[1]);
+                }
+            }
+            if (maxX == minX) {
+                maxX = minX + 1;
+            }
+            double[] yTicks = ticks(0, maxY);
+            double yMax = yTicks[yTicks.length - 1];
+            frame(g, area, plot, title, xLabel, yLabel, yTicks, 0, yMax);
+
+            double[] xTicks = ticks(minX, maxX);
+            g.setFont(TICK_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            for (double tick : xTicks) {
+                if (tick < minX || tick > maxX) {
+                    continue;
+                }
+                int x = plot.x + (int) ((tick - minX) / (maxX - minX) * plot.width);
+                String label = format(tick);
+                g.setColor(new Color(0xdddddd));
+                g.drawLine(x, plot.y, x, plot.y + plot.height);
+                g.setColor(Color.BLACK);
+                g.drawString(label, x - metrics.stringWidth(label) / 2, plot.y + plot.height + metrics.getAscent() + 4);
+            }
+
+            int index = 0;
+            for (Map.Entry<String, List<double[]>> entry : series.entrySet()) {
+                g.setColor(PALETTE[index % PALETTE.length]);
+                g.setStroke(new BasicStroke(2f));
+                int previousX = -1, previousY = -1;
+                for (double[] point : entry.getValue()) {
+                    int x = plot.x + (int) ((point[0] - minX) / (maxX - minX) * plot.width);
+                    int y = plot.y + plot.height - (int) (point[1] / yMax * plot.height);
+                    if (previousX >= 0) {
+                        g.drawLine(previousX, previousY, x, y);
+                    }
+                    g.fillOval(x - 4, y - 4, 8, 8);
+                    previousX = x;
+                    previousY = y;
+                }
+                index++;
+            }
+            g.setStroke(new BasicStroke(1f));
+            legend(g, plot, new ArrayList<>(series.keySet()));
+        }
+
+        /**
+         * Grouped bar chart; with no series names the single series is colored
+         * green/red by sign and a zero line is drawn, like the improvement subplots.
+         * Non-finite values (a percentage over a zero baseline) get no bar and do not stretch the axis.
+         */
+        static void barChart(Graphics2D g, Rectangle area, String title, String xLabel, String yLabel,
+                             List<String> categories, List<String> seriesNames, List<double[]> values) {
+            prepare(g);
+            Rectangle plot = new Rectangle(area.x + 90, area.y + 40, area.width - 120, area.height - 190);
+            double min = 0, max = 0;
+            for (double[] series : values) {
+                for (double value : series) {
+                    if (!Double.isFinite(value)) {
+                        continue;
+                    }
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            double[] yTicks = ticks(min, max);
+            double yMin = yTicks[0], yMax = yTicks[yTicks.length - 1];
+            frame(g, area, plot, title, xLabel, yLabel, yTicks, yMin, yMax);
+
+            int slot = plot.width / Math.max(1, categories.size());
+            int barWidth = (int) (slot * 0.8 / values.size());
+            int zeroY = plot.y + plot.height - (int) ((0 - yMin) / (yMax - yMin) * plot.height);
+            for (int s = 0; s < values.size(); s++) {
+                for (int c = 0; c < categories.size(); c++) {
+                    double value = values.get(s)[c];
+                    if (!Double.isFinite(value)) {
+                        continue;
+                    }
+                    int x = plot.x + c * slot + (int) (slot * 0.1) + s * barWidth;
+                    int y = plot.y + plot.height - (int) ((value - yMin) / (yMax - yMin) * plot.height);
+                    g.setColor(seriesNames == null ? (value > 0 ? POSITIVE : NEGATIVE) : PALETTE[s % PALETTE.length]);
+                    g.fillRect(x, Math.min(y, zeroY), barWidth, Math.abs(zeroY - y));
+                }
+            }
+            if (seriesNames == null) {
+                g.setColor(new Color(0, 0, 0, 80));
+                g.drawLine(plot.x, zeroY, plot.x + plot.width, zeroY);
+            } else {
+                legend(g, plot, seriesNames);
+            }
+
+            // Category labels rotated 45 degrees, right-aligned under their slot
+            g.setColor(Color.BLACK);
+            g.setFont(TICK_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            for (int c = 0; c < categories.size(); c++) {
+                int x = plot.x + c * slot + slot / 2;
+                int y = plot.y + plot.height + 8;
+                AffineTransform saved = g.getTransform();
+                g.rotate(-Math.PI / 4, x, y);
+                g.drawString(categories.get(c), x - metrics.stringWidth(categories.get(c)), y + metrics.getAscent() / 2);
+                g.setTransform(saved);
+            }
+        }
+
+        private static void prepare(Graphics2D g) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        }
+
+        // Title, axis labels, y grid and the plot border
+        private static void frame(Graphics2D g, Rectangle area, Rectangle plot, String title, String xLabel, String yLabel,
+                                  double[] yTicks, double yMin, double yMax) {
+            g.setColor(Color.BLACK);
+            g.setFont(TITLE_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            g.drawString(title, area.x + (area.width - metrics.stringWidth(title)) / 2, area.y + 25);
+
+            g.setFont(TICK_FONT);
+            metrics = g.getFontMetrics();
+            for (double tick : yTicks) {
+                int y = plot.y + plot.height - (int) ((tick - yMin) / (yMax - yMin) * plot.height);
+                g.setColor(new Color(0xdddddd));
+                g.drawLine(plot.x, y, plot.x + plot.width, y);
+                g.setColor(Color.BLACK);
+                String label = format(tick);
+                g.drawString(label, plot.x - metrics.stringWidth(label) - 6, y + metrics.getAscent() / 2);
+            }
+            g.drawRect(plot.x, plot.y, plot.width, plot.height);
+
+            g.setFont(LABEL_FONT);
+            metrics = g.getFontMetrics();
+            g.drawString(xLabel, plot.x + (plot.width - metrics.stringWidth(xLabel)) / 2, area.y + area.height - 12);
+            AffineTransform saved = g.getTransform();
+            g.rotate(-Math.PI / 2, area.x + 20, plot.y + plot.height / 2.0);
+            g.drawString(yLabel, area.x + 20 - metrics.stringWidth(yLabel) / 2, plot.y + plot.height / 2 + metrics.getAscent() / 2);
+            g.setTransform(saved);
+        }
+
+        private static void legend(Graphics2D g, Rectangle plot, List<String> names) {
+            g.setFont(TICK_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            int width = 0;
+            for (String name : names) {
+                width = Math.max(width, metrics.stringWidth(name));
+            }
+            int x = plot.x + plot.width - width - 40;
+            int y = plot.y + 10;
+            int lineHeight = metrics.getHeight() + 2;
+            g.setColor(new Color(255, 255, 255, 220));
+            g.fillRect(x - 6, y - 4, width + 40, names.size() * lineHeight + 8);
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawRect(x - 6, y - 4, width + 40, names.size() * lineHeight + 8);
+            for (int i = 0; i < names.size(); i++) {
+                g.setColor(PALETTE[i % PALETTE.length]);
+                g.fillRect(x, y + i * lineHeight + 3, 20, 8);
+                g.setColor(Color.BLACK);
+                g.drawString(names.get(i), x + 26, y + i * lineHeight + metrics.getAscent());
+            }
+        }
+
+        // About five round-numbered ticks covering [min, max]
+        static double[] ticks(double min, double max) {
+            if (max <= min) {
+                max = min + 1;
+            }
+            double rough = (max - min) / 5;
+            double magnitude = Math.pow(10, Math.floor(Math.log10(rough)));
+            double residual = rough / magnitude;
+            double step = (residual > 5 ? 10 : residual > 2 ? 5 : residual > 1 ? 2 : 1) * magnitude;
+            double start = Math.floor(min / step) * step;
+            int count = (int) Math.ceil((max - start) / step - 1e-9) + 1;
+            double[] ticks = new double[count];
+            for (int i = 0; i < count; i++) {
+                ticks[i] = start + i * step;
+            }
+            return ticks;
+        }
+
+        private static String format(double value) {
+            return Math.abs(value - Math.rint(value)) < 1e-9 ? String.format("%.0f", value) : String.format("%.2f", value);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Path outDir = Paths.get(".");
+        boolean run = false;
+        List<String> logs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--run")) {
+                run = true;
+            } else if (args[i].equals("--out")) {
+                outDir = Paths.get(args[++i]);
+            } else {
+                logs.add(args[i]);
+            }
+        }
+        if (!run && logs.size() != 2) {
+            System.out.println("Usage: InlineAnalyzer --run [--out DIR] | [--out DIR] <java_log_file> <kotlin_log_file>");
+            System.exit(1);
+        }
+        Files.createDirectories(outDir);
+
+        InlineAnalyzer analyzer = new InlineAnalyzer();
+        if (run) {
+            runBenchmark("JavaBenchmark", outDir.resolve("java_performance_log.txt"), analyzer::onJavaRow);
+            runBenchmark("InlineBenchmarkKt", outDir.resolve("kotlin_performance_log.txt"), analyzer::onKotlinRow);
+        } else {
+            consume(Files.newBufferedReader(new File(logs.get(0)).toPath()), null, analyzer::onJavaRow);
+            consume(Files.newBufferedReader(new File(logs.get(1)).toPath()), null, analyzer::onKotlinRow);
+        }
+
+        analyzer.printSummary();
+        analyzer.renderCharts(outDir);
+        System.out.println("===== Analysis Complete =====");
+    }
+}
@@ -5,7 +5,7 @@ import kotlin.system.measureNanoTime
  * Testing inline function performance in different scenarios
  */
 class InlineBenchmark {
-    private val iterations = 10_000_000
+    private val iterations = Integer.getInteger("iterations", 10_000_000)
     
     // Store test results
     private data class TestResult(
@@ -0,0 +1,234 @@
+import java.lang.management.ManagementFactory
+import kotlin.system.measureNanoTime
+
+/**
+ * Kotlin Inline Code Size Benchmark
+ * Measures how much compiled code an inline higher-order helper adds per call site,
+ * compared with the same helper called normally, and what each costs per call
+ */
+class InlineCodeSizeBenchmark {
+    private val iterations = Integer.getInteger("iterations", 200_000)
+
+    private data class SizeResult(
+        val variant: String,
+        val callSites: Int,
+        val codeCacheGrowthKb: Long,
+        val compileTimeMs: Long,
+        val nsPerCall: Double
+    )
+
+    private val results = mutableListOf<SizeResult>()
+    private var sink = 0
+
+    // Retry-and-validate wrapper: every inline call site gets its own copy of this body
+    private inline fun guardedInline(x: Int, block: (Int) -> Int): Int {
+        var value = x
+        var attempts = 0
+        while (attempts < 3) {
+            val result = block(value)
+            if (result >= 0 || attempts == 2) {
+                return if (result % 7 == 0) result / 7 else result xor (result ushr 3)
+            }
+            value = value * 31 + attempts
+            attempts++
+        }
+        return value
+    }
+
+    // Same body, compiled once and shared by every call site
+    private fun guardedNormal(x: Int, block: (Int) -> Int): Int {
+        var value = x
+        var attempts = 0
+        while (attempts < 3) {
+            val result = block(value)
+            if (result >= 0 || attempts == 2) {
+                return if (result % 7 == 0) result / 7 else result xor (result ushr 3)
+            }
+            value = value * 31 + attempts
+            attempts++
+        }
+        return value
+    }
+
+    private fun inlineSitesA(x: Int): Int {
+        var v = x
+        v = guardedInline(v) { it + 1 }
+        v = guardedInline(v) { it * 3 }
+        v = guardedInline(v) { it - 7 }
+        v = guardedInline(v) { it xor 0x55 }
+        v = guardedInline(v) { it shl 1 }
+        v = guardedInline(v) { it / 3 }
+        v = guardedInline(v) { it or 0x10 }
+        v = guardedInline(v) { it and 0x7fff_ffff }
+        return v
+    }
+
+    private fun inlineSitesB(x: Int): Int {
+        var v = x
+        v = guardedInline(v) { it + 11 }
+        v = guardedInline(v) { it * 5 }
+        v = guardedInline(v) { it - 13 }
+        v = guardedInline(v) { it xor 0x33 }
+        v = guardedInline(v) { it shl 2 }
+        v = guardedInline(v) { it / 5 }
+        v = guardedInline(v) { it or 0x20 }
+        v = guardedInline(v) { it and 0x3fff_ffff }
+        return v
+    }
+
+    private fun inlineSitesC(x: Int): Int {
+        var v = x
+        v = guardedInline(v) { it + 17 }
+        v = guardedInline(v) { it * 7 }
+        v = guardedInline(v) { it - 19 }
+        v = guardedInline(v) { it xor 0x0f }
+        v = guardedInline(v) { it shl 3 }
+        v = guardedInline(v) { it / 7 }
+        v = guardedInline(v) { it or 0x40 }
+        v = guardedInline(v) { it and 0x1fff_ffff }
+        return v
+    }
+
+    private fun inlineSitesD(x: Int): Int {
+        var v = x
+        v = guardedInline(v) { it + 23 }
+        v = guardedInline(v) { it * 9 }
+        v = guardedInline(v) { it - 29 }
+        v = guardedInline(v) { it xor 0x71 }
+        v = guardedInline(v) { it shl 4 }
+        v = guardedInline(v) { it / 9 }
+        v = guardedInline(v) { it or 0x80 }
+        v = guardedInline(v) { it and 0x0fff_ffff }
+        return v
+    }
+
+    private fun normalSitesA(x: Int): Int {
+        var v = x
+        v = guardedNormal(v) { it + 1 }
+        v = guardedNormal(v) { it * 3 }
+        v = guardedNormal(v) { it - 7 }
+        v = guardedNormal(v) { it xor 0x55 }
+        v = guardedNormal(v) { it shl 1 }
+        v = guardedNormal(v) { it / 3 }
+        v = guardedNormal(v) { it or 0x10 }
+        v = guardedNormal(v) { it and 0x7fff_ffff }
+        return v
+    }
+
+    private fun normalSitesB(x: Int): Int {
+        var v = x
+        v = guardedNormal(v) { it + 11 }
+        v = guardedNormal(v) { it * 5 }
+        v = guardedNormal(v) { it - 13 }
+        v = guardedNormal(v) { it xor 0x33 }
+        v = guardedNormal(v) { it shl 2 }
+        v = guardedNormal(v) { it / 5 }
+        v = guardedNormal(v) { it or 0x20 }
+        v = guardedNormal(v) { it and 0x3fff_ffff }
+        return v
+    }
+
+    private fun normalSitesC(x: Int): Int {
+        var v = x
+        v = guardedNormal(v) { it + 17 }
+        v = guardedNormal(v) { it * 7 }
+        v = guardedNormal(v) { it - 19 }
+        v = guardedNormal(v) { it xor 0x0f }
+        v = guardedNormal(v) { it shl 3 }
+        v = guardedNormal(v) { it / 7 }
+        v = guardedNormal(v) { it or 0x40 }
+        v = guardedNormal(v) { it and 0x1fff_ffff }
+        return v
+    }
+
+    private fun normalSitesD(x: Int): Int {
+        var v = x
+        v = guardedNormal(v) { it + 23 }
+        v = guardedNormal(v) { it * 9 }
+        v = guardedNormal(v) { it - 29 }
+        v = guardedNormal(v) { it xor 0x71 }
+        v = guardedNormal(v) { it shl 4 }
+        v = guardedNormal(v) { it / 9 }
+        v = guardedNormal(v) { it or 0x80 }
+        v = guardedNormal(v) { it and 0x0fff_ffff }
+        return v
+    }
+
+    // Sum of the code heaps, or the single "CodeCache" pool when the cache is not segmented
+    private fun codeCacheUsedKb(): Long =
+        ManagementFactory.getMemoryPoolMXBeans()
+            .filter { it.name.contains("Code") }
+            .sumOf { it.usage.used } / 1024
+
+    private fun compileTimeMs(): Long {
+        val compilation = ManagementFactory.getCompilationMXBean()
+        return if (compilation != null && compilation.isCompilationTimeMonitoringSupported) compilation.totalCompilationTime else 0
+    }
+
+    // Warms the four call-site functions of one variant to C2, then times them
+    private fun measure(variant: String, sites: List<(Int) -> Int>) {
+        val codeBefore = codeCacheUsedKb()
+        val compileBefore = compileTimeMs()
+        for (i in 0 until iterations) {
+            for (site in sites) {
+                sink += site(i)
+            }
+        }
+        // Give the background compiler a moment to install the last nmethods before sampling
+        Thread.sleep(500)
+        val codeGrowth = codeCacheUsedKb() - codeBefore
+        val compileTime = compileTimeMs() - compileBefore
+
+        var result = 0
+        val elapsed = measureNanoTime {
+            for (i in 0 until iterations) {
+                for (site in sites) {
+                    result += site(i)
+                }
+            }
+        }
+        sink += result
+        val calls = iterations.toLong() * sites.size * 8
+        results.add(SizeResult(variant, sites.size * 8, codeGrowth, compileTime, elapsed.toDouble() / calls))
+    }
+
+    // Compiles the measuring loop itself, so neither variant is charged for it
+    fun runHarnessWarmup() = measure("harness", listOf({ x: Int -> x + 1 }, { x: Int -> x * 3 }))
+
+    fun clearResults() = results.clear()
+
+    fun runInlineTest() = measure("inline helper",
+        listOf({ x: Int -> inlineSitesA(x) }, { x: Int -> inlineSitesB(x) }, { x: Int -> inlineSitesC(x) }, { x: Int -> inlineSitesD(x) }))
+
+    fun runNormalTest() = measure("normal helper",
+        listOf({ x: Int -> normalSitesA(x) }, { x: Int -> normalSitesB(x) }, { x: Int -> normalSitesC(x) }, { x: Int -> normalSitesD(x) }))
+
+    fun printResults() {
+        println("\n=== Kotlin Inline Code Size Results ===")
+        println("+----------------------+----------------------+----------------------+----------------------+----------------------+")
+        println("| Variant              | Call Sites           | Code Cache Growth KB | Compile Time (ms)    | Time Per Call (ns)   |")
+        println("+----------------------+----------------------+----------------------+----------------------+----------------------+")
+        for (r in results) {
+            println(String.format("| %-20s | %20d | %,20d | %,20d | %20.2f |",
+                r.variant, r.callSites, r.codeCacheGrowthKb, r.compileTimeMs, r.nsPerCall))
+        }
+        println("+----------------------+----------------------+----------------------+----------------------+----------------------+")
+        println("(checksum $sink)")
+    }
+}
+
+fun main() {
+    println("Starting Kotlin Inline Code Size Benchmark...")
+    println("==================================")
+    val benchmark = InlineCodeSizeBenchmark()
+
+    // Each variant is measured once: code cache growth is only meaningful the first time its sites compile
+    benchmark.runHarnessWarmup()
+    benchmark.clearResults()
+    benchmark.runNormalTest()
+    benchmark.runInlineTest()
+    benchmark.printResults()
+
+    println("==================================")
+    println("Kotlin Inline Code Size Benchmark Completed")
+}
@@ -6,7 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class JavaBenchmark {
-    private static final int ITERATIONS = 10_000_000;
+    private static final int ITERATIONS = Integer.getInteger("iterations", 10_000_000);
     private static final int WARMUP_BATCH_SIZE = 500_000; // Batch size for each warm-up
     private static final int DEFAULT_WARMUP_ITERATIONS = 2; // Default warm-up iterations for other functions
     
@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Null-check cost benchmark, Java side.
+ * Plain Java equivalents of the checks Kotlin generates, over inputs that are never
+ * null, so no exception is ever thrown: parameters and getter results used without
+ * checks, an explicit null compare for ?. and ?:, and a field read for lateinit.
+ * KotlinNullCheckBenchmark measures the Kotlin forms against these; compile it with
+ * and without -Xno-param-assertions -Xno-call-assertions to see what the
+ * Intrinsics calls cost (gradle runKotlinNullCheckBenchmark runKotlinNullCheckBenchmarkNoAssertions).
+ */
+public class JavaNullCheckBenchmark {
+    public static final int CALLS_PER_MEASUREMENT = Integer.getInteger("iterations", 100_000_000);
+    public static final int SLOTS = 1024; // Power of two, indexed with & SLOT_MASK
+    public static final int SLOT_MASK = SLOTS - 1;
+    private static final int ROUNDS = 5; // Best of, to skip rounds hit by GC or JIT activity
+
+    public static final String PARAMETERS = "non-null parameters";
+    public static final String PLATFORM_RESULT = "Java getter result";
+    public static final String NOT_NULL_ASSERTION = "!! on nullable";
+    public static final String SAFE_CALL = "?. with ?: 0";
+    public static final String ELVIS = "?: default value";
+    public static final String LATEINIT = "lateinit read";
+
+    // Keeps results reachable so the JIT cannot drop the measured loops
+    private static volatile long sink;
+
+    @FunctionalInterface
+    public interface Case {
+        long run(int calls);
+    }
+
+    // A Java getter, which Kotlin sees as returning the platform type String!
+    public static class Holder {
+        private final String name;
+
+        public Holder(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class FieldHolder {
+        String name;
+    }
+
+    public static class CheckResult {
+        public final String check;
+        public final String kotlinCheck;
+        public final double javaNs;
+        public final double kotlinNs;
+
+        public CheckResult(String check, String kotlinCheck, double javaNs, double kotlinNs) {
+            this.check = check;
+            this.kotlinCheck = kotlinCheck;
+            this.javaNs = javaNs;
+            this.kotlinNs = kotlinNs;
+        }
+    }
+
+    // Distinct lengths so the sums depend on which slot was read
+    public static String[] names() {
+        String[] names = new String[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            names[i] = "sample-" + i;
+        }
+        return names;
+    }
+
+    public static Holder[] holders(String[] names) {
+        Holder[] holders = new Holder[names.length];
+        for (int i = 0; i < names.length; i++) {
+            holders[i] = new Holder(names[i]);
+        }
+        return holders;
+    }
+
+    private static FieldHolder[] fieldHolders(String[] names) {
+        FieldHolder[] holders = new FieldHolder[names.length];
+        for (int i = 0; i < names.length; i++) {
+            holders[i] = new FieldHolder();
+            holders[i].name = names[i];
+        }
+        return holders;
+    }
+
+    public static int paramLengths(String first, String second) {
+        return first.length() + second.length();
+    }
+
+    public static Map<String, Case> cases() {
+        String[] names = names();
+        Holder[] holders = holders(names);
+        FieldHolder[] fields = fieldHolders(names);
+        Map<String, Case> cases = new LinkedHashMap<>();
+        cases.put(PARAMETERS, calls -> {
+            long sum = 0;
+            for (int i = 0; i < calls; i++) {
+                sum += paramLengths(names[i & SLOT_MASK], names[(i + 1) & SLOT_MASK]);
+            }
+            return sum;
+        });
+        cases.put(PLATFORM_RESULT, calls -> {
+            long sum = 0;
+            for (int i = 0; i < calls; i++) {
+                String name = holders[i & SLOT_MASK].getName();
+                sum += name.length();
+            }
+            return sum;
+        });
+        cases.put(NOT_NULL_ASSERTION, calls -> {
+            long sum = 0;
+            for (int i = 0; i < calls; i++) {
+                sum += names[i & SLOT_MASK].length();
+            }
+            return sum;
+        });
+        cases.put(SAFE_CALL, calls -> {
+            long sum = 0;
+            for (int i = 0; i < calls; i++) {
+                String name = names[i & SLOT_MASK];
+                sum += name != null ? name.length() : 0;
+            }
+            return sum;
+        });
+        cases.put(ELVIS, calls -> {
+            long sum = 0;
+            for (int i = 0; i < calls; i++) {
+                String name = names[i & SLOT_MASK];
+                String value = name != null ? name : "";
+                sum += value.length();
+            }
+            return sum;
+        });
+        cases.put(LATEINIT, calls -> {
+            long sum = 0;
+            for (int i = 0; i < calls; i++) {
+                sum += fields[i & SLOT_MASK].name.length();
+            }
+            return sum;
+        });
+        return cases;
+    }
+
+    // Warm-up run, then the best of ROUNDS measured runs
+    public static double nsPerCall(Case body) {
+        long checksum = body.run(CALLS_PER_MEASUREMENT / 10);
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += body.run(CALLS_PER_MEASUREMENT);
+            best = Math.min(best, (double) (System.nanoTime() - start) / CALLS_PER_MEASUREMENT);
+        }
+        sink = checksum;
+        return best;
+    }
+
+    // -Xno-param-assertions drops these from every public function
+    public static boolean emitsParamAssertions(Class<?> kotlinClass) {
+        return emits(kotlinClass, "checkNotNullParameter");
+    }
+
+    // -Xno-call-assertions drops these from every platform-typed value used as non-null
+    public static boolean emitsCallAssertions(Class<?> kotlinClass) {
+        return emits(kotlinClass, "checkNotNullExpressionValue");
+    }
+
+    public static String assertionMode(Class<?> kotlinClass) {
+        return "param assertions " + (emitsParamAssertions(kotlinClass) ? "on" : "off")
+                + ", call assertions " + (emitsCallAssertions(kotlinClass) ? "on" : "off");
+    }
+
+    // What each case compiles to in the given Kotlin build, for the "Kotlin emits" column
+    public static Map<String, String> kotlinChecks(Class<?> kotlinClass) {
+        Map<String, String> checks = new LinkedHashMap<>();
+        checks.put(PARAMETERS, emitsParamAssertions(kotlinClass) ? "checkNotNullParameter x2" : "nothing");
+        checks.put(PLATFORM_RESULT, emitsCallAssertions(kotlinClass) ? "checkNotNullExpressionValue" : "nothing");
+        checks.put(NOT_NULL_ASSERTION, "checkNotNull");
+        checks.put(SAFE_CALL, "null compare");
+        checks.put(ELVIS, "null compare");
+        checks.put(LATEINIT, "null compare + throw branch");
+        return checks;
+    }
+
+    /**
+     * Whether the class file references the given Intrinsics method, read from its
+     * constant pool. The names and labels live here rather than in the Kotlin class,
+     * where the string literals would land in the constant pool being searched.
+     */
+    private static boolean emits(Class<?> kotlinClass, String intrinsic) {
+        try (InputStream in = kotlinClass.getResourceAsStream(kotlinClass.getSimpleName() + ".class")) {
+            if (in == null) {
+                throw new IllegalStateException("No class file for " + kotlinClass.getName());
+            }
+            return new String(in.readAllBytes(), StandardCharsets.ISO_8859_1).contains(intrinsic);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read class file for " + kotlinClass.getName(), e);
+        }
+    }
+
+    public static void printResults(String title, List<CheckResult> results) {
+        System.out.println("\n=== " + title + " ===");
+        System.out.println("+----------------------+------------------------------+-------------+---------------+-------------+");
+        System.out.println("| Check                | Kotlin emits                 | Java ns/call| Kotlin ns/call| Kotlin/Java |");
+        System.out.println("+----------------------+------------------------------+-------------+---------------+-------------+");
+        for (CheckResult result : results) {
+            if (Double.isNaN(result.kotlinNs)) {
+                System.out.printf("| %-20s | %-28s | %11.3f | %13s | %11s |\n",
+                        result.check, result.kotlinCheck, result.javaNs, "-", "-");
+            } else {
+                System.out.printf("| %-20s | %-28s | %11.3f | %13.3f | %10.2fx |\n",
+                        result.check, result.kotlinCheck, result.javaNs, result.kotlinNs, result.kotlinNs / result.javaNs);
+            }
+        }
+        System.out.println("+----------------------+------------------------------+-------------+---------------+-------------+");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Java Null Check Benchmark:");
+        System.out.println("==================================");
+        List<CheckResult> results = new ArrayList<>();
+        for (Map.Entry<String, Case> entry : cases().entrySet()) {
+            results.add(new CheckResult(entry.getKey(), "-", nsPerCall(entry.getValue()), Double.NaN));
+        }
+        printResults("Java Null Check Results (" + CALLS_PER_MEASUREMENT + " calls, best of " + ROUNDS + ")", results);
+        System.out.println("==================================");
+        System.out.println("Java Null Check Benchmark Completed");
+    }
+}
@@ -0,0 +1,278 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Recursion depth benchmark.
+ * Walks left-deep trees from depth 10 to 100k with plain recursion and with an
+ * explicit heap stack, reporting ns per node, allocated bytes per node and the
+ * deepest tree each variant survives under different thread stack sizes.
+ * The tree, measurement and probing helpers are shared with KotlinRecursionBenchmark.
+ */
+public class JavaRecursionBenchmark {
+    public static final int[] DEFAULT_DEPTHS = {10, 100, 1_000, 10_000, 100_000};
+    // Same sizes as -Xss256k, -Xss1m (the default), -Xss4m and -Xss16m
+    public static final long[] STACK_SIZES = {256L << 10, 1L << 20, 4L << 20, 16L << 20};
+    public static final String[] STACK_SIZE_LABELS = {"256k", "1m", "4m", "16m"};
+    public static final int MAX_PROBE_DEPTH = 500_000;
+    public static final int WARMUP_DEPTH = 1_000;
+    private static final long NODES_PER_MEASUREMENT = 5_000_000L; // Shallow trees are walked repeatedly up to this many nodes
+
+    // Keeps results reachable so the JIT cannot drop the measured walks
+    private static volatile long sink;
+
+    /** Tree node: a left spine with a leaf on every right side, so recursion depth equals the spine length. */
+    public static class Node {
+        public final long value;
+        public final Node left;
+        public final Node right;
+
+        public Node(long value, Node left, Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    public static class WalkResult {
+        public final String variant;
+        public final int depth;
+        public final double nsPerNode;
+        public final double bytesPerNode;
+        public final boolean overflow;
+
+        WalkResult(String variant, int depth, double nsPerNode, double bytesPerNode, boolean overflow) {
+            this.variant = variant;
+            this.depth = depth;
+            this.nsPerNode = nsPerNode;
+            this.bytesPerNode = bytesPerNode;
+            this.overflow = overflow;
+        }
+    }
+
+    private final List<WalkResult> results = new ArrayList<>();
+    private final Map<String, int[]> depthLimits = new LinkedHashMap<>();
+
+    // Built bottom-up in a loop: the builder itself must not recurse
+    public static Node buildTree(int depth) {
+        Node node = new Node(depth, null, null);
+        for (int i = depth - 1; i >= 1; i--) {
+            node = new Node(i, node, new Node(-i, null, null));
+        }
+        return node;
+    }
+
+    public static long nodeCount(int depth) {
+        return 2L * depth - 1;
+    }
+
+    // Every spine node is the root of a smaller tree, so one deep tree serves all probe depths
+    public static Node subtree(Node root, int rootDepth, int depth) {
+        Node node = root;
+        for (int i = depth; i < rootDepth; i++) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /** Times one walker on a tree of the given depth; a StackOverflowError is recorded rather than thrown. */
+    public static WalkResult measure(String variant, int depth, Node tree, ToLongFunction<Node> walker) {
+        long nodes = nodeCount(depth);
+        long repetitions = Math.max(1, NODES_PER_MEASUREMENT / nodes);
+        long allocatedBefore = allocatedBytes();
+        long startTime = System.nanoTime();
+        try {
+            long sum = 0;
+            for (long r = 0; r < repetitions; r++) {
+                sum += walker.applyAsLong(tree);
+            }
+            sink += sum;
+        } catch (StackOverflowError e) {
+            return new WalkResult(variant, depth, 0, 0, true);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new WalkResult(variant, depth, (double) elapsed / (repetitions * nodes),
+                (double) allocated / (repetitions * nodes), false);
+    }
+
+    /**
+     * Deepest tree the walker survives on a fresh thread with the given stack size,
+     * found by doubling and then bisecting to within 1%. MAX_PROBE_DEPTH means no limit was hit.
+     */
+    public static int maxDepth(Node probeTree, long stackSize, ToLongFunction<Node> walker) throws InterruptedException {
+        int[] result = new int[1];
+        Thread thread = new Thread(null, () -> {
+            int low = 0;
+            int high = -1;
+            for (int depth = WARMUP_DEPTH; high < 0; depth = Math.min(depth * 2, MAX_PROBE_DEPTH)) {
+                if (!survives(probeTree, depth, walker)) {
+                    high = depth;
+                } else if ((low = depth) == MAX_PROBE_DEPTH) {
+                    result[0] = MAX_PROBE_DEPTH;
+                    return;
+                }
+            }
+            while (high - low > Math.max(1, low / 100)) {
+                int mid = (low + high) >>> 1;
+                if (survives(probeTree, mid, walker)) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            result[0] = low;
+        }, "depth-probe", stackSize);
+        thread.start();
+        thread.join();
+        return result[0];
+    }
+
+    private static boolean survives(Node probeTree, int depth, ToLongFunction<Node> walker) {
+        try {
+            sink += walker.applyAsLong(subtree(probeTree, MAX_PROBE_DEPTH, depth));
+            return true;
+        } catch (StackOverflowError e) {
+            return false;
+        }
+    }
+
+    public static long sumRecursive(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return node.value + sumRecursive(node.left) + sumRecursive(node.right);
+    }
+
+    // Depth-first walk with a growable array as the stack, so depth is bounded by the heap instead
+    public static long sumExplicitStack(Node root) {
+        Node[] stack = new Node[16];
+        int top = 0;
+        stack[top++] = root;
+        long sum = 0;
+        while (top > 0) {
+            Node node = stack[--top];
+            sum += node.value;
+            if (top + 2 > stack.length) {
+                Node[] grown = new Node[stack.length * 2];
+                System.arraycopy(stack, 0, grown, 0, top);
+                stack = grown;
+            }
+            if (node.right != null) {
+                stack[top++] = node.right;
+            }
+            if (node.left != null) {
+                stack[top++] = node.left;
+            }
+        }
+        return sum;
+    }
+
+    public void runDepth(int depth) {
+        Node tree = buildTree(depth);
+        results.add(measure("Java recursion", depth, tree, JavaRecursionBenchmark::sumRecursive));
+        results.add(measure("Java explicit stack", depth, tree, JavaRecursionBenchmark::sumExplicitStack));
+    }
+
+    public void runDepthLimits() throws InterruptedException {
+        Node probeTree = buildTree(MAX_PROBE_DEPTH);
+        depthLimits.put("Java recursion", probeAll(probeTree, JavaRecursionBenchmark::sumRecursive));
+        depthLimits.put("Java explicit stack", probeAll(probeTree, JavaRecursionBenchmark::sumExplicitStack));
+    }
+
+    public static int[] probeAll(Node probeTree, ToLongFunction<Node> walker) throws InterruptedException {
+        int[] limits = new int[STACK_SIZES.length];
+        for (int i = 0; i < STACK_SIZES.length; i++) {
+            limits[i] = maxDepth(probeTree, STACK_SIZES[i], walker);
+        }
+        return limits;
+    }
+
+    public void clearResults() {
+        results.clear();
+    }
+
+    public static void printResults(String title, List<WalkResult> results) {
+        System.out.println("\n=== " + title + " ===");
+        System.out.println("+------------------------------+--------------+----------------------+----------------------+--------------+");
+        System.out.println("| Variant                      | Depth        | Time Per Node (ns)   | Bytes Per Node       | Status       |");
+        System.out.println("+------------------------------+--------------+----------------------+----------------------+--------------+");
+        for (WalkResult r : results) {
+            if (r.overflow) {
+                System.out.printf("| %-28s | %,12d | %20s | %20s | %-12s |\n", r.variant, r.depth, "-", "-", "overflow");
+            } else {
+                System.out.printf("| %-28s | %,12d | %20.2f | %20.2f | %-12s |\n", r.variant, r.depth, r.nsPerNode, r.bytesPerNode, "ok");
+            }
+        }
+        System.out.println("+------------------------------+--------------+----------------------+----------------------+--------------+");
+    }
+
+    public static void printDepthLimits(String title, Map<String, int[]> depthLimits) {
+        System.out.println("\n=== " + title + " ===");
+        System.out.print("+------------------------------+");
+        for (int i = 0; i < STACK_SIZES.length; i++) {
+            System.out.print("--------------+");
+        }
+        System.out.print("\n| Variant                      |");
+        for (String label : STACK_SIZE_LABELS) {
+            System.out.printf(" %-12s |", "Xss " + label);
+        }
+        System.out.print("\n+------------------------------+");
+        for (int i = 0; i < STACK_SIZES.length; i++) {
+            System.out.print("--------------+");
+        }
+        System.out.println();
+        for (Map.Entry<String, int[]> entry : depthLimits.entrySet()) {
+            System.out.printf("| %-28s |", entry.getKey());
+            for (int limit : entry.getValue()) {
+                System.out.printf(" %12s |", limit >= MAX_PROBE_DEPTH ? ">= " + (MAX_PROBE_DEPTH / 1000) + "k" : String.format("%,d", limit));
+            }
+            System.out.println();
+        }
+        System.out.print("+------------------------------+");
+        for (int i = 0; i < STACK_SIZES.length; i++) {
+            System.out.print("--------------+");
+        }
+        System.out.println();
+        System.out.println("Max tree depth per thread stack size (new threads created with the given stack size, as with -Xss)");
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] depths = DEFAULT_DEPTHS;
+        if (args.length > 0) {
+            depths = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                depths[i] = Integer.parseInt(args[i].replace("_", ""));
+            }
+        }
+
+        System.out.println("Java Recursion Depth Benchmark:");
+        System.out.println("==================================");
+        JavaRecursionBenchmark benchmark = new JavaRecursionBenchmark();
+
+        // Warm up both walkers so the first measured depth is not interpreted
+        benchmark.runDepth(WARMUP_DEPTH);
+        benchmark.clearResults();
+
+        for (int depth : depths) {
+            benchmark.runDepth(depth);
+        }
+        benchmark.runDepthLimits();
+
+        printResults("Java Recursion Results", benchmark.results);
+        printDepthLimits("Java Stack Depth Limits", benchmark.depthLimits);
+        System.out.println("==================================");
+        System.out.println("Java Recursion Depth Benchmark Completed");
+    }
+}
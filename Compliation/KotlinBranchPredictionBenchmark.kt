@@ -0,0 +1,53 @@
+import BranchPredictionBenchmark.PassRunner
+
+/**
+ * Branch prediction benchmark, Kotlin side.
+ * InlineBenchmark's inline and normal complexCondition plus an equivalent `when`
+ * expression, run over the same generated inputs and measured (and optionally
+ * counted with perf) by the BranchPredictionBenchmark helpers.
+ */
+object KotlinBranchPredictionBenchmark {
+    private val inlineBenchmark = InlineBenchmark()
+
+    fun whenComplexCondition(value: Int): Int = when {
+        value % 2 == 0 && value % 3 == 0 -> value * 2
+        value % 2 == 0 && value % 5 == 0 -> value * 3
+        value % 2 == 0 -> value + 1
+        value % 3 == 0 -> value / 3
+        value % 5 == 0 -> value / 5
+        else -> value - 1
+    }
+
+    // Each runner keeps its call inside its own loop, so the call site stays monomorphic and inlinable
+    private fun variants(): Map<String, PassRunner> = linkedMapOf(
+        "Kotlin inline if/else" to PassRunner { input, passes ->
+            var sum = 0L
+            repeat(passes) { for (value in input) sum += inlineBenchmark.inlineComplexCondition(value) }
+            sum
+        },
+        "Kotlin normal if/else" to PassRunner { input, passes ->
+            var sum = 0L
+            repeat(passes) { for (value in input) sum += inlineBenchmark.normalComplexCondition(value) }
+            sum
+        },
+        "Kotlin when" to PassRunner { input, passes ->
+            var sum = 0L
+            repeat(passes) { for (value in input) sum += whenComplexCondition(value) }
+            sum
+        }
+    )
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val variants = variants()
+        if (BranchPredictionBenchmark.handleSingle(args, variants)) return
+        val usePerf = args.firstOrNull() != "--no-perf"
+
+        println("Kotlin Branch Prediction Benchmark:")
+        println("==================================")
+        val results = BranchPredictionBenchmark.runAll(KotlinBranchPredictionBenchmark::class.java.name, variants, usePerf)
+        BranchPredictionBenchmark.printResults("Kotlin complexCondition Branch Prediction Results", results)
+        println("==================================")
+        println("Kotlin Branch Prediction Benchmark Completed")
+    }
+}
@@ -0,0 +1,86 @@
+import JavaNullCheckBenchmark.Case
+
+/**
+ * Null-check cost benchmark, Kotlin side.
+ * The Kotlin forms of the JavaNullCheckBenchmark cases over never-null inputs:
+ * Intrinsics.checkNotNullParameter on a public function's parameters,
+ * checkNotNullExpressionValue on a Java getter result returned as String, `!!`
+ * (Intrinsics.checkNotNull), `?.`, `?:` and a lateinit read. Gradle compiles this
+ * file twice, once as usual and once with -Xno-param-assertions -Xno-call-assertions;
+ * the title shows which build is running, read from this class's bytecode.
+ */
+object KotlinNullCheckBenchmark {
+    class LateHolder {
+        lateinit var name: String
+    }
+
+    // Public, so every call checks both parameters unless -Xno-param-assertions is set
+    fun paramLengths(first: String, second: String): Int = first.length + second.length
+
+    // Returning String! as String checks it unless -Xno-call-assertions is set
+    private fun nameOf(holder: JavaNullCheckBenchmark.Holder): String = holder.name
+
+    private fun cases(): Map<String, Case> {
+        val names = JavaNullCheckBenchmark.names()
+        // Same strings, typed as nullable so !!, ?. and ?: have something to check
+        val nullableNames: Array<String?> = arrayOf(*names)
+        val holders = JavaNullCheckBenchmark.holders(names)
+        val lateHolders = Array(names.size) { LateHolder().apply { name = names[it] } }
+        val mask = JavaNullCheckBenchmark.SLOT_MASK
+        return linkedMapOf(
+            JavaNullCheckBenchmark.PARAMETERS to Case { calls ->
+                var sum = 0L
+                for (i in 0 until calls) sum += paramLengths(names[i and mask], names[(i + 1) and mask])
+                sum
+            },
+            JavaNullCheckBenchmark.PLATFORM_RESULT to Case { calls ->
+                var sum = 0L
+                for (i in 0 until calls) sum += nameOf(holders[i and mask]).length
+                sum
+            },
+            JavaNullCheckBenchmark.NOT_NULL_ASSERTION to Case { calls ->
+                var sum = 0L
+                for (i in 0 until calls) sum += nullableNames[i and mask]!!.length
+                sum
+            },
+            JavaNullCheckBenchmark.SAFE_CALL to Case { calls ->
+                var sum = 0L
+                for (i in 0 until calls) sum += nullableNames[i and mask]?.length ?: 0
+                sum
+            },
+            JavaNullCheckBenchmark.ELVIS to Case { calls ->
+                var sum = 0L
+                for (i in 0 until calls) {
+                    val value = nullableNames[i and mask] ?: ""
+                    sum += value.length
+                }
+                sum
+            },
+            JavaNullCheckBenchmark.LATEINIT to Case { calls ->
+                var sum = 0L
+                for (i in 0 until calls) sum += lateHolders[i and mask].name.length
+                sum
+            }
+        )
+    }
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val mode = JavaNullCheckBenchmark.assertionMode(KotlinNullCheckBenchmark::class.java)
+        println("Kotlin Null Check Benchmark ($mode):")
+        println("==================================")
+
+        val javaCases = JavaNullCheckBenchmark.cases()
+        val emitted = JavaNullCheckBenchmark.kotlinChecks(KotlinNullCheckBenchmark::class.java)
+        val results = cases().map { (check, case) ->
+            // Alternate Java and Kotlin so both see the same machine state
+            val javaNs = JavaNullCheckBenchmark.nsPerCall(javaCases.getValue(check))
+            val kotlinNs = JavaNullCheckBenchmark.nsPerCall(case)
+            JavaNullCheckBenchmark.CheckResult(check, emitted.getValue(check), javaNs, kotlinNs)
+        }
+
+        JavaNullCheckBenchmark.printResults("Kotlin vs Java Null Check Results ($mode)", results)
+        println("==================================")
+        println("Kotlin Null Check Benchmark Completed")
+    }
+}
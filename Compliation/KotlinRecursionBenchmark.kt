@@ -0,0 +1,70 @@
+import JavaRecursionBenchmark.Node
+
+/**
+ * Recursion depth benchmark, Kotlin side.
+ * Plain recursion vs a `tailrec` worklist walk (compiled to a loop) vs DeepRecursiveFunction
+ * (frames kept on the heap), on the same trees and with the same measurement and
+ * stack-size probing as JavaRecursionBenchmark.
+ */
+object KotlinRecursionBenchmark {
+    private val results = mutableListOf<JavaRecursionBenchmark.WalkResult>()
+    private val depthLimits = linkedMapOf<String, IntArray>()
+
+    fun sumRecursive(node: Node?): Long {
+        if (node == null) return 0
+        return node.value + sumRecursive(node.left) + sumRecursive(node.right)
+    }
+
+    // tailrec needs the recursive call in tail position, so the pending subtrees move into a worklist
+    tailrec fun sumTailrec(pending: ArrayList<Node>, acc: Long): Long {
+        if (pending.isEmpty()) return acc
+        val node = pending.removeAt(pending.size - 1)
+        node.right?.let { pending.add(it) }
+        node.left?.let { pending.add(it) }
+        return sumTailrec(pending, acc + node.value)
+    }
+
+    fun sumTailrec(root: Node): Long = sumTailrec(arrayListOf(root), 0)
+
+    // Same shape as sumRecursive, but each callRecursive suspends onto a heap-allocated continuation
+    val deepSum = DeepRecursiveFunction<Node?, Long> { node ->
+        if (node == null) 0L else node.value + callRecursive(node.left) + callRecursive(node.right)
+    }
+
+    fun runDepth(depth: Int) {
+        val tree = JavaRecursionBenchmark.buildTree(depth)
+        results.add(JavaRecursionBenchmark.measure("Kotlin recursion", depth, tree) { sumRecursive(it) })
+        results.add(JavaRecursionBenchmark.measure("Kotlin tailrec worklist", depth, tree) { sumTailrec(it) })
+        results.add(JavaRecursionBenchmark.measure("Kotlin DeepRecursiveFunction", depth, tree) { deepSum(it) })
+    }
+
+    fun runDepthLimits() {
+        val probeTree = JavaRecursionBenchmark.buildTree(JavaRecursionBenchmark.MAX_PROBE_DEPTH)
+        depthLimits["Kotlin recursion"] = JavaRecursionBenchmark.probeAll(probeTree) { sumRecursive(it) }
+        depthLimits["Kotlin tailrec worklist"] = JavaRecursionBenchmark.probeAll(probeTree) { sumTailrec(it) }
+        depthLimits["Kotlin DeepRecursiveFunction"] = JavaRecursionBenchmark.probeAll(probeTree) { deepSum(it) }
+    }
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val depths = if (args.isNotEmpty()) args.map { it.replace("_", "").toInt() }.toIntArray()
+        else JavaRecursionBenchmark.DEFAULT_DEPTHS
+
+        println("Kotlin Recursion Depth Benchmark:")
+        println("==================================")
+
+        // Warm up every walker so the first measured depth is not interpreted
+        runDepth(JavaRecursionBenchmark.WARMUP_DEPTH)
+        results.clear()
+
+        for (depth in depths) {
+            runDepth(depth)
+        }
+        runDepthLimits()
+
+        JavaRecursionBenchmark.printResults("Kotlin Recursion Results", results)
+        JavaRecursionBenchmark.printDepthLimits("Kotlin Stack Depth Limits", depthLimits)
+        println("==================================")
+        println("Kotlin Recursion Depth Benchmark Completed")
+    }
+}
@@ -11,6 +11,9 @@ javac -d ../build/classes JavaBenchmark.java
 echo "Starting Kotlin Inline Benchmark Compile..."
 kotlinc -d ../build/classes InlineBenchmark.kt
 
+echo "Starting Inline Analyzer Compile..."
+javac -d ../build/classes InlineAnalyzer.java
+
 # get kotlin stdlib path
 KOTLIN_STDLIB=$(find /opt/homebrew/Cellar/kotlin -name "kotlin-stdlib.jar" | head -1)
 if [ -z "$KOTLIN_STDLIB" ]; then
@@ -20,28 +23,23 @@ fi
 
 echo "===== Run Inline Benchmark ====="
 
-echo "Starting Java Inline Benchmark..."
-# Run Java tests and save output to log file
-java -cp ../build/classes JavaBenchmark > java_performance_log.txt 2>&1
-
-echo "Starting Kotlin Inline Benchmark..."
-# Run Kotlin tests and save output to log file
-java -cp ../build/classes:$KOTLIN_STDLIB InlineBenchmarkKt > kotlin_performance_log.txt 2>&1
-
-echo "===== All compilation tests completed ====="
-
-# Ensure Python scripts have execution permissions
-chmod +x analyze_inline.py
-
-# Install necessary Python dependencies
-pip install numpy matplotlib
-
-# Run the combined analysis script
+# Runs JavaBenchmark and InlineBenchmarkKt, saving java_performance_log.txt and kotlin_performance_log.txt,
+# and analyzes their result tables as they are printed
 echo "===== Running Performance Analysis ====="
-python3 analyze_inline.py java_performance_log.txt kotlin_performance_log.txt
+java -cp ../build/classes:$KOTLIN_STDLIB InlineAnalyzer --run
 
 echo "===== Analysis Complete ====="
 echo "Analysis results:"
 echo "- Java performance with different warm-up iterations: java_warmup_analysis.png"
 echo "- Java inline vs Kotlin inline execution time: java_kotlin_inline_comparison.png"
-echo "- Kotlin inline vs normal function performance: kotlin_performance_analysis.png" 
\ No newline at end of file
+echo "- Kotlin inline vs normal function performance: kotlin_performance_analysis.png" 
+
+echo "===== Run Null Check Benchmark ====="
+
+# The same Kotlin file built with and without null assertions, each in its own directory
+mkdir -p ../build/nullchecks/default ../build/nullchecks/no-assertions
+javac -d ../build/classes JavaNullCheckBenchmark.java
+kotlinc -cp ../build/classes -d ../build/nullchecks/default KotlinNullCheckBenchmark.kt
+kotlinc -cp ../build/classes -Xno-param-assertions -Xno-call-assertions -d ../build/nullchecks/no-assertions KotlinNullCheckBenchmark.kt
+java -cp ../build/nullchecks/default:../build/classes:$KOTLIN_STDLIB KotlinNullCheckBenchmark
+java -cp ../build/nullchecks/no-assertions:../build/classes:$KOTLIN_STDLIB KotlinNullCheckBenchmark
@@ -0,0 +1,223 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulated blocking calls for ThreadPoolBenchmark's I/O workload mode.
+ * Owns the shared resources (temp file, loopback echo server) so that each
+ * task only pays for the blocking call itself.
+ */
+public class BlockingWorkload implements Closeable {
+    private static final int FILE_SIZE = 1 << 20;
+    private static final int READ_SIZE = 4096;
+
+    public enum Type {
+        PARK("park"),                            // LockSupport.parkNanos
+        PARK_SYNCHRONIZED("park-synchronized"),  // parkNanos while holding a monitor (pins virtual threads)
+        SOCKET("socket"),                        // 8-byte echo round trip over loopback TCP
+        FILE("file");                            // 4 KB positional FileChannel read
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Type fromLabel(String label) {
+            for (Type type : values()) {
+                if (type.label.equals(label)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown workload: " + label);
+        }
+    }
+
+    private final Type type;
+    private final long parkNanos;
+    private Path tempFile;
+    private FileChannel fileChannel;
+    private EchoServer echoServer;
+
+    public BlockingWorkload(Type type, long parkNanos) throws IOException {
+        this.type = type;
+        this.parkNanos = parkNanos;
+        if (type == Type.FILE) {
+            tempFile = Files.createTempFile("blocking-workload", ".bin");
+            Files.write(tempFile, new byte[FILE_SIZE]);
+            fileChannel = FileChannel.open(tempFile, StandardOpenOption.READ);
+        } else if (type == Type.SOCKET) {
+            echoServer = new EchoServer();
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // Runs one task's worth of blocking calls
+    public void execute(int iterations) throws IOException {
+        switch (type) {
+            case PARK:
+                for (int i = 0; i < iterations; i++) {
+                    LockSupport.parkNanos(parkNanos);
+                }
+                break;
+            case PARK_SYNCHRONIZED:
+                Object monitor = new Object();
+                for (int i = 0; i < iterations; i++) {
+                    synchronized (monitor) {
+                        LockSupport.parkNanos(parkNanos);
+                    }
+                }
+                break;
+            case SOCKET:
+                try (SocketChannel channel = SocketChannel.open(echoServer.getAddress())) {
+                    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+                    for (int i = 0; i < iterations; i++) {
+                        buffer.clear();
+                        buffer.putLong(i).flip();
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        buffer.clear();
+                        while (buffer.hasRemaining()) {
+                            if (channel.read(buffer) < 0) {
+                                throw new EOFException("Echo server closed the connection");
+                            }
+                        }
+                    }
+                }
+                break;
+            case FILE:
+                ByteBuffer buffer = ByteBuffer.allocate(READ_SIZE);
+                for (int i = 0; i < iterations; i++) {
+                    buffer.clear();
+                    fileChannel.read(buffer, ((long) i * READ_SIZE) % FILE_SIZE);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled workload: " + type);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fileChannel != null) {
+            fileChannel.close();
+            Files.deleteIfExists(tempFile);
+        }
+        if (echoServer != null) {
+            echoServer.close();
+        }
+    }
+
+    /**
+     * Single-threaded NIO echo server on the loopback interface.
+     * Non-blocking so that 100k client connections do not need 100k server threads.
+     */
+    private static class EchoServer implements Closeable {
+        private final ServerSocketChannel server;
+        private final Selector selector;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        EchoServer() throws IOException {
+            server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 65535);
+            server.configureBlocking(false);
+            selector = Selector.open();
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            thread = new Thread(this::serve, "echo-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        InetSocketAddress getAddress() throws IOException {
+            return (InetSocketAddress) server.getLocalAddress();
+        }
+
+        private void serve() {
+            try {
+                while (running) {
+                    selector.select();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            SocketChannel client;
+                            while ((client = server.accept()) != null) {
+                                client.configureBlocking(false);
+                                client.register(selector, SelectionKey.OP_READ, ByteBuffer.allocate(64));
+                            }
+                        } else if (key.isReadable()) {
+                            echo(key);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Echo server failed: " + e);
+                }
+            }
+        }
+
+        private void echo(SelectionKey key) throws IOException {
+            SocketChannel client = (SocketChannel) key.channel();
+            ByteBuffer buffer = (ByteBuffer) key.attachment();
+            int read;
+            try {
+                read = client.read(buffer);
+            } catch (IOException e) {
+                read = -1;
+            }
+            if (read < 0) {
+                key.cancel();
+                client.close();
+                return;
+            }
+            buffer.flip();
+            // Echo payloads are tiny, so the loopback send buffer never stays full for long
+            while (buffer.hasRemaining()) {
+                client.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            running = false;
+            selector.wakeup();
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+    }
+}
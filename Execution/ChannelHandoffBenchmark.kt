@@ -0,0 +1,106 @@
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
+
+/**
+ * Kotlin Channel producer-consumer handoff benchmark.
+ * Same topologies, knobs and report as QueueHandoffBenchmark.java,
+ * with producers and consumers running as coroutines on Dispatchers.Default.
+ */
+class ChannelHandoffBenchmark {
+    private data class HandoffResult(
+        val channel: String,
+        val topology: String,
+        val messages: Long,
+        val elapsedMs: Double,
+        val latency: LatencyHistogram
+    )
+
+    private val results = mutableListOf<HandoffResult>()
+
+    fun runHandoffBenchmark(name: String, capacity: Int, producers: Int, consumers: Int, totalMessages: Long): Unit = runBlocking {
+        val channel = Channel<Long>(capacity)
+        val perProducer = totalMessages / producers
+        val histograms = List(consumers) { LatencyHistogram() }
+
+        val startTime = System.nanoTime()
+        withContext(Dispatchers.Default) {
+            val consumerJobs = histograms.map { histogram ->
+                launch {
+                    for (sentAt in channel) {
+                        histogram.record(System.nanoTime() - sentAt)
+                    }
+                }
+            }
+            coroutineScope {
+                repeat(producers) {
+                    launch {
+                        for (i in 0L until perProducer) {
+                            channel.send(System.nanoTime()) // Boxed send timestamp is the message
+                        }
+                    }
+                }
+            }
+            // All producers are done; closing lets the consumers drain and finish
+            channel.close()
+            consumerJobs.joinAll()
+        }
+        val endTime = System.nanoTime()
+
+        val merged = LatencyHistogram()
+        histograms.forEach { merged.merge(it) }
+        results.add(HandoffResult(name, "$producers:$consumers", perProducer * producers,
+            (endTime - startTime) / 1_000_000.0, merged))
+    }
+
+    fun clearResults() = results.clear()
+
+    fun printResults() {
+        println("\n=== Channel Handoff Benchmark Results ===")
+        println("+------------------------+----------+-----------------+---------------+---------------+")
+        println("| Pipe                   | Topology | Messages/sec    | p50 (us)      | p99 (us)      |")
+        println("+------------------------+----------+-----------------+---------------+---------------+")
+
+        for (result in results) {
+            println("| %-22s | %-8s | %,15.0f | %,13.2f | %,13.2f |".format(
+                result.channel, result.topology, result.messages * 1000.0 / result.elapsedMs,
+                result.latency.getPercentile(50.0) / 1000.0, result.latency.getPercentile(99.0) / 1000.0))
+        }
+
+        println("+------------------------+----------+-----------------+---------------+---------------+")
+    }
+}
+
+fun main(args: Array<String>) {
+    println("Starting Channel Handoff Benchmark...")
+    val numTasks = args.getOrNull(0)?.toInt() ?: 100
+    val numIterations = args.getOrNull(1)?.toInt() ?: 10000
+    val totalMessages = numTasks.toLong() * numIterations
+    val fanIn = maxOf(2, Runtime.getRuntime().availableProcessors() / 2)
+
+    val channels = listOf(
+        "Rendezvous channel" to Channel.RENDEZVOUS,
+        "Buffered channel" to Channel.BUFFERED,
+        "Unlimited channel" to Channel.UNLIMITED
+    )
+    val topologies = listOf(1 to 1, fanIn to 1, fanIn to fanIn)
+
+    val benchmark = ChannelHandoffBenchmark()
+    // Warm-up pass so every channel type is compiled before it is measured
+    for ((name, capacity) in channels) {
+        benchmark.runHandoffBenchmark(name, capacity, 1, 1, minOf(totalMessages, 100_000L))
+    }
+    benchmark.clearResults()
+
+    for ((producers, consumers) in topologies) {
+        for ((name, capacity) in channels) {
+            benchmark.runHandoffBenchmark(name, capacity, producers, consumers, totalMessages)
+        }
+    }
+    println("Messages per run: %,d (numTasks=%d x numIterations=%d)".format(totalMessages, numTasks, numIterations))
+    benchmark.printResults()
+}
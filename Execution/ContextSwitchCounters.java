@@ -0,0 +1,209 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OS-level context-switch and CPU accounting for the thread benchmarks.
+ * Reads voluntary/nonvoluntary_ctxt_switches from /proc/self/task/[tid]/status
+ * (Linux only), per-thread user/system CPU time from ThreadMXBean, and CPU
+ * cycles from `perf stat` when it is installed and permitted.
+ */
+public class ContextSwitchCounters {
+    private static final Path TASK_DIR = Paths.get("/proc/self/task");
+
+    // Counters summed over the threads whose name starts with a prefix
+    public static class Snapshot {
+        public final long voluntary;
+        public final long involuntary;
+
+        Snapshot(long voluntary, long involuntary) {
+            this.voluntary = voluntary;
+            this.involuntary = involuntary;
+        }
+
+        public long total() {
+            return voluntary + involuntary;
+        }
+
+        public Snapshot minus(Snapshot before) {
+            return new Snapshot(voluntary - before.voluntary, involuntary - before.involuntary);
+        }
+    }
+
+    private final String threadPrefix;
+    private final List<Thread> threads = new ArrayList<>();
+
+    public ContextSwitchCounters(String threadPrefix) {
+        this.threadPrefix = threadPrefix;
+    }
+
+    public static boolean isSupported() {
+        return Files.isDirectory(TASK_DIR);
+    }
+
+    /**
+     * Thread factory that names threads with the prefix and remembers them,
+     * so that their CPU time can still be read while they are alive.
+     * Linux truncates thread names to 15 characters, so keep the prefix short.
+     */
+    public ThreadFactory threadFactory() {
+        AtomicInteger index = new AtomicInteger();
+        ThreadFactory delegate = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = delegate.newThread(runnable);
+            thread.setName(threadPrefix + index.incrementAndGet());
+            synchronized (threads) {
+                threads.add(thread);
+            }
+            return thread;
+        };
+    }
+
+    /**
+     * Sums the counters of all live threads with the prefix (or every thread
+     * of the process when the prefix is empty). Threads that have exited are
+     * gone from /proc, so capture before shutting the pool down.
+     */
+    public Snapshot capture() {
+        long voluntary = 0;
+        long involuntary = 0;
+        File[] tasks = TASK_DIR.toFile().listFiles();
+        if (tasks == null) {
+            return new Snapshot(0, 0);
+        }
+        for (File task : tasks) {
+            try {
+                String name = new String(Files.readAllBytes(task.toPath().resolve("comm")), StandardCharsets.UTF_8).trim();
+                if (!name.startsWith(threadPrefix)) {
+                    continue;
+                }
+                for (String line : Files.readAllLines(task.toPath().resolve("status"))) {
+                    if (line.startsWith("voluntary_ctxt_switches:")) {
+                        voluntary += parseCount(line);
+                    } else if (line.startsWith("nonvoluntary_ctxt_switches:")) {
+                        involuntary += parseCount(line);
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // The thread exited between listing and reading
+            }
+        }
+        return new Snapshot(voluntary, involuntary);
+    }
+
+    // {user, system} CPU nanoseconds summed over the tracked threads
+    public long[] workerCpuTimeNanos() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long user = 0;
+        long total = 0;
+        synchronized (threads) {
+            for (Thread thread : threads) {
+                long cpu = threadBean.getThreadCpuTime(thread.getId());
+                long userCpu = threadBean.getThreadUserTime(thread.getId());
+                if (cpu > 0 && userCpu >= 0) {
+                    total += cpu;
+                    user += userCpu;
+                }
+            }
+        }
+        return new long[] {user, Math.max(0, total - user)};
+    }
+
+    private static long parseCount(String line) {
+        return Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+    }
+
+    /**
+     * Attaches `perf stat -e cycles,context-switches` to this JVM.
+     * Returns null when perf is missing or not permitted (perf_event_paranoid).
+     */
+    public static PerfSession startPerf() {
+        try {
+            long pid = ProcessHandle.current().pid();
+            Process process = new ProcessBuilder("perf", "stat", "-x,", "-e", "cycles,context-switches",
+                    "-p", Long.toString(pid)).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+            // Give perf a moment to attach, and detect an immediate failure
+            if (process.waitFor(200, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            return new PerfSession(process);
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public static class PerfSession {
+        private final Process process;
+        private long cycles = -1;
+        private long contextSwitches = -1;
+
+        PerfSession(Process process) {
+            this.process = process;
+        }
+
+        // Sends SIGINT so perf prints its counters, then parses the CSV output
+        public void stop() throws InterruptedException {
+            try {
+                new ProcessBuilder("kill", "-INT", Long.toString(process.pid())).start().waitFor();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = line.split(",");
+                        if (fields.length < 3 || fields[0].isEmpty() || !Character.isDigit(fields[0].charAt(0))) {
+                            continue;
+                        }
+                        if (fields[2].startsWith("cycles")) {
+                            cycles = Long.parseLong(fields[0]);
+                        } else if (fields[2].startsWith("context-switches")) {
+                            contextSwitches = Long.parseLong(fields[0]);
+                        }
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Leave the counters at -1
+            } finally {
+                process.destroy();
+                process.waitFor(1, TimeUnit.SECONDS);
+            }
+        }
+
+        public long getCycles() {
+            return cycles;
+        }
+
+        public long getContextSwitches() {
+            return contextSwitches;
+        }
+    }
+
+    // Nominal clock from /proc/cpuinfo, used to estimate cycles without perf; -1 if unknown
+    public static double cpuMhz() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/cpuinfo"))) {
+                if (line.startsWith("cpu MHz")) {
+                    return Double.parseDouble(line.substring(line.indexOf(':') + 1).trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Fall through
+        }
+        return -1;
+    }
+}
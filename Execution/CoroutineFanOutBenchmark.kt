@@ -0,0 +1,124 @@
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.LockSupport
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
+
+/**
+ * Kotlin fan-out/fan-in request latency benchmark.
+ * Same request shape, knobs and report as FanOutBenchmark.java, with each
+ * request implemented as coroutineScope { List(K) { async { ... } }.awaitAll() }.
+ */
+class CoroutineFanOutBenchmark {
+    private data class FanOutResult(
+        val strategy: String,
+        val load: Int,
+        val requests: Long,
+        val elapsedMs: Double,
+        val latency: LatencyHistogram
+    )
+
+    private val results = mutableListOf<FanOutResult>()
+
+    fun runFanOutBenchmark(
+        name: String,
+        load: Int,
+        requestsPerClient: Int,
+        fanOut: Int,
+        subtaskContext: CoroutineContext,
+        subtask: suspend () -> Long
+    ): Unit = runBlocking {
+        val histograms = List(load) { LatencyHistogram() }
+
+        val startTime = System.nanoTime()
+        withContext(Dispatchers.Default) {
+            for (histogram in histograms) {
+                launch {
+                    repeat(requestsPerClient) {
+                        val requestStart = System.nanoTime()
+                        val sum = coroutineScope {
+                            List(fanOut) { async(subtaskContext) { subtask() } }.awaitAll().sum()
+                        }
+                        check(sum == fanOut.toLong()) { "Lost subtask results" }
+                        histogram.record(System.nanoTime() - requestStart)
+                    }
+                }
+            }
+        }
+        val endTime = System.nanoTime()
+
+        val merged = LatencyHistogram()
+        histograms.forEach { merged.merge(it) }
+        results.add(FanOutResult(name, load, merged.count, (endTime - startTime) / 1_000_000.0, merged))
+    }
+
+    fun clearResults() = results.clear()
+
+    fun printResults() {
+        println("\n=== Coroutine Fan-Out/Fan-In Latency Results ===")
+        println("+----------------------------+--------+--------------+------------+------------+------------+------------+------------+")
+        println("| Strategy                   | Load   | Requests/sec | p50 (us)   | p90 (us)   | p99 (us)   | p99.9 (us) | Max (us)   |")
+        println("+----------------------------+--------+--------------+------------+------------+------------+------------+------------+")
+
+        for (result in results) {
+            val h = result.latency
+            println("| %-26s | %,6d | %,12.0f | %,10.1f | %,10.1f | %,10.1f | %,10.1f | %,10.1f |".format(
+                result.strategy, result.load, result.requests * 1000.0 / result.elapsedMs,
+                h.getPercentile(50.0) / 1000.0, h.getPercentile(90.0) / 1000.0, h.getPercentile(99.0) / 1000.0,
+                h.getPercentile(99.9) / 1000.0, h.max / 1000.0))
+        }
+
+        println("+----------------------------+--------+--------------+------------+------------+------------+------------+------------+")
+    }
+}
+
+// Usage: CoroutineFanOutBenchmarkKt [fanOut] [requestsPerClient] [subtaskMicros] [load,load,...]
+fun main(args: Array<String>) {
+    println("Starting Coroutine Fan-Out/Fan-In Benchmark...")
+    val fanOut = args.getOrNull(0)?.toInt() ?: 8
+    val requestsPerClient = args.getOrNull(1)?.toInt() ?: 200
+    val subtaskMicros = args.getOrNull(2)?.toLong() ?: 200L
+    val loads = args.getOrNull(3)?.split(",")?.map { it.trim().toInt() } ?: listOf(1, 4, 16, 64)
+    val poolSize = Integer.getInteger("poolSize", 64)
+    val subtaskNanos = TimeUnit.MICROSECONDS.toNanos(subtaskMicros)
+    println("fanOut=$fanOut, requestsPerClient=$requestsPerClient, subtask=$subtaskMicros us, worker pool=$poolSize")
+
+    // Same blocking subtask on the same sized pool as the Java strategies
+    val executor = Executors.newFixedThreadPool(poolSize)
+    val poolDispatcher = executor.asCoroutineDispatcher()
+    val strategies = listOf<Triple<String, CoroutineContext, suspend () -> Long>>(
+        Triple("async + parkNanos (pool)", poolDispatcher, suspend {
+            LockSupport.parkNanos(subtaskNanos) // Simulated blocking backend call
+            1L
+        }),
+        // delay() has millisecond resolution, so sub-millisecond subtasks are rounded up
+        Triple("async + delay (>= 1 ms)", EmptyCoroutineContext, suspend {
+            delay(maxOf(1L, subtaskMicros / 1000)) // Suspending backend call, no thread held
+            1L
+        })
+    )
+
+    val benchmark = CoroutineFanOutBenchmark()
+    // Warm-up pass at the lowest load
+    for ((name, context, subtask) in strategies) {
+        benchmark.runFanOutBenchmark(name, 1, requestsPerClient, fanOut, context, subtask)
+    }
+    benchmark.clearResults()
+
+    for (load in loads) {
+        for ((name, context, subtask) in strategies) {
+            benchmark.runFanOutBenchmark(name, load, requestsPerClient, fanOut, context, subtask)
+        }
+    }
+    poolDispatcher.close()
+    benchmark.printResults()
+}
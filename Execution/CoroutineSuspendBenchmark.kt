@@ -0,0 +1,209 @@
+import java.lang.management.ManagementFactory
+import java.util.concurrent.Executors
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlin.coroutines.intrinsics.suspendCoroutineUninterceptedOrReturn
+import kotlin.coroutines.resume
+import kotlin.coroutines.suspendCoroutine
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.yield
+
+/**
+ * Kotlin coroutine suspension/resumption cost microbenchmark.
+ * Measures ns/op and bytes/op for yield() on single- and multi-threaded
+ * dispatchers, suspendCoroutine with immediate resume, and suspend functions
+ * whose state machine grows with the number of suspension points.
+ */
+object CoroutineSuspendBenchmark {
+    const val OPERATIONS = 1_000_000
+    const val WARMUP_ROUNDS = 3
+
+    /** Keeps results reachable so the JIT cannot drop the measured loops */
+    @Volatile
+    var sink = 0
+
+    private val threadBean = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean
+
+    private data class SuspendResult(
+        val scenario: String,
+        val dispatcher: String,
+        val nsPerOp: Double,
+        val bytesPerOp: Double
+    )
+
+    private val results = mutableListOf<SuspendResult>()
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val operations = args.getOrNull(0)?.toInt() ?: OPERATIONS
+        val singleThread = Executors.newSingleThreadExecutor().asCoroutineDispatcher()
+        val contexts = listOf<Pair<String, CoroutineContext>>(
+            "runBlocking loop" to EmptyCoroutineContext,
+            "Single thread" to singleThread,
+            "Default" to Dispatchers.Default
+        )
+
+        println("Kotlin Coroutine Suspension Benchmark:")
+        println("==================================")
+
+        measure("Regular call (baseline)", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            var acc = 0
+            for (i in 0 until n) acc += regularLeaf(i)
+            sink = acc
+        }
+
+        for ((name, context) in contexts) {
+            measure("yield()", name, context, operations) { n ->
+                repeat(n) { yield() }
+            }
+            measure("yield() ping-pong x2", name, context, operations) { n ->
+                coroutineScope {
+                    repeat(2) { launch { repeat(n / 2) { yield() } } }
+                }
+            }
+        }
+
+        measure("suspendCoroutine resume", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            repeat(n) { suspendCoroutine<Unit> { it.resume(Unit) } }
+        }
+        measure("suspendCancellable resume", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            repeat(n) { suspendCancellableCoroutine<Unit> { it.resume(Unit) } }
+        }
+
+        // Each call allocates one continuation whose fields hold the locals live across suspension points
+        measure("1 suspension point", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            var acc = 0
+            for (i in 0 until n) acc += chain1(i)
+            sink = acc
+        }
+        measure("2 suspension points", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            var acc = 0
+            for (i in 0 until n) acc += chain2(i)
+            sink = acc
+        }
+        measure("4 suspension points", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            var acc = 0
+            for (i in 0 until n) acc += chain4(i)
+            sink = acc
+        }
+        measure("8 suspension points", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            var acc = 0
+            for (i in 0 until n) acc += chain8(i)
+            sink = acc
+        }
+        measure("16 suspension points", "runBlocking loop", EmptyCoroutineContext, operations) { n ->
+            var acc = 0
+            for (i in 0 until n) acc += chain16(i)
+            sink = acc
+        }
+
+        singleThread.close()
+        printResults()
+
+        println("==================================")
+        println("Kotlin Coroutine Suspension Benchmark Completed")
+    }
+
+    fun measure(scenario: String, dispatcherName: String, context: CoroutineContext, operations: Int, body: suspend (Int) -> Unit) {
+        repeat(WARMUP_ROUNDS) {
+            runBlocking(context) { body(operations / 10) }
+        }
+        System.gc()
+
+        val allocatedBefore = allocatedBytes()
+        val startTime = System.nanoTime()
+        runBlocking(context) { body(operations) }
+        val elapsed = System.nanoTime() - startTime
+        val allocatedAfter = allocatedBytes()
+
+        val bytesPerOp = if (allocatedBefore < 0) -1.0 else (allocatedAfter - allocatedBefore).toDouble() / operations
+        results.add(SuspendResult(scenario, dispatcherName, elapsed.toDouble() / operations, bytesPerOp))
+    }
+
+    /** Bytes allocated so far by all live threads, or -1 when the JVM cannot tell */
+    private fun allocatedBytes(): Long {
+        val bean = threadBean ?: return -1
+        if (!bean.isThreadAllocatedMemorySupported || !bean.isThreadAllocatedMemoryEnabled) return -1
+        return bean.getThreadAllocatedBytes(bean.allThreadIds).filter { it > 0 }.sum()
+    }
+
+    private fun printResults() {
+        println("\n=== Suspension Cost Results ===")
+        println("+-----------------------------+--------------------+----------------+----------------+")
+        println("| Scenario                    | Dispatcher         | Time/op (ns)   | Bytes/op       |")
+        println("+-----------------------------+--------------------+----------------+----------------+")
+
+        for (result in results) {
+            val bytes = if (result.bytesPerOp < 0) "n/a" else "%,.1f".format(result.bytesPerOp)
+            println("| %-27s | %-18s | %,14.2f | %14s |".format(
+                result.scenario, result.dispatcher, result.nsPerOp, bytes))
+        }
+
+        println("+-----------------------------+--------------------+----------------+----------------+")
+    }
+
+    fun regularLeaf(x: Int): Int = x + 1
+
+    /**
+     * A suspend function that never actually suspends. Its only suspend call is
+     * in tail position, so it compiles without a state machine of its own and
+     * the chains below measure only their own continuation.
+     */
+    suspend fun leaf(x: Int): Int = suspendCoroutineUninterceptedOrReturn { x + 1 }
+
+    suspend fun chain1(seed: Int): Int {
+        val s1 = leaf(seed)
+        return s1 + seed
+    }
+
+    suspend fun chain2(seed: Int): Int {
+        val s1 = leaf(seed)
+        val s2 = leaf(s1)
+        return s1 + s2
+    }
+
+    suspend fun chain4(seed: Int): Int {
+        val s1 = leaf(seed)
+        val s2 = leaf(s1)
+        val s3 = leaf(s2)
+        val s4 = leaf(s3)
+        return s1 + s2 + s3 + s4
+    }
+
+    suspend fun chain8(seed: Int): Int {
+        val s1 = leaf(seed)
+        val s2 = leaf(s1)
+        val s3 = leaf(s2)
+        val s4 = leaf(s3)
+        val s5 = leaf(s4)
+        val s6 = leaf(s5)
+        val s7 = leaf(s6)
+        val s8 = leaf(s7)
+        return s1 + s2 + s3 + s4 + s5 + s6 + s7 + s8
+    }
+
+    suspend fun chain16(seed: Int): Int {
+        val s1 = leaf(seed)
+        val s2 = leaf(s1)
+        val s3 = leaf(s2)
+        val s4 = leaf(s3)
+        val s5 = leaf(s4)
+        val s6 = leaf(s5)
+        val s7 = leaf(s6)
+        val s8 = leaf(s7)
+        val s9 = leaf(s8)
+        val s10 = leaf(s9)
+        val s11 = leaf(s10)
+        val s12 = leaf(s11)
+        val s13 = leaf(s12)
+        val s14 = leaf(s13)
+        val s15 = leaf(s14)
+        val s16 = leaf(s15)
+        return s1 + s2 + s3 + s4 + s5 + s6 + s7 + s8 + s9 + s10 + s11 + s12 + s13 + s14 + s15 + s16
+    }
+}
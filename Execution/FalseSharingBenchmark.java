@@ -0,0 +1,397 @@
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import jdk.internal.vm.annotation.Contended;
+import jdk.internal.misc.Unsafe;
+
+/**
+ * False sharing benchmark.
+ * ThreadPoolBenchmark keeps one AtomicLong counter; the obvious fix for its
+ * contention is one counter per thread, which turns into false sharing as soon as
+ * the counters sit next to each other. Each thread here owns one counter and bumps
+ * it with volatile writes, with the counters stored as adjacent fields, fields
+ * separated by manual padding, @Contended fields (effective only with
+ * -XX:-RestrictContended), adjacent or padded array slots, and one AtomicLong per
+ * thread. Reports throughput, scaling against one thread and the measured
+ * distance between neighbouring counters (read through jdk.internal.misc.Unsafe,
+ * so run with --add-exports java.base/jdk.internal.misc=ALL-UNNAMED to see it).
+ * The Kotlin property counterparts live in KotlinFalseSharingBenchmark.kt.
+ */
+public class FalseSharingBenchmark {
+    public static final int MAX_COUNTERS = 8;
+    private static final int BATCH = 1024; // Increments between checks of the running flag
+    private static final int PADDED_STRIDE = 16; // 128 bytes of longs, so adjacent-line prefetch cannot pair two counters
+    public static final long NO_OFFSETS = -2; // counterDistance when field offsets cannot be read
+
+    /** Per-thread counters; add bumps one thread's counter count times with volatile writes. */
+    public abstract static class Counters {
+        public abstract void add(int index, int count);
+
+        public abstract long get(int index);
+
+        /** Smallest distance in bytes between two counters, or -1 when the layout is up to the heap. */
+        public abstract long counterDistance();
+    }
+
+    static class AdjacentFields extends Counters {
+        volatile long c0, c1, c2, c3, c4, c5, c6, c7;
+
+        @Override
+        public void add(int index, int count) {
+            for (int i = 0; i < count; i++) {
+                switch (index) {
+                    case 0: c0++; break;
+                    case 1: c1++; break;
+                    case 2: c2++; break;
+                    case 3: c3++; break;
+                    case 4: c4++; break;
+                    case 5: c5++; break;
+                    case 6: c6++; break;
+                    default: c7++; break;
+                }
+            }
+        }
+
+        @Override
+        public long get(int index) {
+            long[] values = {c0, c1, c2, c3, c4, c5, c6, c7};
+            return values[index];
+        }
+
+        @Override
+        public long counterDistance() {
+            return minFieldDistance(getClass(), "c0", "c1", "c2", "c3", "c4", "c5", "c6", "c7");
+        }
+    }
+
+    // Fifteen longs after each counter put the next one 128 bytes on, the same spacing as PADDED_STRIDE;
+    // the layout is checked, not assumed
+    static class PaddedFields extends Counters {
+        volatile long c0;
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+        long p08, p09, p0a, p0b, p0c, p0d, p0e;
+        volatile long c1;
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+        long p18, p19, p1a, p1b, p1c, p1d, p1e;
+        volatile long c2;
+        long p20, p21, p22, p23, p24, p25, p26, p27;
+        long p28, p29, p2a, p2b, p2c, p2d, p2e;
+        volatile long c3;
+        long p30, p31, p32, p33, p34, p35, p36, p37;
+        long p38, p39, p3a, p3b, p3c, p3d, p3e;
+        volatile long c4;
+        long p40, p41, p42, p43, p44, p45, p46, p47;
+        long p48, p49, p4a, p4b, p4c, p4d, p4e;
+        volatile long c5;
+        long p50, p51, p52, p53, p54, p55, p56, p57;
+        long p58, p59, p5a, p5b, p5c, p5d, p5e;
+        volatile long c6;
+        long p60, p61, p62, p63, p64, p65, p66, p67;
+        long p68, p69, p6a, p6b, p6c, p6d, p6e;
+        volatile long c7;
+
+        @Override
+        public void add(int index, int count) {
+            for (int i = 0; i < count; i++) {
+                switch (index) {
+                    case 0: c0++; break;
+                    case 1: c1++; break;
+                    case 2: c2++; break;
+                    case 3: c3++; break;
+                    case 4: c4++; break;
+                    case 5: c5++; break;
+                    case 6: c6++; break;
+                    default: c7++; break;
+                }
+            }
+        }
+
+        @Override
+        public long get(int index) {
+            long[] values = {c0, c1, c2, c3, c4, c5, c6, c7};
+            return values[index];
+        }
+
+        @Override
+        public long counterDistance() {
+            return minFieldDistance(getClass(), "c0", "c1", "c2", "c3", "c4", "c5", "c6", "c7");
+        }
+    }
+
+    // Each field is its own contention group; the JVM ignores the annotation outside the JDK unless -XX:-RestrictContended
+    static class ContendedFields extends Counters {
+        @Contended volatile long c0;
+        @Contended volatile long c1;
+        @Contended volatile long c2;
+        @Contended volatile long c3;
+        @Contended volatile long c4;
+        @Contended volatile long c5;
+        @Contended volatile long c6;
+        @Contended volatile long c7;
+
+        @Override
+        public void add(int index, int count) {
+            for (int i = 0; i < count; i++) {
+                switch (index) {
+                    case 0: c0++; break;
+                    case 1: c1++; break;
+                    case 2: c2++; break;
+                    case 3: c3++; break;
+                    case 4: c4++; break;
+                    case 5: c5++; break;
+                    case 6: c6++; break;
+                    default: c7++; break;
+                }
+            }
+        }
+
+        @Override
+        public long get(int index) {
+            long[] values = {c0, c1, c2, c3, c4, c5, c6, c7};
+            return values[index];
+        }
+
+        @Override
+        public long counterDistance() {
+            return minFieldDistance(getClass(), "c0", "c1", "c2", "c3", "c4", "c5", "c6", "c7");
+        }
+    }
+
+    static class ArraySlots extends Counters {
+        private final AtomicLongArray slots;
+        private final int stride;
+
+        ArraySlots(boolean padded) {
+            stride = padded ? PADDED_STRIDE : 1;
+            slots = new AtomicLongArray(MAX_COUNTERS * stride);
+        }
+
+        @Override
+        public void add(int index, int count) {
+            int slot = index * stride;
+            for (int i = 0; i < count; i++) {
+                slots.set(slot, slots.get(slot) + 1);
+            }
+        }
+
+        @Override
+        public long get(int index) {
+            return slots.get(index * stride);
+        }
+
+        @Override
+        public long counterDistance() {
+            return (long) stride * Long.BYTES;
+        }
+    }
+
+    // Allocated back to back, so the objects usually land 24 bytes apart in the same TLAB
+    static class AtomicLongPerThread extends Counters {
+        private final AtomicLong[] counters = new AtomicLong[MAX_COUNTERS];
+
+        AtomicLongPerThread() {
+            for (int i = 0; i < MAX_COUNTERS; i++) {
+                counters[i] = new AtomicLong();
+            }
+        }
+
+        @Override
+        public void add(int index, int count) {
+            AtomicLong counter = counters[index];
+            for (int i = 0; i < count; i++) {
+                counter.set(counter.get() + 1);
+            }
+        }
+
+        @Override
+        public long get(int index) {
+            return counters[index].get();
+        }
+
+        @Override
+        public long counterDistance() {
+            return -1;
+        }
+    }
+
+    public static class SharingResult {
+        public final String layout;
+        public final int threads;
+        public final double opsPerSecond;
+        public final long counterDistance;
+        public double scaling;
+
+        SharingResult(String layout, int threads, double opsPerSecond, long counterDistance) {
+            this.layout = layout;
+            this.threads = threads;
+            this.opsPerSecond = opsPerSecond;
+            this.counterDistance = counterDistance;
+        }
+    }
+
+    private static final Unsafe UNSAFE = loadUnsafe();
+
+    // Null unless java.base exports jdk.internal.misc to this module
+    private static Unsafe loadUnsafe() {
+        try {
+            return Unsafe.getUnsafe();
+        } catch (IllegalAccessError e) {
+            return null;
+        }
+    }
+
+    /** Smallest gap between the named fields as laid out by this JVM, or NO_OFFSETS if offsets are unavailable. */
+    public static long minFieldDistance(Class<?> type, String... fieldNames) {
+        if (UNSAFE == null) {
+            return NO_OFFSETS;
+        }
+        try {
+            long[] offsets = new long[fieldNames.length];
+            for (int i = 0; i < fieldNames.length; i++) {
+                offsets[i] = UNSAFE.objectFieldOffset(type.getDeclaredField(fieldNames[i]));
+            }
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < offsets.length; i++) {
+                for (int j = i + 1; j < offsets.length; j++) {
+                    min = Math.min(min, Math.abs(offsets[i] - offsets[j]));
+                }
+            }
+            return min;
+        } catch (NoSuchFieldException e) {
+            return NO_OFFSETS;
+        }
+    }
+
+    public static String restrictContended() {
+        HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        return bean == null ? "unknown" : bean.getVMOption("RestrictContended").getValue();
+    }
+
+    private volatile boolean running;
+
+    /** Each thread bumps its own counter for durationMs; fails loudly if any increment was lost. */
+    public SharingResult measure(String layout, Counters counters, int threads, long durationMs) throws InterruptedException {
+        long[] opsPerThread = new long[threads];
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        running = true;
+        for (int t = 0; t < threads; t++) {
+            int threadIndex = t;
+            Thread worker = new Thread(() -> {
+                long ops = 0;
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (running) {
+                    counters.add(threadIndex, BATCH);
+                    ops += BATCH;
+                }
+                opsPerThread[threadIndex] = ops;
+            }, "counter-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        long startTime = System.nanoTime();
+        startGate.countDown();
+        Thread.sleep(durationMs);
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedNs = System.nanoTime() - startTime;
+
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            if (counters.get(t) != opsPerThread[t]) {
+                throw new IllegalStateException(layout + ": counter " + t + " is " + counters.get(t)
+                        + " but its thread did " + opsPerThread[t] + " increments");
+            }
+            total += opsPerThread[t];
+        }
+        return new SharingResult(layout, threads, total * 1_000_000_000.0 / elapsedNs, counters.counterDistance());
+    }
+
+    public static int[] threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads <= Math.min(maxThreads, MAX_COUNTERS); threads *= 2) {
+            counts.add(threads);
+        }
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Measures every layout at every thread count; scaling is relative to the same layout on one thread. */
+    public List<SharingResult> runAll(Map<String, Supplier<Counters>> layouts, int maxThreads,
+                                      long durationMs) throws InterruptedException {
+        List<SharingResult> results = new ArrayList<>();
+        for (Map.Entry<String, Supplier<Counters>> layout : layouts.entrySet()) {
+            double single = 0;
+            for (int threads : threadCounts(maxThreads)) {
+                SharingResult result = measure(layout.getKey(), layout.getValue().get(), threads, durationMs);
+                if (threads == 1) {
+                    single = result.opsPerSecond;
+                }
+                result.scaling = result.opsPerSecond / single;
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static String distanceLabel(long distance) {
+        if (distance == NO_OFFSETS) {
+            return "n/a";
+        }
+        return distance < 0 ? "heap" : String.valueOf(distance);
+    }
+
+    public static void printResults(String title, List<SharingResult> results) {
+        System.out.println("\n=== " + title + " (RestrictContended=" + restrictContended() + ", "
+                + Runtime.getRuntime().availableProcessors() + " CPUs) ===");
+        System.out.println("+--------------------------------+---------+----------------+----------+--------------+");
+        System.out.println("| Layout                         | Threads | Ops/sec        | Scaling  | Distance (B) |");
+        System.out.println("+--------------------------------+---------+----------------+----------+--------------+");
+        for (SharingResult r : results) {
+            System.out.printf("| %-30s | %,7d | %,14.0f | %7.2fx | %12s |\n", r.layout, r.threads, r.opsPerSecond,
+                    r.scaling, distanceLabel(r.counterDistance));
+        }
+        System.out.println("+--------------------------------+---------+----------------+----------+--------------+");
+        System.out.println("Scaling: ops/sec relative to the same layout on one thread (ideal = thread count, up to the CPU count)");
+        System.out.println("Distance: smallest gap between two counters; under 64 bytes, neighbours share a cache line");
+    }
+
+    private static Map<String, Supplier<Counters>> layouts() {
+        Map<String, Supplier<Counters>> layouts = new LinkedHashMap<>();
+        layouts.put("fields (adjacent)", AdjacentFields::new);
+        layouts.put("fields (manual padding)", PaddedFields::new);
+        layouts.put("fields (@Contended)", ContendedFields::new);
+        layouts.put("array slots (adjacent)", () -> new ArraySlots(false));
+        layouts.put("array slots (padded)", () -> new ArraySlots(true));
+        layouts.put("AtomicLong per thread", AtomicLongPerThread::new);
+        return layouts;
+    }
+
+    // Usage: FalseSharingBenchmark [durationMs] [maxThreads]
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Starting False Sharing Benchmark...");
+        long durationMs = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        FalseSharingBenchmark benchmark = new FalseSharingBenchmark();
+
+        // Warm-up pass so every layout is compiled before it is measured
+        benchmark.runAll(layouts(), 2, 100);
+
+        List<SharingResult> results = benchmark.runAll(layouts(), maxThreads, durationMs);
+        printResults("False Sharing Benchmark Results", results);
+    }
+}
@@ -0,0 +1,268 @@
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fan-out/fan-in request latency benchmark.
+ * Each "request" forks K blocking subtasks and joins them, the way an
+ * aggregation endpoint calls its backends. Concurrent clients issue requests
+ * back to back, and per-request latency percentiles are reported per load level.
+ * The Kotlin coroutineScope { async {} } counterpart lives in CoroutineFanOutBenchmark.kt.
+ */
+public class FanOutBenchmark {
+    private static final int[] DEFAULT_LOADS = {1, 4, 16, 64};
+
+    // Fans out the given subtasks and returns only once all of them completed
+    interface FanOutStrategy {
+        long execute(List<Callable<Long>> subtasks) throws Exception;
+    }
+
+    private static class CompletableFutureStrategy implements FanOutStrategy {
+        private final ExecutorService executor;
+
+        CompletableFutureStrategy(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public long execute(List<Callable<Long>> subtasks) {
+            List<CompletableFuture<Long>> futures = new ArrayList<>(subtasks.size());
+            for (Callable<Long> subtask : subtasks) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return subtask.call();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            long sum = 0;
+            for (CompletableFuture<Long> future : futures) {
+                sum += future.join();
+            }
+            return sum;
+        }
+    }
+
+    private static class InvokeAllStrategy implements FanOutStrategy {
+        private final ExecutorService executor;
+
+        InvokeAllStrategy(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public long execute(List<Callable<Long>> subtasks) throws Exception {
+            long sum = 0;
+            for (Future<Long> future : executor.invokeAll(subtasks)) {
+                sum += future.get();
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * StructuredTaskScope.ShutdownOnFailure (JDK 21+ preview, needs --enable-preview).
+     * Bound reflectively so the benchmark still builds and runs on JDK 17.
+     */
+    private static class StructuredTaskScopeStrategy implements FanOutStrategy {
+        private final Class<?> scopeClass;
+        private final Method fork;
+        private final Method join;
+        private final Method throwIfFailed;
+        private final Method close;
+        private final Method resultOf;
+
+        private StructuredTaskScopeStrategy() throws ReflectiveOperationException {
+            scopeClass = Class.forName("java.util.concurrent.StructuredTaskScope$ShutdownOnFailure");
+            fork = scopeClass.getMethod("fork", Callable.class);
+            join = scopeClass.getMethod("join");
+            throwIfFailed = scopeClass.getMethod("throwIfFailed");
+            close = scopeClass.getMethod("close");
+            Method subtaskGet;
+            try {
+                subtaskGet = Class.forName("java.util.concurrent.StructuredTaskScope$Subtask").getMethod("get");
+            } catch (ClassNotFoundException e) {
+                subtaskGet = Future.class.getMethod("get"); // JDK 19/20 forks returned a Future
+            }
+            resultOf = subtaskGet;
+        }
+
+        // Returns null when the API is missing or preview features are disabled
+        static StructuredTaskScopeStrategy tryCreate() {
+            try {
+                StructuredTaskScopeStrategy strategy = new StructuredTaskScopeStrategy();
+                List<Callable<Long>> probe = new ArrayList<>();
+                probe.add(() -> 1L);
+                strategy.execute(probe);
+                return strategy;
+            } catch (Exception | LinkageError e) {
+                return null;
+            }
+        }
+
+        @Override
+        public long execute(List<Callable<Long>> subtasks) throws Exception {
+            Object scope = scopeClass.getConstructor().newInstance();
+            try {
+                List<Object> forked = new ArrayList<>(subtasks.size());
+                for (Callable<Long> subtask : subtasks) {
+                    forked.add(fork.invoke(scope, subtask));
+                }
+                join.invoke(scope);
+                throwIfFailed.invoke(scope);
+                long sum = 0;
+                for (Object handle : forked) {
+                    sum += (Long) resultOf.invoke(handle);
+                }
+                return sum;
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            } finally {
+                close.invoke(scope);
+            }
+        }
+    }
+
+    private static class FanOutResult {
+        String strategy;
+        int load;
+        long requests;
+        double elapsedMs;
+        LatencyHistogram latency;
+
+        FanOutResult(String strategy, int load, long requests, double elapsedMs, LatencyHistogram latency) {
+            this.strategy = strategy;
+            this.load = load;
+            this.requests = requests;
+            this.elapsedMs = elapsedMs;
+            this.latency = latency;
+        }
+    }
+
+    private final List<FanOutResult> results = new ArrayList<>();
+
+    public void runFanOutBenchmark(String name, FanOutStrategy strategy, int load, int requestsPerClient,
+                                   int fanOut, long subtaskNanos) throws InterruptedException {
+        List<Callable<Long>> subtasks = new ArrayList<>(fanOut);
+        for (int i = 0; i < fanOut; i++) {
+            subtasks.add(() -> {
+                LockSupport.parkNanos(subtaskNanos); // Simulated backend call
+                return 1L;
+            });
+        }
+
+        CountDownLatch startGate = new CountDownLatch(1);
+        LatencyHistogram[] histograms = new LatencyHistogram[load];
+        List<Thread> clients = new ArrayList<>();
+        for (int c = 0; c < load; c++) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histograms[c] = histogram;
+            Thread client = new Thread(() -> {
+                try {
+                    startGate.await();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long requestStart = System.nanoTime();
+                        if (strategy.execute(subtasks) != fanOut) {
+                            throw new IllegalStateException("Lost subtask results");
+                        }
+                        histogram.record(System.nanoTime() - requestStart);
+                    }
+                } catch (Exception e) {
+                    System.err.println(name + " client failed: " + e);
+                }
+            }, "client-" + c);
+            clients.add(client);
+            client.start();
+        }
+
+        long startTime = System.nanoTime();
+        startGate.countDown();
+        for (Thread client : clients) {
+            client.join();
+        }
+        long endTime = System.nanoTime();
+
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram histogram : histograms) {
+            merged.merge(histogram);
+        }
+        results.add(new FanOutResult(name, load, merged.getCount(), (endTime - startTime) / 1_000_000.0, merged));
+    }
+
+    private void printResults() {
+        System.out.println("\n=== Fan-Out/Fan-In Latency Results ===");
+        System.out.println("+----------------------------+--------+--------------+------------+------------+------------+------------+------------+");
+        System.out.println("| Strategy                   | Load   | Requests/sec | p50 (us)   | p90 (us)   | p99 (us)   | p99.9 (us) | Max (us)   |");
+        System.out.println("+----------------------------+--------+--------------+------------+------------+------------+------------+------------+");
+
+        for (FanOutResult result : results) {
+            LatencyHistogram h = result.latency;
+            System.out.printf("| %-26s | %,6d | %,12.0f | %,10.1f | %,10.1f | %,10.1f | %,10.1f | %,10.1f |\n",
+                    result.strategy, result.load, result.requests * 1000.0 / result.elapsedMs,
+                    h.getPercentile(50) / 1000.0, h.getPercentile(90) / 1000.0, h.getPercentile(99) / 1000.0,
+                    h.getPercentile(99.9) / 1000.0, h.getMax() / 1000.0);
+        }
+
+        System.out.println("+----------------------------+--------+--------------+------------+------------+------------+------------+------------+");
+    }
+
+    // Usage: FanOutBenchmark [fanOut] [requestsPerClient] [subtaskMicros] [load,load,...]
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Starting Fan-Out/Fan-In Benchmark...");
+        int fanOut = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long subtaskNanos = TimeUnit.MICROSECONDS.toNanos(args.length > 2 ? Long.parseLong(args[2]) : 200);
+        int[] loads = DEFAULT_LOADS;
+        if (args.length > 3) {
+            String[] parts = args[3].split(",");
+            loads = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                loads[i] = Integer.parseInt(parts[i].trim());
+            }
+        }
+        int poolSize = Integer.getInteger("poolSize", 64);
+        System.out.printf("fanOut=%d, requestsPerClient=%d, subtask=%d us, worker pool=%d%n",
+                fanOut, requestsPerClient, TimeUnit.NANOSECONDS.toMicros(subtaskNanos), poolSize);
+
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        List<String> names = new ArrayList<>();
+        List<FanOutStrategy> strategies = new ArrayList<>();
+        names.add("CompletableFuture.allOf");
+        strategies.add(new CompletableFutureStrategy(executor));
+        names.add("ExecutorService.invokeAll");
+        strategies.add(new InvokeAllStrategy(executor));
+        StructuredTaskScopeStrategy structured = StructuredTaskScopeStrategy.tryCreate();
+        if (structured != null) {
+            names.add("StructuredTaskScope");
+            strategies.add(structured);
+        } else {
+            System.out.println("StructuredTaskScope unavailable (needs JDK 21+ with --enable-preview), skipping");
+        }
+
+        FanOutBenchmark benchmark = new FanOutBenchmark();
+        // Warm-up pass at the lowest load
+        for (int i = 0; i < strategies.size(); i++) {
+            benchmark.runFanOutBenchmark(names.get(i), strategies.get(i), 1, requestsPerClient, fanOut, subtaskNanos);
+        }
+        benchmark.results.clear();
+
+        for (int load : loads) {
+            for (int i = 0; i < strategies.size(); i++) {
+                benchmark.runFanOutBenchmark(names.get(i), strategies.get(i), load, requestsPerClient, fanOut, subtaskNanos);
+            }
+        }
+        executor.shutdown();
+        benchmark.printResults();
+    }
+}
@@ -0,0 +1,189 @@
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Runs any benchmark main class under a programmatic JFR recording and appends
+ * a profile summary to its report: allocation by class, hot methods, lock
+ * contention, GC pauses and deoptimizations.
+ * Usage: JfrProfiler <MainClass> [benchmark args...]
+ * -Djfr.file=... sets the recording path (default <MainClass>-profile.jfr),
+ * -Djfr.delaySeconds=N skips the first N seconds so warm-up is not profiled,
+ * -Djfr.top=N sets the rows per summary table (default 10).
+ * Every Gradle JavaExec task runs through it when invoked with -Pprofile.
+ */
+public class JfrProfiler {
+    private static final Duration LOCK_THRESHOLD = Duration.ofMillis(1);
+
+    // Aggregated count and duration/bytes per key
+    private static class Tally {
+        long count;
+        long total;
+
+        void add(long value) {
+            count++;
+            total += value;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: JfrProfiler <MainClass> [args...]");
+            System.exit(1);
+        }
+        String mainClass = args[0];
+        String[] benchmarkArgs = Arrays.copyOfRange(args, 1, args.length);
+        Path file = Paths.get(System.getProperty("jfr.file", mainClass + "-profile.jfr"));
+        long delaySeconds = Long.getLong("jfr.delaySeconds", 0);
+
+        Recording recording = createRecording();
+        recording.setDestination(file);
+        if (delaySeconds > 0) {
+            recording.scheduleStart(Duration.ofSeconds(delaySeconds));
+        } else {
+            recording.start();
+        }
+
+        Method main = Class.forName(mainClass).getMethod("main", String[].class);
+        try {
+            main.invoke(null, (Object) benchmarkArgs);
+        } catch (InvocationTargetException e) {
+            recording.close();
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+        recording.stop(); // Writes the destination file
+        recording.close();
+
+        printSummary(file, Integer.getInteger("jfr.top", 10));
+    }
+
+    // The built-in "profile" settings plus lower thresholds for lock events and deoptimizations
+    private static Recording createRecording() throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration("profile"));
+        recording.setName("benchmark-profile");
+        recording.enable("jdk.JavaMonitorEnter").withThreshold(LOCK_THRESHOLD).withStackTrace();
+        recording.enable("jdk.ThreadPark").withThreshold(LOCK_THRESHOLD).withStackTrace();
+        recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+        recording.enable("jdk.Deoptimization"); // JDK 14+, silently ignored before
+        recording.enable("jdk.GarbageCollection");
+        return recording;
+    }
+
+    private static void printSummary(Path file, int top) throws IOException {
+        Map<String, Tally> allocations = new HashMap<>();
+        Map<String, Tally> tlabAllocations = new HashMap<>();
+        Map<String, Tally> hotMethods = new HashMap<>();
+        Map<String, Tally> locks = new HashMap<>();
+        Map<String, Tally> gcPauses = new HashMap<>();
+        Map<String, Tally> deopts = new HashMap<>();
+        long executionSamples = 0;
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            switch (event.getEventType().getName()) {
+                case "jdk.ObjectAllocationSample":
+                    allocations.computeIfAbsent(className(event.getClass("objectClass")), k -> new Tally())
+                            .add(event.getLong("weight"));
+                    break;
+                case "jdk.ObjectAllocationInNewTLAB":
+                    tlabAllocations.computeIfAbsent(className(event.getClass("objectClass")), k -> new Tally())
+                            .add(event.getLong("tlabSize"));
+                    break;
+                case "jdk.ObjectAllocationOutsideTLAB":
+                    tlabAllocations.computeIfAbsent(className(event.getClass("objectClass")), k -> new Tally())
+                            .add(event.getLong("allocationSize"));
+                    break;
+                case "jdk.ExecutionSample":
+                    executionSamples++;
+                    hotMethods.computeIfAbsent(topFrame(event.getStackTrace()), k -> new Tally()).add(1);
+                    break;
+                case "jdk.JavaMonitorEnter":
+                    locks.computeIfAbsent("monitor " + className(event.getClass("monitorClass")), k -> new Tally())
+                            .add(event.getDuration().toNanos());
+                    break;
+                case "jdk.ThreadPark":
+                    locks.computeIfAbsent("park " + className(event.getClass("parkedClass")), k -> new Tally())
+                            .add(event.getDuration().toNanos());
+                    break;
+                case "jdk.GarbageCollection":
+                    gcPauses.computeIfAbsent(event.getString("name"), k -> new Tally())
+                            .add(event.getDuration("sumOfPauses").toNanos());
+                    break;
+                case "jdk.Deoptimization":
+                    deopts.computeIfAbsent(event.getString("reason") + " / " + event.getString("action"), k -> new Tally())
+                            .add(1);
+                    break;
+                default:
+                    break;
+            }
+        }
+        // Allocation samples (JDK 16+) are weighted estimates; older JDKs only have TLAB events
+        if (allocations.isEmpty()) {
+            allocations = tlabAllocations;
+        }
+
+        System.out.println("\n=== JFR Profile Summary ===");
+        System.out.println("Recording: " + file.toAbsolutePath());
+        printTable("Allocation by class", "Est. MB", allocations, top, t -> t.total / (1024.0 * 1024));
+        long totalSamples = executionSamples;
+        printTable("Hot methods (top frame)", "% samples", hotMethods, top,
+                t -> totalSamples == 0 ? 0 : t.count * 100.0 / totalSamples);
+        printTable("Lock contention (>= 1 ms)", "Total ms", locks, top, t -> t.total / 1_000_000.0);
+        printTable("GC pauses", "Total ms", gcPauses, top, t -> t.total / 1_000_000.0);
+        printTable("Deoptimizations (reason / action)", "Count", deopts, top, t -> t.count);
+    }
+
+    interface Metric {
+        double of(Tally tally);
+    }
+
+    private static void printTable(String title, String metricName, Map<String, Tally> tallies, int top, Metric metric) {
+        System.out.println("+------------------------------------------------------------+----------+--------------+");
+        System.out.printf("| %-58s | %8s | %12s |\n", title, "Count", metricName);
+        System.out.println("+------------------------------------------------------------+----------+--------------+");
+        if (tallies.isEmpty()) {
+            System.out.printf("| %-58s | %8s | %12s |\n", "(no events)", "-", "-");
+        }
+        List<Map.Entry<String, Tally>> entries = new ArrayList<>(tallies.entrySet());
+        entries.sort((a, b) -> Double.compare(metric.of(b.getValue()), metric.of(a.getValue())));
+        for (Map.Entry<String, Tally> entry : entries.subList(0, Math.min(top, entries.size()))) {
+            System.out.printf("| %-58s | %,8d | %,12.1f |\n",
+                    abbreviate(entry.getKey(), 58), entry.getValue().count, metric.of(entry.getValue()));
+        }
+        System.out.println("+------------------------------------------------------------+----------+--------------+");
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "<unknown>" : recordedClass.getName();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        RecordedMethod method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + (frame.isJavaFrame() ? "" : " (native)");
+    }
+
+    // Keeps the tail of long names, which holds the class and method
+    private static String abbreviate(String value, int width) {
+        return value.length() <= width ? value : "..." + value.substring(value.length() - width + 3);
+    }
+}
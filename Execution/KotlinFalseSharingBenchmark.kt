@@ -0,0 +1,136 @@
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.Supplier
+
+/**
+ * Kotlin False Sharing Benchmark
+ * Per-thread counters as Kotlin properties, updated through their accessors from another
+ * class: adjacent @Volatile properties, properties separated by padding properties, and a
+ * List<AtomicLong>. The distance column reads the backing field offsets, for comparison
+ * with the Java field layouts in FalseSharingBenchmark.
+ */
+class KotlinFalseSharingBenchmark {
+    class AdjacentProperties {
+        @Volatile var c0 = 0L
+        @Volatile var c1 = 0L
+        @Volatile var c2 = 0L
+        @Volatile var c3 = 0L
+        @Volatile var c4 = 0L
+        @Volatile var c5 = 0L
+        @Volatile var c6 = 0L
+        @Volatile var c7 = 0L
+    }
+
+    // Padding properties are never read, but each still gets a backing field; fifteen of them space the
+    // counters 128 bytes apart, like the padded Java layouts
+    @Suppress("unused")
+    class PaddedProperties {
+        @Volatile var c0 = 0L
+        private val p00 = 0L; private val p01 = 0L; private val p02 = 0L; private val p03 = 0L; private val p04 = 0L; private val p05 = 0L; private val p06 = 0L; private val p07 = 0L
+        private val p08 = 0L; private val p09 = 0L; private val p0a = 0L; private val p0b = 0L; private val p0c = 0L; private val p0d = 0L; private val p0e = 0L
+        @Volatile var c1 = 0L
+        private val p10 = 0L; private val p11 = 0L; private val p12 = 0L; private val p13 = 0L; private val p14 = 0L; private val p15 = 0L; private val p16 = 0L; private val p17 = 0L
+        private val p18 = 0L; private val p19 = 0L; private val p1a = 0L; private val p1b = 0L; private val p1c = 0L; private val p1d = 0L; private val p1e = 0L
+        @Volatile var c2 = 0L
+        private val p20 = 0L; private val p21 = 0L; private val p22 = 0L; private val p23 = 0L; private val p24 = 0L; private val p25 = 0L; private val p26 = 0L; private val p27 = 0L
+        private val p28 = 0L; private val p29 = 0L; private val p2a = 0L; private val p2b = 0L; private val p2c = 0L; private val p2d = 0L; private val p2e = 0L
+        @Volatile var c3 = 0L
+        private val p30 = 0L; private val p31 = 0L; private val p32 = 0L; private val p33 = 0L; private val p34 = 0L; private val p35 = 0L; private val p36 = 0L; private val p37 = 0L
+        private val p38 = 0L; private val p39 = 0L; private val p3a = 0L; private val p3b = 0L; private val p3c = 0L; private val p3d = 0L; private val p3e = 0L
+        @Volatile var c4 = 0L
+        private val p40 = 0L; private val p41 = 0L; private val p42 = 0L; private val p43 = 0L; private val p44 = 0L; private val p45 = 0L; private val p46 = 0L; private val p47 = 0L
+        private val p48 = 0L; private val p49 = 0L; private val p4a = 0L; private val p4b = 0L; private val p4c = 0L; private val p4d = 0L; private val p4e = 0L
+        @Volatile var c5 = 0L
+        private val p50 = 0L; private val p51 = 0L; private val p52 = 0L; private val p53 = 0L; private val p54 = 0L; private val p55 = 0L; private val p56 = 0L; private val p57 = 0L
+        private val p58 = 0L; private val p59 = 0L; private val p5a = 0L; private val p5b = 0L; private val p5c = 0L; private val p5d = 0L; private val p5e = 0L
+        @Volatile var c6 = 0L
+        private val p60 = 0L; private val p61 = 0L; private val p62 = 0L; private val p63 = 0L; private val p64 = 0L; private val p65 = 0L; private val p66 = 0L; private val p67 = 0L
+        private val p68 = 0L; private val p69 = 0L; private val p6a = 0L; private val p6b = 0L; private val p6c = 0L; private val p6d = 0L; private val p6e = 0L
+        @Volatile var c7 = 0L
+    }
+
+    // Every c0++ below is a getC0()/setC0() pair; the JIT inlines both down to the backing field
+    class AdjacentPropertyCounters : FalseSharingBenchmark.Counters() {
+        private val properties = AdjacentProperties()
+
+        override fun add(index: Int, count: Int) {
+            for (i in 0 until count) {
+                when (index) {
+                    0 -> properties.c0++
+                    1 -> properties.c1++
+                    2 -> properties.c2++
+                    3 -> properties.c3++
+                    4 -> properties.c4++
+                    5 -> properties.c5++
+                    6 -> properties.c6++
+                    else -> properties.c7++
+                }
+            }
+        }
+
+        override fun get(index: Int): Long = with(properties) { longArrayOf(c0, c1, c2, c3, c4, c5, c6, c7)[index] }
+
+        override fun counterDistance(): Long = FalseSharingBenchmark.minFieldDistance(
+            AdjacentProperties::class.java, "c0", "c1", "c2", "c3", "c4", "c5", "c6", "c7")
+    }
+
+    class PaddedPropertyCounters : FalseSharingBenchmark.Counters() {
+        private val properties = PaddedProperties()
+
+        override fun add(index: Int, count: Int) {
+            for (i in 0 until count) {
+                when (index) {
+                    0 -> properties.c0++
+                    1 -> properties.c1++
+                    2 -> properties.c2++
+                    3 -> properties.c3++
+                    4 -> properties.c4++
+                    5 -> properties.c5++
+                    6 -> properties.c6++
+                    else -> properties.c7++
+                }
+            }
+        }
+
+        override fun get(index: Int): Long = with(properties) { longArrayOf(c0, c1, c2, c3, c4, c5, c6, c7)[index] }
+
+        override fun counterDistance(): Long = FalseSharingBenchmark.minFieldDistance(
+            PaddedProperties::class.java, "c0", "c1", "c2", "c3", "c4", "c5", "c6", "c7")
+    }
+
+    class AtomicLongListCounters : FalseSharingBenchmark.Counters() {
+        private val counters = List(FalseSharingBenchmark.MAX_COUNTERS) { AtomicLong() }
+
+        override fun add(index: Int, count: Int) {
+            val counter = counters[index]
+            for (i in 0 until count) {
+                counter.set(counter.get() + 1)
+            }
+        }
+
+        override fun get(index: Int): Long = counters[index].get()
+
+        override fun counterDistance(): Long = -1
+    }
+
+    fun layouts(): Map<String, Supplier<FalseSharingBenchmark.Counters>> = linkedMapOf(
+        "Kotlin properties (adjacent)" to Supplier { AdjacentPropertyCounters() },
+        "Kotlin properties (padded)" to Supplier { PaddedPropertyCounters() },
+        "Kotlin List<AtomicLong>" to Supplier { AtomicLongListCounters() }
+    )
+}
+
+// Usage: KotlinFalseSharingBenchmarkKt [durationMs] [maxThreads]
+fun main(args: Array<String>) {
+    println("Starting Kotlin False Sharing Benchmark...")
+    val durationMs = args.getOrNull(0)?.toLong() ?: 500L
+    val maxThreads = args.getOrNull(1)?.toInt() ?: maxOf(4, Runtime.getRuntime().availableProcessors())
+
+    val layouts = KotlinFalseSharingBenchmark().layouts()
+    val benchmark = FalseSharingBenchmark()
+
+    // Warm-up pass so every layout is compiled before it is measured
+    benchmark.runAll(layouts, 2, 100)
+
+    val results = benchmark.runAll(layouts, maxThreads, durationMs)
+    FalseSharingBenchmark.printResults("Kotlin False Sharing Benchmark Results", results)
+}
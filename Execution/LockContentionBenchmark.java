@@ -0,0 +1,381 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Shared-state lock contention benchmark.
+ * Threads hammer a shared counter or a shared map with a configurable read/write
+ * ratio, guarded by synchronized, ReentrantLock (fair/unfair), ReadWriteLock,
+ * StampedLock optimistic reads or a VarHandle CAS loop. Reports throughput and
+ * fairness (spread of operations completed per thread).
+ * The kotlinx.coroutines Mutex counterpart lives in MutexContentionBenchmark.kt.
+ */
+public class LockContentionBenchmark {
+    private static final int KEY_SPACE = 1024;
+    private static final int[] READ_PERCENTS = {0, 50, 90, 99};
+
+    /**
+     * Unguarded shared state. The map is pre-populated and writes only replace
+     * values of existing keys, so it never resizes and optimistic readers can
+     * never observe a structurally broken table.
+     */
+    static class SharedState {
+        final boolean mapMode;
+        final Map<Integer, Integer> map = new HashMap<>();
+        long counter;
+
+        SharedState(boolean mapMode) {
+            this.mapMode = mapMode;
+            for (int i = 0; i < KEY_SPACE; i++) {
+                map.put(i, i);
+            }
+        }
+
+        long read(int key) {
+            return mapMode ? map.get(key) : counter;
+        }
+
+        void write(int key) {
+            if (mapMode) {
+                map.put(key, key + 1);
+            } else {
+                counter++;
+            }
+        }
+    }
+
+    abstract static class LockStrategy {
+        final SharedState state;
+
+        LockStrategy(SharedState state) {
+            this.state = state;
+        }
+
+        abstract long read(int key);
+
+        abstract void write(int key);
+    }
+
+    interface StrategyFactory {
+        // Returns null when the strategy cannot guard the requested state
+        LockStrategy create(boolean mapMode);
+    }
+
+    static class SynchronizedStrategy extends LockStrategy {
+        SynchronizedStrategy(SharedState state) {
+            super(state);
+        }
+
+        @Override
+        synchronized long read(int key) {
+            return state.read(key);
+        }
+
+        @Override
+        synchronized void write(int key) {
+            state.write(key);
+        }
+    }
+
+    static class ReentrantLockStrategy extends LockStrategy {
+        private final ReentrantLock lock;
+
+        ReentrantLockStrategy(SharedState state, boolean fair) {
+            super(state);
+            lock = new ReentrantLock(fair);
+        }
+
+        @Override
+        long read(int key) {
+            lock.lock();
+            try {
+                return state.read(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        void write(int key) {
+            lock.lock();
+            try {
+                state.write(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    static class ReadWriteLockStrategy extends LockStrategy {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        ReadWriteLockStrategy(SharedState state) {
+            super(state);
+        }
+
+        @Override
+        long read(int key) {
+            lock.readLock().lock();
+            try {
+                return state.read(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        void write(int key) {
+            lock.writeLock().lock();
+            try {
+                state.write(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    static class StampedLockStrategy extends LockStrategy {
+        private final StampedLock lock = new StampedLock();
+
+        StampedLockStrategy(SharedState state) {
+            super(state);
+        }
+
+        @Override
+        long read(int key) {
+            long stamp = lock.tryOptimisticRead();
+            long value = state.read(key);
+            if (!lock.validate(stamp)) {
+                // A writer got in; fall back to a pessimistic read
+                stamp = lock.readLock();
+                try {
+                    value = state.read(key);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        @Override
+        void write(int key) {
+            long stamp = lock.writeLock();
+            try {
+                state.write(key);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    // Lock-free counter: volatile read and a compare-and-set retry loop
+    static class VarHandleCasStrategy extends LockStrategy {
+        private static final VarHandle COUNTER;
+
+        static {
+            try {
+                COUNTER = MethodHandles.lookup().findVarHandle(SharedState.class, "counter", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        VarHandleCasStrategy(SharedState state) {
+            super(state);
+        }
+
+        @Override
+        long read(int key) {
+            return (long) COUNTER.getVolatile(state);
+        }
+
+        @Override
+        void write(int key) {
+            long current;
+            do {
+                current = (long) COUNTER.getVolatile(state);
+            } while (!COUNTER.compareAndSet(state, current, current + 1));
+        }
+    }
+
+    // Lock-free map reference point for the CAS row
+    static class ConcurrentHashMapStrategy extends LockStrategy {
+        private final Map<Integer, Integer> map = new ConcurrentHashMap<>(state.map);
+
+        ConcurrentHashMapStrategy(SharedState state) {
+            super(state);
+        }
+
+        @Override
+        long read(int key) {
+            return map.get(key);
+        }
+
+        @Override
+        void write(int key) {
+            map.put(key, key + 1);
+        }
+    }
+
+    private static class ContentionResult {
+        String strategy;
+        String stateName;
+        int threads;
+        int readPercent;
+        double opsPerSecond;
+        long minOps;
+        long maxOps;
+        double coefficientOfVariation;
+
+        ContentionResult(String strategy, String stateName, int threads, int readPercent) {
+            this.strategy = strategy;
+            this.stateName = stateName;
+            this.threads = threads;
+            this.readPercent = readPercent;
+        }
+    }
+
+    private final List<ContentionResult> results = new ArrayList<>();
+    private volatile boolean running;
+
+    public void runContentionBenchmark(String name, LockStrategy strategy, int threads, int readPercent,
+                                       long durationMs) throws InterruptedException {
+        long[] opsPerThread = new long[threads];
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        running = true;
+        for (int t = 0; t < threads; t++) {
+            int threadIndex = t;
+            Thread worker = new Thread(() -> {
+                int seed = 0x9E3779B9 * (threadIndex + 1);
+                long ops = 0;
+                long sink = 0;
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (running) {
+                    // xorshift keeps the key/ratio choice thread-local and allocation-free
+                    seed ^= seed << 13;
+                    seed ^= seed >>> 17;
+                    seed ^= seed << 5;
+                    int key = (seed >>> 8) & (KEY_SPACE - 1);
+                    if (Math.floorMod(seed, 100) < readPercent) {
+                        sink += strategy.read(key);
+                    } else {
+                        strategy.write(key);
+                    }
+                    ops++;
+                }
+                opsPerThread[threadIndex] = ops + (sink == 42 ? 1 : 0);
+            }, "contender-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long startTime = System.nanoTime();
+        startGate.countDown();
+        Thread.sleep(durationMs);
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedNs = System.nanoTime() - startTime;
+
+        ContentionResult result = new ContentionResult(name, strategy.state.mapMode ? "map" : "counter",
+                threads, readPercent);
+        long total = 0;
+        result.minOps = Long.MAX_VALUE;
+        for (long ops : opsPerThread) {
+            total += ops;
+            result.minOps = Math.min(result.minOps, ops);
+            result.maxOps = Math.max(result.maxOps, ops);
+        }
+        double mean = (double) total / threads;
+        double variance = 0;
+        for (long ops : opsPerThread) {
+            variance += (ops - mean) * (ops - mean);
+        }
+        result.coefficientOfVariation = mean == 0 ? 0 : Math.sqrt(variance / threads) / mean * 100;
+        result.opsPerSecond = total * 1_000_000_000.0 / elapsedNs;
+        results.add(result);
+    }
+
+    private void printResults() {
+        System.out.println("\n=== Lock Contention Benchmark Results ===");
+        System.out.println("+------------------------+---------+---------+-------+----------------+------------+------------+");
+        System.out.println("| Strategy               | State   | Threads | Read% | Ops/sec        | Min/Max    | CoV (%)    |");
+        System.out.println("+------------------------+---------+---------+-------+----------------+------------+------------+");
+
+        for (ContentionResult result : results) {
+            System.out.printf("| %-22s | %-7s | %,7d | %5d | %,14.0f | %10.3f | %10.2f |\n",
+                    result.strategy, result.stateName, result.threads, result.readPercent, result.opsPerSecond,
+                    result.maxOps == 0 ? 0 : (double) result.minOps / result.maxOps, result.coefficientOfVariation);
+        }
+
+        System.out.println("+------------------------+---------+---------+-------+----------------+------------+------------+");
+        System.out.println("Min/Max: slowest thread's ops divided by fastest thread's (1.0 = perfectly fair)");
+        System.out.println("CoV: standard deviation of per-thread ops as % of the mean (0 = perfectly fair)");
+    }
+
+    // Usage: LockContentionBenchmark [durationMs] [maxThreads]
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Starting Lock Contention Benchmark...");
+        long durationMs = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+        List<String> names = new ArrayList<>();
+        List<StrategyFactory> factories = new ArrayList<>();
+        names.add("synchronized");
+        factories.add(mapMode -> new SynchronizedStrategy(new SharedState(mapMode)));
+        names.add("ReentrantLock (unfair)");
+        factories.add(mapMode -> new ReentrantLockStrategy(new SharedState(mapMode), false));
+        names.add("ReentrantLock (fair)");
+        factories.add(mapMode -> new ReentrantLockStrategy(new SharedState(mapMode), true));
+        names.add("ReadWriteLock");
+        factories.add(mapMode -> new ReadWriteLockStrategy(new SharedState(mapMode)));
+        names.add("StampedLock optimistic");
+        factories.add(mapMode -> new StampedLockStrategy(new SharedState(mapMode)));
+        names.add("VarHandle CAS");
+        factories.add(mapMode -> mapMode ? null : new VarHandleCasStrategy(new SharedState(false)));
+        names.add("ConcurrentHashMap");
+        factories.add(mapMode -> mapMode ? new ConcurrentHashMapStrategy(new SharedState(true)) : null);
+
+        LockContentionBenchmark benchmark = new LockContentionBenchmark();
+        // Warm-up pass so every strategy is compiled before it is measured
+        for (int i = 0; i < factories.size(); i++) {
+            for (boolean mapMode : new boolean[] {false, true}) {
+                LockStrategy strategy = factories.get(i).create(mapMode);
+                if (strategy != null) {
+                    benchmark.runContentionBenchmark(names.get(i), strategy, 2, 50, 100);
+                }
+            }
+        }
+        benchmark.results.clear();
+
+        for (boolean mapMode : new boolean[] {false, true}) {
+            for (int readPercent : READ_PERCENTS) {
+                for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                    for (int i = 0; i < factories.size(); i++) {
+                        LockStrategy strategy = factories.get(i).create(mapMode);
+                        if (strategy != null) {
+                            benchmark.runContentionBenchmark(names.get(i), strategy, threads, readPercent, durationMs);
+                        }
+                    }
+                }
+            }
+        }
+        benchmark.printResults();
+    }
+}
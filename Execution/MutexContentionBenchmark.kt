@@ -0,0 +1,201 @@
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.coroutines.CoroutineContext
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.yield
+
+/**
+ * Coroutine lock contention benchmark.
+ * Same shared counter/map workload, read/write ratios and fairness report as
+ * LockContentionBenchmark.java, but the contenders are coroutines and the
+ * guards are kotlinx.coroutines Mutex, synchronized and lock-free atomics.
+ */
+class MutexContentionBenchmark {
+    /** Pre-populated map whose writes only replace values, as in the Java benchmark */
+    class SharedState(val mapMode: Boolean) {
+        val map = HashMap<Int, Int>().apply { for (i in 0 until KEY_SPACE) put(i, i) }
+        var counter = 0L
+
+        fun read(key: Int): Long = if (mapMode) map.getValue(key).toLong() else counter
+
+        fun write(key: Int) {
+            if (mapMode) map[key] = key + 1 else counter++
+        }
+    }
+
+    interface CoroutineLockStrategy {
+        val state: SharedState
+        suspend fun read(key: Int): Long
+        suspend fun write(key: Int)
+    }
+
+    class MutexStrategy(override val state: SharedState) : CoroutineLockStrategy {
+        private val mutex = Mutex()
+        override suspend fun read(key: Int): Long = mutex.withLock { state.read(key) }
+        override suspend fun write(key: Int) = mutex.withLock { state.write(key) }
+    }
+
+    /** Blocks the carrier thread while contended, unlike Mutex which suspends */
+    class SynchronizedStrategy(override val state: SharedState) : CoroutineLockStrategy {
+        private val lock = Any()
+        override suspend fun read(key: Int): Long = synchronized(lock) { state.read(key) }
+        override suspend fun write(key: Int) = synchronized(lock) { state.write(key) }
+    }
+
+    /** Lock-free reference point: AtomicLong for the counter, ConcurrentHashMap for the map */
+    class AtomicStrategy(override val state: SharedState) : CoroutineLockStrategy {
+        private val counter = AtomicLong()
+        private val map = ConcurrentHashMap(state.map)
+        override suspend fun read(key: Int): Long = if (state.mapMode) map.getValue(key).toLong() else counter.get()
+        override suspend fun write(key: Int) {
+            if (state.mapMode) map[key] = key + 1 else counter.incrementAndGet()
+        }
+    }
+
+    private data class ContentionResult(
+        val strategy: String,
+        val context: String,
+        val stateName: String,
+        val coroutines: Int,
+        val readPercent: Int,
+        val opsPerSecond: Double,
+        val minMaxRatio: Double,
+        val coefficientOfVariation: Double
+    )
+
+    private val results = mutableListOf<ContentionResult>()
+
+    @Volatile
+    private var running = false
+
+    fun runContentionBenchmark(
+        name: String,
+        strategy: CoroutineLockStrategy,
+        contextName: String,
+        context: CoroutineContext,
+        coroutines: Int,
+        readPercent: Int,
+        durationMs: Long
+    ): Unit = runBlocking {
+        val opsPerCoroutine = LongArray(coroutines)
+        running = true
+        val startTime = System.nanoTime()
+        val jobs = List(coroutines) { index ->
+            launch(context) {
+                var seed = -0x61c88647 * (index + 1)
+                var ops = 0L
+                var sink = 0L
+                while (running) {
+                    // xorshift keeps the key/ratio choice local and allocation-free
+                    seed = seed xor (seed shl 13)
+                    seed = seed xor (seed ushr 17)
+                    seed = seed xor (seed shl 5)
+                    val key = (seed ushr 8) and (KEY_SPACE - 1)
+                    if (Math.floorMod(seed, 100) < readPercent) {
+                        sink += strategy.read(key)
+                    } else {
+                        strategy.write(key)
+                    }
+                    ops++
+                    // Give other coroutines on the same dispatcher a turn
+                    if ((ops and YIELD_MASK) == 0L) yield()
+                }
+                opsPerCoroutine[index] = ops + if (sink == 42L) 1 else 0
+            }
+        }
+        delay(durationMs)
+        running = false
+        jobs.joinAll()
+        val elapsedNs = System.nanoTime() - startTime
+
+        val total = opsPerCoroutine.sum()
+        val mean = total.toDouble() / coroutines
+        val variance = opsPerCoroutine.sumOf { (it - mean) * (it - mean) } / coroutines
+        val max = opsPerCoroutine.maxOrNull() ?: 0L
+        val min = opsPerCoroutine.minOrNull() ?: 0L
+        results.add(ContentionResult(
+            name, contextName, if (strategy.state.mapMode) "map" else "counter", coroutines, readPercent,
+            total * 1_000_000_000.0 / elapsedNs,
+            if (max == 0L) 0.0 else min.toDouble() / max,
+            if (mean == 0.0) 0.0 else Math.sqrt(variance) / mean * 100
+        ))
+    }
+
+    fun clearResults() = results.clear()
+
+    fun printResults() {
+        println("\n=== Coroutine Lock Contention Benchmark Results ===")
+        println("+------------------------+---------------+---------+------------+-------+----------------+------------+------------+")
+        println("| Strategy               | Dispatcher    | State   | Coroutines | Read% | Ops/sec        | Min/Max    | CoV (%)    |")
+        println("+------------------------+---------------+---------+------------+-------+----------------+------------+------------+")
+
+        for (result in results) {
+            println("| %-22s | %-13s | %-7s | %,10d | %5d | %,14.0f | %10.3f | %10.2f |".format(
+                result.strategy, result.context, result.stateName, result.coroutines, result.readPercent,
+                result.opsPerSecond, result.minMaxRatio, result.coefficientOfVariation))
+        }
+
+        println("+------------------------+---------------+---------+------------+-------+----------------+------------+------------+")
+        println("Min/Max: slowest coroutine's ops divided by fastest coroutine's (1.0 = perfectly fair)")
+        println("CoV: standard deviation of per-coroutine ops as % of the mean (0 = perfectly fair)")
+    }
+
+    companion object {
+        const val KEY_SPACE = 1024
+        const val YIELD_MASK = 255L
+        val READ_PERCENTS = intArrayOf(0, 50, 90, 99)
+    }
+}
+
+// Usage: MutexContentionBenchmarkKt [durationMs] [maxCoroutines]
+fun main(args: Array<String>) {
+    println("Starting Coroutine Lock Contention Benchmark...")
+    val durationMs = args.getOrNull(0)?.toLong() ?: 500L
+    val maxCoroutines = args.getOrNull(1)?.toInt() ?: maxOf(4, Runtime.getRuntime().availableProcessors() * 2)
+
+    val singleThread = Executors.newSingleThreadExecutor().asCoroutineDispatcher()
+    val contexts = listOf<Pair<String, CoroutineContext>>(
+        "Default" to Dispatchers.Default,
+        "Single thread" to singleThread
+    )
+    val strategies = listOf<Pair<String, (MutexContentionBenchmark.SharedState) -> MutexContentionBenchmark.CoroutineLockStrategy>>(
+        "Mutex.withLock" to MutexContentionBenchmark::MutexStrategy,
+        "synchronized" to MutexContentionBenchmark::SynchronizedStrategy,
+        "Atomic / CHM" to MutexContentionBenchmark::AtomicStrategy
+    )
+
+    val benchmark = MutexContentionBenchmark()
+    // Warm-up pass so every strategy is compiled before it is measured
+    for ((name, create) in strategies) {
+        for (mapMode in listOf(false, true)) {
+            benchmark.runContentionBenchmark(name, create(MutexContentionBenchmark.SharedState(mapMode)),
+                "Default", Dispatchers.Default, 2, 50, 100)
+        }
+    }
+    benchmark.clearResults()
+
+    for ((contextName, context) in contexts) {
+        for (mapMode in listOf(false, true)) {
+            for (readPercent in MutexContentionBenchmark.READ_PERCENTS) {
+                var coroutines = 1
+                while (coroutines <= maxCoroutines) {
+                    for ((name, create) in strategies) {
+                        benchmark.runContentionBenchmark(name, create(MutexContentionBenchmark.SharedState(mapMode)),
+                            contextName, context, coroutines, readPercent, durationMs)
+                    }
+                    coroutines *= 2
+                }
+            }
+        }
+    }
+    singleThread.close()
+    benchmark.printResults()
+}
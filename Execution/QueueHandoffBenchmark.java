@@ -0,0 +1,289 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Producer-consumer handoff benchmark.
+ * Measures messages/sec and handoff latency (enqueue to dequeue) for
+ * ArrayBlockingQueue, LinkedTransferQueue and a lock-free SPSC ring buffer
+ * across 1:1, N:1 and N:M producer:consumer topologies.
+ * The Kotlin Channel counterpart lives in ChannelHandoffBenchmark.kt.
+ */
+public class QueueHandoffBenchmark {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int SPIN_LIMIT = 100;
+    private static final Object POISON = new Object();
+
+    // One producer-consumer pipe under test
+    interface MessagePipe {
+        void send(int producer, Object message) throws InterruptedException;
+
+        Object receive(int consumer) throws InterruptedException;
+    }
+
+    interface PipeFactory {
+        // Returns null when the pipe cannot serve the topology
+        MessagePipe create(int producers, int consumers);
+    }
+
+    private static class QueuePipe implements MessagePipe {
+        private final BlockingQueue<Object> queue;
+
+        QueuePipe(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void send(int producer, Object message) throws InterruptedException {
+            queue.put(message);
+        }
+
+        @Override
+        public Object receive(int consumer) throws InterruptedException {
+            return queue.take();
+        }
+    }
+
+    /**
+     * Lamport-style single-producer/single-consumer ring buffer.
+     * Head and tail are published with lazySet (release store) and each side
+     * caches the other's index to avoid reading the shared cache line per message.
+     */
+    public static class SpscRingBuffer<E> {
+        private final Object[] buffer;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong(); // Next slot to read, owned by the consumer
+        private final AtomicLong tail = new AtomicLong(); // Next slot to write, owned by the producer
+        private long cachedHead;
+        private long cachedTail;
+
+        public SpscRingBuffer(int capacity) {
+            int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+            buffer = new Object[size];
+            mask = size - 1;
+        }
+
+        public boolean offer(E element) {
+            long currentTail = tail.get();
+            if (currentTail - cachedHead >= buffer.length) {
+                cachedHead = head.get();
+                if (currentTail - cachedHead >= buffer.length) {
+                    return false;
+                }
+            }
+            buffer[(int) (currentTail & mask)] = element;
+            tail.lazySet(currentTail + 1);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E poll() {
+            long currentHead = head.get();
+            if (currentHead >= cachedTail) {
+                cachedTail = tail.get();
+                if (currentHead >= cachedTail) {
+                    return null;
+                }
+            }
+            int index = (int) (currentHead & mask);
+            E element = (E) buffer[index];
+            buffer[index] = null;
+            head.lazySet(currentHead + 1);
+            return element;
+        }
+    }
+
+    // One ring per producer; the single consumer polls them round-robin
+    private static class RingPipe implements MessagePipe {
+        private final List<SpscRingBuffer<Object>> rings = new ArrayList<>();
+        private int nextRing;
+
+        RingPipe(int producers) {
+            for (int i = 0; i < producers; i++) {
+                rings.add(new SpscRingBuffer<>(QUEUE_CAPACITY));
+            }
+        }
+
+        @Override
+        public void send(int producer, Object message) {
+            SpscRingBuffer<Object> ring = rings.get(producer);
+            int spins = 0;
+            while (!ring.offer(message)) {
+                backOff(++spins);
+            }
+        }
+
+        @Override
+        public Object receive(int consumer) {
+            int spins = 0;
+            while (true) {
+                for (int i = 0; i < rings.size(); i++) {
+                    Object message = rings.get(nextRing).poll();
+                    nextRing = (nextRing + 1) % rings.size();
+                    if (message != null) {
+                        return message;
+                    }
+                }
+                backOff(++spins);
+            }
+        }
+
+        // Spin briefly, then yield so an oversubscribed machine still makes progress
+        private static void backOff(int spins) {
+            if (spins < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private static class HandoffResult {
+        String pipe;
+        String topology;
+        long messages;
+        double elapsedMs;
+        LatencyHistogram latency;
+
+        HandoffResult(String pipe, String topology, long messages, double elapsedMs, LatencyHistogram latency) {
+            this.pipe = pipe;
+            this.topology = topology;
+            this.messages = messages;
+            this.elapsedMs = elapsedMs;
+            this.latency = latency;
+        }
+    }
+
+    private final List<HandoffResult> results = new ArrayList<>();
+
+    public void runHandoffBenchmark(String name, PipeFactory factory, int producers, int consumers,
+                                    long totalMessages) throws InterruptedException {
+        String topology = producers + ":" + consumers;
+        MessagePipe pipe = factory.create(producers, consumers);
+        if (pipe == null) {
+            results.add(new HandoffResult(name, topology, 0, 0, null));
+            return;
+        }
+        long perProducer = totalMessages / producers;
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch consumersDone = new CountDownLatch(consumers);
+        LatencyHistogram[] histograms = new LatencyHistogram[consumers];
+
+        List<Thread> producerThreads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producerId = p;
+            Thread producer = new Thread(() -> {
+                try {
+                    startGate.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        pipe.send(producerId, System.nanoTime()); // Boxed send timestamp is the message
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "producer-" + p);
+            producerThreads.add(producer);
+            producer.start();
+        }
+        for (int c = 0; c < consumers; c++) {
+            int consumerId = c;
+            LatencyHistogram histogram = new LatencyHistogram();
+            histograms[c] = histogram;
+            Thread consumer = new Thread(() -> {
+                try {
+                    while (true) {
+                        Object message = pipe.receive(consumerId);
+                        if (message == POISON) {
+                            break;
+                        }
+                        histogram.record(System.nanoTime() - (Long) message);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    consumersDone.countDown();
+                }
+            }, "consumer-" + c);
+            consumer.start();
+        }
+
+        long startTime = System.nanoTime();
+        startGate.countDown();
+        for (Thread producer : producerThreads) {
+            producer.join();
+        }
+        // Producers are finished, so this thread may act as producer 0 for the shutdown signal
+        for (int c = 0; c < consumers; c++) {
+            pipe.send(0, POISON);
+        }
+        consumersDone.await();
+        long endTime = System.nanoTime();
+
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram histogram : histograms) {
+            merged.merge(histogram);
+        }
+        results.add(new HandoffResult(name, topology, perProducer * producers,
+                (endTime - startTime) / 1_000_000.0, merged));
+    }
+
+    private void printResults() {
+        System.out.println("\n=== Queue Handoff Benchmark Results ===");
+        System.out.println("+------------------------+----------+-----------------+---------------+---------------+");
+        System.out.println("| Pipe                   | Topology | Messages/sec    | p50 (us)      | p99 (us)      |");
+        System.out.println("+------------------------+----------+-----------------+---------------+---------------+");
+
+        for (HandoffResult result : results) {
+            if (result.latency == null) {
+                System.out.printf("| %-22s | %-8s | %15s | %13s | %13s |\n",
+                        result.pipe, result.topology, "n/a", "n/a", "n/a");
+                continue;
+            }
+            System.out.printf("| %-22s | %-8s | %,15.0f | %,13.2f | %,13.2f |\n",
+                    result.pipe, result.topology, result.messages * 1000.0 / result.elapsedMs,
+                    result.latency.getPercentile(50) / 1000.0, result.latency.getPercentile(99) / 1000.0);
+        }
+
+        System.out.println("+------------------------+----------+-----------------+---------------+---------------+");
+    }
+
+    // Main method to run the benchmark
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Starting Queue Handoff Benchmark...");
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int numIterations = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        long totalMessages = (long) numTasks * numIterations;
+        int fanIn = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+        PipeFactory arrayBlockingQueue = (producers, consumers) ->
+                new QueuePipe(new ArrayBlockingQueue<>(QUEUE_CAPACITY));
+        PipeFactory linkedTransferQueue = (producers, consumers) ->
+                new QueuePipe(new LinkedTransferQueue<>());
+        PipeFactory spscRing = (producers, consumers) ->
+                consumers == 1 ? new RingPipe(producers) : null;
+
+        int[][] topologies = {{1, 1}, {fanIn, 1}, {fanIn, fanIn}};
+        String[] names = {"ArrayBlockingQueue", "LinkedTransferQueue", "SPSC ring buffer"};
+        PipeFactory[] factories = {arrayBlockingQueue, linkedTransferQueue, spscRing};
+
+        QueueHandoffBenchmark benchmark = new QueueHandoffBenchmark();
+        // Warm-up pass so every pipe is compiled before it is measured
+        for (int i = 0; i < factories.length; i++) {
+            benchmark.runHandoffBenchmark(names[i], factories[i], 1, 1, Math.min(totalMessages, 100_000));
+        }
+        benchmark.results.clear();
+
+        for (int[] topology : topologies) {
+            for (int i = 0; i < factories.length; i++) {
+                benchmark.runHandoffBenchmark(names[i], factories[i], topology[0], topology[1], totalMessages);
+            }
+        }
+        System.out.printf("Messages per run: %,d (numTasks=%d x numIterations=%d)%n",
+                totalMessages, numTasks, numIterations);
+        benchmark.printResults();
+    }
+}
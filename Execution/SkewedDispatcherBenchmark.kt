@@ -0,0 +1,89 @@
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import java.util.concurrent.Executors
+
+/**
+ * Kotlin counterpart of SkewedWorkloadBenchmark.java.
+ * Runs the same skewed task sizes as one coroutine per task on Dispatchers.Default
+ * (work-stealing CoroutineScheduler) and on a fixed pool wrapped as a dispatcher,
+ * reusing SkewedWorkloadBenchmark.RunStats for makespan, completion times and utilization.
+ */
+class SkewedDispatcherBenchmark(private val workers: Int) {
+    private data class SkewResult(
+        val scheduler: String,
+        val distribution: String,
+        val makespanMs: Double,
+        val completion: LatencyHistogram,
+        val utilization: DoubleArray
+    )
+
+    private val results = mutableListOf<SkewResult>()
+
+    fun runDispatcherBenchmark(name: String, dispatcher: CoroutineDispatcher, sizes: IntArray, distribution: String): Unit = runBlocking {
+        val stats = SkewedWorkloadBenchmark.RunStats(sizes.size)
+        sizes.indices.map { index ->
+            launch(dispatcher) { stats.runTask(index, sizes[index]) }
+        }.joinAll()
+        stats.finish()
+        results.add(SkewResult(name, distribution, stats.makespanMs, stats.completionHistogram,
+            stats.getUtilization(workers)))
+    }
+
+    fun clearResults() = results.clear()
+
+    fun printResults() {
+        println("\n=== Skewed Workload Dispatcher Results ===")
+        println("+----------------------------+----------+--------------+------------+------------+------------+-----------------------+")
+        println("| Scheduler                  | Skew     | Makespan(ms) | p50 (ms)   | p99 (ms)   | Max (ms)   | Util min / avg / max  |")
+        println("+----------------------------+----------+--------------+------------+------------+------------+-----------------------+")
+
+        for (result in results) {
+            val h = result.completion
+            println("| %-26s | %-8s | %,12.1f | %,10.1f | %,10.1f | %,10.1f | %4.0f%% / %4.0f%% / %4.0f%% |".format(
+                result.scheduler, result.distribution, result.makespanMs,
+                h.getPercentile(50.0) / 1_000_000.0, h.getPercentile(99.0) / 1_000_000.0, h.max / 1_000_000.0,
+                (result.utilization.minOrNull() ?: 0.0) * 100, result.utilization.average() * 100,
+                (result.utilization.maxOrNull() ?: 0.0) * 100))
+        }
+
+        println("+----------------------------+----------+--------------+------------+------------+------------+-----------------------+")
+        println("p50/p99/Max: time from run start until a task completed; Util: worker busy time / makespan")
+    }
+}
+
+// Usage: SkewedDispatcherBenchmarkKt [numTasks] [numIterations]
+fun main(args: Array<String>) {
+    println("Starting Skewed Workload Dispatcher Benchmark...")
+    val numTasks = args.getOrNull(0)?.toInt() ?: 1000
+    val numIterations = args.getOrNull(1)?.toInt() ?: 200_000 // Mean iterations per task
+    require(numTasks >= 1) { "numTasks must be at least 1, got $numTasks" }
+    val workers = Runtime.getRuntime().availableProcessors()
+    println("tasks=%,d, mean iterations=%,d, workers=%d".format(numTasks, numIterations, workers))
+
+    val pool = Executors.newFixedThreadPool(workers)
+    val dispatchers = listOf(
+        "Dispatchers.Default" to Dispatchers.Default,
+        "Fixed pool dispatcher" to pool.asCoroutineDispatcher()
+    )
+
+    val benchmark = SkewedDispatcherBenchmark(workers)
+    // Warm-up pass so busyWork and both dispatchers are compiled before they are measured
+    val warmup = SkewedWorkloadBenchmark.taskSizes(SkewedWorkloadBenchmark.Distribution.UNIFORM, 200, maxOf(1, numIterations / 10))
+    for ((name, dispatcher) in dispatchers) {
+        benchmark.runDispatcherBenchmark(name, dispatcher, warmup, "warmup")
+    }
+    benchmark.clearResults()
+
+    for (distribution in SkewedWorkloadBenchmark.Distribution.values()) {
+        val sizes = SkewedWorkloadBenchmark.taskSizes(distribution, numTasks, numIterations)
+        for ((name, dispatcher) in dispatchers) {
+            benchmark.runDispatcherBenchmark(name, dispatcher, sizes, distribution.label)
+        }
+    }
+    pool.shutdown()
+    benchmark.printResults()
+}
@@ -0,0 +1,312 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduler comparison for skewed task sizes.
+ * Unlike ThreadPoolBenchmark, where every task runs the same numIterations,
+ * task sizes here follow a uniform, bimodal or Zipfian distribution with the
+ * same mean. Compares a fixed pool with one shared queue, ForkJoinPool work
+ * stealing and per-core partitioned single-thread executors, reporting
+ * makespan, tail task completion time and per-worker utilization.
+ * The Dispatchers.Default counterpart lives in SkewedDispatcherBenchmark.kt.
+ */
+public class SkewedWorkloadBenchmark {
+    private static final long SEED = 42;
+
+    // Keeps results reachable so the JIT cannot drop the busy loops
+    private static volatile long sink;
+
+    public enum Distribution {
+        UNIFORM, BIMODAL, ZIPFIAN;
+
+        public String getLabel() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * Per-task iteration counts with mean numIterations, in submission order.
+     * Bimodal: 90% small tasks and 10% tasks 50x larger. Zipfian: weight 1/rank^1.1,
+     * shuffled so that the large tasks are not all submitted first.
+     */
+    public static int[] taskSizes(Distribution distribution, int numTasks, int numIterations) {
+        double[] weights = new double[numTasks];
+        Random random = new Random(SEED);
+        for (int i = 0; i < numTasks; i++) {
+            switch (distribution) {
+                case UNIFORM:
+                    weights[i] = 1;
+                    break;
+                case BIMODAL:
+                    weights[i] = random.nextDouble() < 0.1 ? 50 : 1;
+                    break;
+                case ZIPFIAN:
+                    weights[i] = 1.0 / Math.pow(i + 1, 1.1);
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled distribution: " + distribution);
+            }
+        }
+        if (distribution == Distribution.ZIPFIAN) {
+            for (int i = numTasks - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                double tmp = weights[i];
+                weights[i] = weights[j];
+                weights[j] = tmp;
+            }
+        }
+        double mean = Arrays.stream(weights).average().orElse(1);
+        int[] sizes = new int[numTasks];
+        for (int i = 0; i < numTasks; i++) {
+            sizes[i] = (int) Math.max(1, Math.round(weights[i] / mean * numIterations));
+        }
+        return sizes;
+    }
+
+    // Pure CPU work, proportional to iterations
+    public static long busyWork(int iterations) {
+        long x = iterations;
+        for (int i = 0; i < iterations; i++) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+        }
+        return x;
+    }
+
+    /**
+     * Per-task completion times and per-worker busy time for one run.
+     * Shared with SkewedDispatcherBenchmark.kt so both report the same metrics.
+     */
+    public static class RunStats {
+        private final long startNanos = System.nanoTime();
+        private final long[] completionNanos; // Each slot is written by exactly one task
+        private final Map<String, AtomicLong> busyNanosByWorker = new ConcurrentHashMap<>();
+        private long makespanNanos;
+
+        public RunStats(int numTasks) {
+            completionNanos = new long[numTasks];
+        }
+
+        public void runTask(int index, int iterations) {
+            long taskStart = System.nanoTime();
+            sink = busyWork(iterations);
+            long taskEnd = System.nanoTime();
+            completionNanos[index] = taskEnd - startNanos;
+            busyNanosByWorker.computeIfAbsent(Thread.currentThread().getName(), name -> new AtomicLong())
+                    .addAndGet(taskEnd - taskStart);
+        }
+
+        // Call once every task has completed
+        public void finish() {
+            makespanNanos = System.nanoTime() - startNanos;
+        }
+
+        public double getMakespanMs() {
+            return makespanNanos / 1_000_000.0;
+        }
+
+        // Time from run start until each task completed
+        public LatencyHistogram getCompletionHistogram() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long nanos : completionNanos) {
+                histogram.record(nanos);
+            }
+            return histogram;
+        }
+
+        // Busy fraction of the makespan per worker; workers that never ran a task count as 0
+        public double[] getUtilization(int workers) {
+            double[] utilization = new double[Math.max(workers, busyNanosByWorker.size())];
+            int i = 0;
+            for (AtomicLong busy : busyNanosByWorker.values()) {
+                utilization[i++] = (double) busy.get() / makespanNanos;
+            }
+            return utilization;
+        }
+    }
+
+    private static class SkewResult {
+        String scheduler;
+        String distribution;
+        double makespanMs;
+        LatencyHistogram completion;
+        double[] utilization;
+
+        SkewResult(String scheduler, String distribution, double makespanMs, LatencyHistogram completion,
+                   double[] utilization) {
+            this.scheduler = scheduler;
+            this.distribution = distribution;
+            this.makespanMs = makespanMs;
+            this.completion = completion;
+            this.utilization = utilization;
+        }
+    }
+
+    private final List<SkewResult> results = new ArrayList<>();
+    private final int workers;
+
+    public SkewedWorkloadBenchmark(int workers) {
+        this.workers = workers;
+    }
+
+    private void addResult(String scheduler, String distribution, RunStats stats) {
+        stats.finish();
+        results.add(new SkewResult(scheduler, distribution, stats.getMakespanMs(),
+                stats.getCompletionHistogram(), stats.getUtilization(workers)));
+    }
+
+    // One shared queue feeding every worker
+    public void runSharedQueue(int[] sizes, String distribution) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        RunStats stats = new RunStats(sizes.length);
+        CountDownLatch latch = new CountDownLatch(sizes.length);
+        for (int i = 0; i < sizes.length; i++) {
+            int index = i;
+            executor.execute(() -> {
+                stats.runTask(index, sizes[index]);
+                latch.countDown();
+            });
+        }
+        latch.await();
+        addResult("Fixed pool (shared queue)", distribution, stats);
+        shutdown(executor);
+    }
+
+    // External submissions; idle workers steal from the submission queues
+    public void runForkJoinSubmit(int[] sizes, String distribution) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        RunStats stats = new RunStats(sizes.length);
+        CountDownLatch latch = new CountDownLatch(sizes.length);
+        for (int i = 0; i < sizes.length; i++) {
+            int index = i;
+            pool.execute(() -> {
+                stats.runTask(index, sizes[index]);
+                latch.countDown();
+            });
+        }
+        latch.await();
+        addResult("ForkJoinPool (submit)", distribution, stats);
+        shutdown(pool);
+    }
+
+    // Recursive halving: each worker owns a deque of ranges and idle workers steal the other halves
+    public void runForkJoinSplit(int[] sizes, String distribution) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        RunStats stats = new RunStats(sizes.length);
+        pool.invoke(new RangeTask(stats, sizes, 0, sizes.length));
+        addResult("ForkJoinPool (split)", distribution, stats);
+        shutdown(pool);
+    }
+
+    @SuppressWarnings("serial")
+    private static class RangeTask extends RecursiveAction {
+        private final RunStats stats;
+        private final int[] sizes;
+        private final int from;
+        private final int to;
+
+        RangeTask(RunStats stats, int[] sizes, int from, int to) {
+            this.stats = stats;
+            this.sizes = sizes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                stats.runTask(from, sizes[from]);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(stats, sizes, from, middle), new RangeTask(stats, sizes, middle, to));
+        }
+    }
+
+    // Static partitioning: task i always goes to worker i % workers, so nothing rebalances
+    public void runPartitioned(int[] sizes, String distribution) throws InterruptedException {
+        List<ExecutorService> executors = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            executors.add(Executors.newSingleThreadExecutor());
+        }
+        RunStats stats = new RunStats(sizes.length);
+        CountDownLatch latch = new CountDownLatch(sizes.length);
+        for (int i = 0; i < sizes.length; i++) {
+            int index = i;
+            executors.get(i % workers).execute(() -> {
+                stats.runTask(index, sizes[index]);
+                latch.countDown();
+            });
+        }
+        latch.await();
+        addResult("Per-core partitioned", distribution, stats);
+        for (ExecutorService executor : executors) {
+            shutdown(executor);
+        }
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void printResults() {
+        System.out.println("\n=== Skewed Workload Scheduler Results ===");
+        System.out.println("+----------------------------+----------+--------------+------------+------------+------------+-----------------------+");
+        System.out.println("| Scheduler                  | Skew     | Makespan(ms) | p50 (ms)   | p99 (ms)   | Max (ms)   | Util min / avg / max  |");
+        System.out.println("+----------------------------+----------+--------------+------------+------------+------------+-----------------------+");
+
+        for (SkewResult result : results) {
+            LatencyHistogram h = result.completion;
+            System.out.printf("| %-26s | %-8s | %,12.1f | %,10.1f | %,10.1f | %,10.1f | %4.0f%% / %4.0f%% / %4.0f%% |\n",
+                    result.scheduler, result.distribution, result.makespanMs,
+                    h.getPercentile(50) / 1_000_000.0, h.getPercentile(99) / 1_000_000.0, h.getMax() / 1_000_000.0,
+                    Arrays.stream(result.utilization).min().orElse(0) * 100,
+                    Arrays.stream(result.utilization).average().orElse(0) * 100,
+                    Arrays.stream(result.utilization).max().orElse(0) * 100);
+        }
+
+        System.out.println("+----------------------------+----------+--------------+------------+------------+------------+-----------------------+");
+        System.out.println("p50/p99/Max: time from run start until a task completed; Util: worker busy time / makespan");
+    }
+
+    // Usage: SkewedWorkloadBenchmark [numTasks] [numIterations]
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Starting Skewed Workload Scheduler Benchmark...");
+        int numTasks = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int numIterations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000; // Mean iterations per task
+        if (numTasks < 1) {
+            throw new IllegalArgumentException("numTasks must be at least 1, got " + numTasks);
+        }
+        int workers = Runtime.getRuntime().availableProcessors();
+        System.out.printf("tasks=%,d, mean iterations=%,d, workers=%d%n", numTasks, numIterations, workers);
+
+        SkewedWorkloadBenchmark benchmark = new SkewedWorkloadBenchmark(workers);
+        // Warm-up pass so busyWork and every scheduler are compiled before they are measured
+        int[] warmup = taskSizes(Distribution.UNIFORM, 200, Math.max(1, numIterations / 10));
+        benchmark.runSharedQueue(warmup, "warmup");
+        benchmark.runForkJoinSubmit(warmup, "warmup");
+        benchmark.runForkJoinSplit(warmup, "warmup");
+        benchmark.runPartitioned(warmup, "warmup");
+        benchmark.results.clear();
+
+        for (Distribution distribution : Distribution.values()) {
+            int[] sizes = taskSizes(distribution, numTasks, numIterations);
+            benchmark.runSharedQueue(sizes, distribution.getLabel());
+            benchmark.runForkJoinSubmit(sizes, distribution.getLabel());
+            benchmark.runForkJoinSplit(sizes, distribution.getLabel());
+            benchmark.runPartitioned(sizes, distribution.getLabel());
+        }
+        benchmark.printResults();
+    }
+}
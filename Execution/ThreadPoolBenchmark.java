@@ -1,14 +1,27 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 public class ThreadPoolBenchmark {
     private final AtomicLong counter = new AtomicLong(0);
     
     public void runThreadPoolBenchmark(int numTasks, int numIterations) throws InterruptedException {
+        ContextSwitchCounters counters = new ContextSwitchCounters("tpb-worker-");
         ExecutorService executor = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
+            Runtime.getRuntime().availableProcessors(), counters.threadFactory()
         );
         
+        ContextSwitchCounters.Snapshot switchesBefore = counters.capture();
+        ContextSwitchCounters.PerfSession perf = ContextSwitchCounters.startPerf();
         long startTime = System.currentTimeMillis();
         CountDownLatch latch = new CountDownLatch(numTasks);
         
@@ -28,29 +41,276 @@ public class ThreadPoolBenchmark {
         latch.await();
         long endTime = System.currentTimeMillis();
         long totalTime = endTime - startTime;
+        if (perf != null) {
+            perf.stop();
+        }
+        // Workers must still be alive: /proc and ThreadMXBean forget exited threads
+        ContextSwitchCounters.Snapshot osSwitches = counters.capture().minus(switchesBefore);
+        long[] workerCpu = counters.workerCpuTimeNanos();
         
-        long totalSwitches = counter.get();
-        double switchesPerSecond = totalSwitches * 1000.0 / totalTime;
+        long totalYields = counter.get();
+        double yieldsPerSecond = totalYields * 1000.0 / totalTime;
         
         System.out.printf("""
             Thread Pool Benchmark Results:
             Total time: %d ms
-            Total context switches: %d
-            Switches per second: %.2f
-            CPU time per switch: %.6f ms
+            Thread.yield() calls: %d
+            Yield calls per second: %.2f
             """, 
-            totalTime, totalSwitches, switchesPerSecond,
-            (double) totalTime / totalSwitches
+            totalTime, totalYields, yieldsPerSecond
         );
+        printOsSwitchMetrics(osSwitches, workerCpu, totalTime, perf);
         
         executor.shutdown();
     }
 
+    // Switch metrics based on what the kernel actually did, not on yield() calls
+    private static void printOsSwitchMetrics(ContextSwitchCounters.Snapshot osSwitches, long[] workerCpu,
+                                             long totalTime, ContextSwitchCounters.PerfSession perf) {
+        long userNanos = workerCpu[0];
+        long systemNanos = workerCpu[1];
+        System.out.printf("Worker CPU time (user / system): %.1f ms / %.1f ms%n",
+                userNanos / 1_000_000.0, systemNanos / 1_000_000.0);
+        if (!ContextSwitchCounters.isSupported() || osSwitches.total() == 0) {
+            System.out.println("OS context switches: n/a (needs /proc/self/task, Linux only)");
+            return;
+        }
+        long switches = osSwitches.total();
+        System.out.printf("""
+            OS context switches (voluntary / involuntary): %d / %d
+            Switches per second: %.2f
+            CPU time per switch: %.6f ms
+            """,
+            osSwitches.voluntary, osSwitches.involuntary,
+            switches * 1000.0 / totalTime,
+            (userNanos + systemNanos) / 1_000_000.0 / switches
+        );
+        // Both perf counters cover the whole process over perf's own window, so only their ratio is meaningful
+        if (perf != null && perf.getCycles() > 0 && perf.getContextSwitches() > 0) {
+            System.out.printf("perf context-switches (whole process): %d%n", perf.getContextSwitches());
+            System.out.printf("CPU cycles per switch (perf, whole process): %.0f%n",
+                    (double) perf.getCycles() / perf.getContextSwitches());
+        } else if (ContextSwitchCounters.cpuMhz() > 0) {
+            double cycles = (userNanos + systemNanos) / 1000.0 * ContextSwitchCounters.cpuMhz();
+            System.out.printf("CPU cycles per switch (estimated from cpu MHz, perf unavailable): %.0f%n", cycles / switches);
+        }
+    }
+
+    // Blocking I/O workload: every task performs numIterations blocking calls
+    public void runBlockingWorkloadBenchmark(String executorName, ExecutorService executor,
+                                             BlockingWorkload workload, int numTasks, int numIterations)
+            throws InterruptedException {
+        forceGC();
+        long baselineHeap = getUsedHeap();
+        long baselineRss = getResidentSetSize();
+        MemorySampler sampler = new MemorySampler();
+        Recording recording = startPinningRecording();
+        sampler.start();
+
+        long startTime = System.currentTimeMillis();
+        CountDownLatch latch = new CountDownLatch(numTasks);
+        AtomicLong failures = new AtomicLong(0);
+        int submitted = 0;
+        try {
+            for (; submitted < numTasks; submitted++) {
+                executor.submit(() -> {
+                    try {
+                        workload.execute(numIterations);
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+        } catch (OutOfMemoryError e) {
+            // Thread-per-task platform pools hit the native thread limit long before 100k tasks
+            System.out.printf("%s: could only start %,d of %,d tasks (%s)%n",
+                    executorName, submitted, numTasks, e.getMessage());
+            for (int i = submitted; i < numTasks; i++) {
+                latch.countDown();
+            }
+        }
+
+        latch.await();
+        long endTime = System.currentTimeMillis();
+        sampler.stop();
+        long pinnedEvents = countPinnedEvents(recording);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        long totalTime = Math.max(1, endTime - startTime);
+        long completedCalls = (submitted - failures.get()) * (long) numIterations;
+        double heapPerTask = (double) Math.max(0, sampler.peakHeap - baselineHeap) / Math.max(1, submitted);
+        double rssPerTask = baselineRss < 0 ? -1
+                : (double) Math.max(0, sampler.peakRss - baselineRss) / Math.max(1, submitted);
+
+        System.out.printf("| %-22s | %-17s | %,10d | %,14.0f | %,13.0f | %13s | %,12d | %13s |\n",
+                executorName, workload.getType().getLabel(), totalTime,
+                completedCalls * 1000.0 / totalTime, heapPerTask,
+                rssPerTask < 0 ? "n/a" : String.format("%,.0f", rssPerTask),
+                sampler.peakThreads, pinnedEvents < 0 ? "n/a" : String.format("%,d", pinnedEvents));
+    }
+
+    // Tracks peak heap, RSS and live platform threads while the tasks are in flight
+    private static class MemorySampler implements Runnable {
+        private final Thread thread = new Thread(this, "memory-sampler");
+        private volatile boolean running = true;
+        private volatile long peakHeap;
+        private volatile long peakRss;
+        private volatile int peakThreads;
+
+        void start() {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                peakHeap = Math.max(peakHeap, getUsedHeap());
+                peakRss = Math.max(peakRss, getResidentSetSize());
+                peakThreads = Math.max(peakThreads, ManagementFactory.getThreadMXBean().getThreadCount());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static long getUsedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // VmRSS from /proc/self/status, or -1 when not on Linux
+    private static long getResidentSetSize() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Fall through
+        }
+        return -1;
+    }
+
+    private static void forceGC() {
+        System.gc();
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // jdk.VirtualThreadPinned exists from JDK 21; older JDKs simply record nothing
+    private static Recording startPinningRecording() {
+        try {
+            Recording recording = new Recording();
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+            return recording;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long countPinnedEvents(Recording recording) {
+        if (recording == null) {
+            return -1;
+        }
+        Path dump = null;
+        try {
+            recording.stop();
+            dump = Files.createTempFile("pinning", ".jfr");
+            recording.dump(dump);
+            long pinned = 0;
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            for (RecordedEvent event : events) {
+                if (event.getEventType().getName().equals("jdk.VirtualThreadPinned")) {
+                    pinned++;
+                }
+            }
+            return pinned;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        } finally {
+            recording.close();
+            if (dump != null) {
+                try {
+                    Files.deleteIfExists(dump);
+                } catch (IOException e) {
+                    // Temp file cleanup is best effort
+                }
+            }
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() via reflection so the benchmark still builds on JDK 17
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static void runBlockingWorkloads(String[] args) throws InterruptedException, IOException {
+        String mode = args[0];
+        int numTasks = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int numIterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long parkNanos = TimeUnit.MILLISECONDS.toNanos(1);
+        int ioPoolSize = Integer.getInteger("ioPoolSize", 200); // Typical servlet container default
+
+        System.out.printf("Blocking workload: %s, tasks=%,d, iterations=%,d, fixed pool size=%d%n",
+                mode, numTasks, numIterations, ioPoolSize);
+        System.out.println("+------------------------+-------------------+------------+----------------+---------------+---------------+--------------+---------------+");
+        System.out.println("| Executor               | Workload          | Time (ms)  | Calls/sec      | Heap/task (B) | RSS/task (B)  | Peak threads | Pinned events |");
+        System.out.println("+------------------------+-------------------+------------+----------------+---------------+---------------+--------------+---------------+");
+
+        BlockingWorkload.Type[] types = mode.equals("all")
+                ? BlockingWorkload.Type.values()
+                : new BlockingWorkload.Type[] {BlockingWorkload.Type.fromLabel(mode)};
+        ThreadPoolBenchmark benchmark = new ThreadPoolBenchmark();
+        for (BlockingWorkload.Type type : types) {
+            try (BlockingWorkload workload = new BlockingWorkload(type, parkNanos)) {
+                benchmark.runBlockingWorkloadBenchmark("Fixed platform pool", Executors.newFixedThreadPool(ioPoolSize),
+                        workload, numTasks, numIterations);
+                benchmark.runBlockingWorkloadBenchmark("Cached platform pool", Executors.newCachedThreadPool(),
+                        workload, numTasks, numIterations);
+                ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+                if (virtualExecutor != null) {
+                    benchmark.runBlockingWorkloadBenchmark("Virtual threads", virtualExecutor,
+                            workload, numTasks, numIterations);
+                } else {
+                    System.out.printf("| %-22s | %-17s | %10s | %14s | %13s | %13s | %12s | %13s |\n",
+                            "Virtual threads", type.getLabel(), "n/a", "needs JDK 21", "", "", "", "");
+                }
+            }
+        }
+        System.out.println("+------------------------+-------------------+------------+----------------+---------------+---------------+--------------+---------------+");
+    }
+
     // Main method to run the benchmark
-    public static void main(String[] args) throws InterruptedException {
+    // Usage: ThreadPoolBenchmark [cpu | park | park-synchronized | socket | file | all] [numTasks] [numIterations]
+    public static void main(String[] args) throws InterruptedException, IOException {
+        if (args.length > 0 && !args[0].equals("cpu")) {
+            System.out.println("Starting Thread Pool Blocking I/O Benchmark...");
+            runBlockingWorkloads(args);
+            return;
+        }
         System.out.println("Starting Thread Pool Benchmark...");
-        int numTasks = 1000;
-        int numIterations = 10000;
+        int numTasks = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int numIterations = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
         new ThreadPoolBenchmark().runThreadPoolBenchmark(numTasks, numIterations);
     }
 }
\ No newline at end of file
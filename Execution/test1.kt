@@ -6,10 +6,13 @@ class ThreadBenchmark {
     private val counter = AtomicLong(0)
     
     fun runBenchmark(numTasks: Int, numIterations: Int) {
+        val counters = ContextSwitchCounters("ktb-worker-")
         val executor = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
+            Runtime.getRuntime().availableProcessors(), counters.threadFactory()
         )
         
+        val switchesBefore = counters.capture()
+        val perf = ContextSwitchCounters.startPerf()
         val startTime = System.currentTimeMillis()
         val latch = CountDownLatch(numTasks)
         
@@ -29,25 +32,48 @@ class ThreadBenchmark {
         latch.await()
         val endTime = System.currentTimeMillis()
         val totalTime = endTime - startTime
+        perf?.stop()
         
-        val totalSwitches = counter.get()
-        val switchesPerSecond = totalSwitches * 1000.0 / totalTime
+        // Workers must still be alive: /proc and ThreadMXBean forget exited threads
+        val osSwitches = counters.capture().minus(switchesBefore)
+        val (userNanos, systemNanos) = counters.workerCpuTimeNanos().let { it[0] to it[1] }
+        val totalYields = counter.get()
+        val yieldsPerSecond = totalYields * 1000.0 / totalTime
         
         println("""
             Thread Pool Benchmark Results:
             Total time: $totalTime ms
-            Total context switches: $totalSwitches
-            Switches per second: $switchesPerSecond
-            CPU time per switch: ${totalTime.toDouble() / totalSwitches} ms
+            Thread.yield() calls: $totalYields
+            Yield calls per second: $yieldsPerSecond
+            Worker CPU time (user / system): ${userNanos / 1_000_000.0} ms / ${systemNanos / 1_000_000.0} ms
         """.trimIndent())
+        if (ContextSwitchCounters.isSupported() && osSwitches.total() > 0) {
+            val switches = osSwitches.total()
+            println("""
+                OS context switches (voluntary / involuntary): ${osSwitches.voluntary} / ${osSwitches.involuntary}
+                Switches per second: ${switches * 1000.0 / totalTime}
+                CPU time per switch: ${(userNanos + systemNanos) / 1_000_000.0 / switches} ms
+            """.trimIndent())
+            val cpuMhz = ContextSwitchCounters.cpuMhz()
+            // Both perf counters cover the whole process over perf's own window, so only their ratio is meaningful
+            if (perf != null && perf.cycles > 0 && perf.contextSwitches > 0) {
+                println("perf context-switches (whole process): ${perf.contextSwitches}")
+                println("CPU cycles per switch (perf, whole process): ${"%.0f".format(perf.cycles.toDouble() / perf.contextSwitches)}")
+            } else if (cpuMhz > 0) {
+                val cycles = (userNanos + systemNanos) / 1000.0 * cpuMhz
+                println("CPU cycles per switch (estimated from cpu MHz, perf unavailable): ${"%.0f".format(cycles / switches)}")
+            }
+        } else {
+            println("OS context switches: n/a (needs /proc/self/task, Linux only)")
+        }
         
         executor.shutdown()
     }
 }
 
-fun main() {
+fun main(args: Array<String>) {
     println("Starting Thread Pool Benchmark...")
-    val numTasks = 1000
-    val numIterations = 10000
+    val numTasks = args.getOrNull(0)?.toInt() ?: 1000
+    val numIterations = args.getOrNull(1)?.toInt() ?: 10000
     ThreadBenchmark().runBenchmark(numTasks, numIterations)
 }
\ No newline at end of file
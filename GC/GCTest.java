@@ -17,7 +17,8 @@ public class GCTest {
         
         long start = System.currentTimeMillis();
         long objectsCreated = 0;
-        long testDuration = 60_000; // One minute
+        SoakMonitor soak = SoakMonitor.start("GCTest", 60_000); // One minute unless -Dsoak.minutes is set
+        long testDuration = soak.getDurationMillis();
         int progressBarWidth = 50;
         
         // Run for one minute, creating many short-lived objects
@@ -51,10 +52,12 @@ public class GCTest {
                 }
                 objectsCreated += 100;
             }
+            soak.addOperations(100_000 * 100);
         }
         
         // Clear progress bar line and move to next line
         System.out.print("\r" + " ".repeat(progressBarWidth + 10) + "\r");
+        soak.close();
         
         // Record GC statistics at the end
         long totalGcCountAfter = 0;
@@ -67,14 +70,16 @@ public class GCTest {
         // Calculate GC count and time
         long gcCount = totalGcCountAfter - totalGcCountBefore;
         long gcTimeMs = totalGcTimeAfter - totalGcTimeBefore;
+        // Scaled to one minute, since soak.minutes and durationMs change the run length
+        double minutes = testDuration / 60_000.0;
         
         // Output the results in a table format
         System.out.println("+-------------------------+------------------------+");
         System.out.println("| Metric                  | Value                  |");
         System.out.println("+-------------------------+------------------------+");
         System.out.printf("| Objects Created         | %,22d |\n", objectsCreated);
-        System.out.printf("| GC Count (per minute)   | %,22d |\n", gcCount);
-        System.out.printf("| GC Time (ms per minute) | %,22d |\n", gcTimeMs);
+        System.out.printf("| GC Count (per minute)   | %,22.0f |\n", gcCount / minutes);
+        System.out.printf("| GC Time (ms per minute) | %,22.0f |\n", gcTimeMs / minutes);
         System.out.println("+-------------------------+------------------------+");
     }
 }
\ No newline at end of file
@@ -14,7 +14,8 @@ fun main() {
     
     val start = System.currentTimeMillis()
     var objectsCreated = 0L
-    val testDuration = 60_000L // One minute
+    val soak = SoakMonitor.start("GCTestKt", 60_000L) // One minute unless -Dsoak.minutes is set
+    val testDuration = soak.durationMillis
     val progressBarWidth = 50
     
     // Run for one minute, creating many short-lived objects
@@ -46,10 +47,12 @@ fun main() {
             }
             objectsCreated += 100
         }
+        soak.addOperations(100_000L * 100)
     }
     
     // Clear progress bar line and move to next line
     print("\r" + " ".repeat(progressBarWidth + 10) + "\r")
+    soak.close()
     
     // Record GC statistics at the end
     var totalGcCountAfter = 0L
@@ -62,13 +65,15 @@ fun main() {
     // Calculate GC count and time
     val gcCount = totalGcCountAfter - totalGcCountBefore
     val gcTimeMs = totalGcTimeAfter - totalGcTimeBefore
+    // Scaled to one minute, since soak.minutes and durationMs change the run length
+    val minutes = testDuration / 60_000.0
     
     // Output the results in a table format
     println("+-------------------------+------------------------+")
     println("| Metric                  | Value                  |")
     println("+-------------------------+------------------------+")
     println("| Objects Created         | ${String.format("%,22d", objectsCreated)} |")
-    println("| GC Count (per minute)   | ${String.format("%,22d", gcCount)} |")
-    println("| GC Time (ms per minute) | ${String.format("%,22d", gcTimeMs)} |")
+    println("| GC Count (per minute)   | ${String.format("%,22.0f", gcCount / minutes)} |")
+    println("| GC Time (ms per minute) | ${String.format("%,22.0f", gcTimeMs / minutes)} |")
     println("+-------------------------+------------------------+")
 }
\ No newline at end of file
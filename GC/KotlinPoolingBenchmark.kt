@@ -0,0 +1,113 @@
+import java.util.concurrent.Executors
+
+/**
+ * Kotlin Pooling Benchmark
+ * Buffer pools used through an inline `withBuffer {}` helper, and fresh data class
+ * instances vs reused mutable instances, measured with the PoolingBenchmark runner
+ */
+class KotlinPoolingBenchmark {
+    private val results = mutableListOf<PoolingBenchmark.PoolResult>()
+
+    data class Sample(val sequence: Long, val value: Double, val tag: Int)
+
+    class MutableSample {
+        var sequence = 0L
+        var value = 0.0
+        var tag = 0
+    }
+
+    // try/finally is inlined into every caller, so using a pool costs no lambda object
+    private inline fun <R> PoolingBenchmark.BufferPool.withBuffer(block: (ByteArray) -> R): R {
+        val buffer = acquire()
+        try {
+            return block(buffer)
+        } finally {
+            release(buffer)
+        }
+    }
+
+    private fun bufferOperation(pool: PoolingBenchmark.BufferPool) = PoolingBenchmark.Operation { sequence ->
+        pool.withBuffer { buffer ->
+            for (k in 0 until USED_BYTES step 8) {
+                buffer[k] = (sequence + k).toByte()
+            }
+            buffer[(sequence and (USED_BYTES - 8).toLong()).toInt()].toLong()
+        }
+    }
+
+    // Each sample is published to a small per-thread ring, so escape analysis cannot remove the allocation
+    private fun freshSampleOperation(): PoolingBenchmark.Operation {
+        val ring = arrayOfNulls<Sample>(RING_SIZE)
+        return PoolingBenchmark.Operation { sequence ->
+            val sample = Sample(sequence, sequence * 0.5, (sequence and 7).toInt())
+            ring[(sequence and RING_MASK).toInt()] = sample
+            val previous = ring[((sequence - 1) and RING_MASK).toInt()]
+            sample.sequence + (previous?.tag ?: 0)
+        }
+    }
+
+    private fun reusedSampleOperation(): PoolingBenchmark.Operation {
+        val ring = Array(RING_SIZE) { MutableSample() }
+        return PoolingBenchmark.Operation { sequence ->
+            val sample = ring[(sequence and RING_MASK).toInt()].apply {
+                this.sequence = sequence
+                value = sequence * 0.5
+                tag = (sequence and 7).toInt()
+            }
+            val previous = ring[((sequence - 1) and RING_MASK).toInt()]
+            sample.sequence + previous.tag
+        }
+    }
+
+    fun runAll(threads: Int, durationFactor: Double, record: Boolean) {
+        val round = mutableListOf<PoolingBenchmark.PoolResult>()
+        val workers = Executors.newFixedThreadPool(threads)
+        try {
+            round.add(PoolingBenchmark.measurePool("Kotlin fresh ByteArray", workers, threads,
+                { PoolingBenchmark.AllocatingPool() }, { bufferOperation(it) }, durationFactor))
+            round.add(PoolingBenchmark.measurePool("Kotlin ThreadLocal pool", workers, threads,
+                { PoolingBenchmark.ThreadLocalPool() }, { bufferOperation(it) }, durationFactor))
+            round.add(PoolingBenchmark.measurePool("Kotlin striped pool", workers, threads,
+                { PoolingBenchmark.StripedPool(threads, true) }, { bufferOperation(it) }, durationFactor))
+            round.add(PoolingBenchmark.measure("Kotlin fresh data class", workers, threads,
+                { freshSampleOperation() }, durationFactor))
+            round.add(PoolingBenchmark.measure("Kotlin reused instances", workers, threads,
+                { reusedSampleOperation() }, durationFactor).apply { pooledObjects = RING_SIZE * threads })
+        } finally {
+            workers.shutdown()
+        }
+        if (record) {
+            results.addAll(round)
+        }
+    }
+
+    fun printResults() {
+        PoolingBenchmark.printResults("Kotlin Pooling Results", results)
+        PoolingBenchmark.printRisks(results)
+    }
+
+    companion object {
+        private const val USED_BYTES = PoolingBenchmark.USED_BYTES
+        private const val RING_SIZE = 64
+        private const val RING_MASK = RING_SIZE - 1L
+    }
+}
+
+fun main() {
+    PoolingBenchmark.checkBufferSize()
+    println("Kotlin Pooling Benchmark:")
+    println("==================================")
+    val benchmark = KotlinPoolingBenchmark()
+
+    // Short warm-up round so every variant is compiled before it is measured
+    benchmark.runAll(1, 0.25, false)
+
+    for (threads in PoolingBenchmark.threadCounts()) {
+        benchmark.runAll(threads, 1.0, true)
+    }
+
+    benchmark.printResults()
+
+    println("==================================")
+    println("Kotlin Pooling Benchmark Completed")
+}
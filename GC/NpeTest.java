@@ -5,7 +5,8 @@ public class NpeTest {
 
     public static void main(String[] args) {        
         long startTime = System.currentTimeMillis();
-        long duration = 60_000; // One minute
+        SoakMonitor soak = SoakMonitor.start("NpeTest", 60_000); // One minute unless -Dsoak.minutes is set
+        long duration = soak.getDurationMillis();
         long npeCount = 0;
         long totalCalls = 0;
         int progressBarWidth = 50;
@@ -43,12 +44,14 @@ public class NpeTest {
                     totalCalls++;
                 }
             }
+            soak.addOperations(10000);
         }
         
         // Clear progress bar line and move to next line
         System.out.print("\r" + " ".repeat(progressBarWidth + 10) + "\r");
+        soak.close();
         
-        double npePerMinute = npeCount;
+        double npePerMinute = npeCount / (duration / 60_000.0);
         double npePercentage = (double) npeCount / totalCalls * 100;
         
         // Output the results in a table format
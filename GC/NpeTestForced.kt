@@ -2,7 +2,8 @@ fun getStringForForcedTest(): String? = if (Math.random() > 0.5) "value" else nu
 
 fun main() {    
     val startTime = System.currentTimeMillis()
-    val duration = 60_000L // One minute
+    val soak = SoakMonitor.start("NpeTestForcedKt", 60_000L) // One minute unless -Dsoak.minutes is set
+    val duration = soak.durationMillis
     var npeCount = 0L
     var totalCalls = 0L
     val progressBarWidth = 50
@@ -38,12 +39,14 @@ fun main() {
                 totalCalls++
             }
         }
+        soak.addOperations(1000)
     }
     
     // Clear progress bar line and move to next line
     print("\r" + " ".repeat(progressBarWidth + 10) + "\r")
+    soak.close()
     
-    val npePerMinute = npeCount.toDouble()
+    val npePerMinute = npeCount / (duration / 60_000.0)
     val npePercentage = npeCount.toDouble() / totalCalls * 100
     
     // Output the results in a table format
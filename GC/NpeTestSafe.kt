@@ -2,7 +2,8 @@ fun getStringForSafeTest(): String? = if (Math.random() > 0.5) "value" else null
 
 fun main() {
     val startTime = System.currentTimeMillis()
-    val duration = 60_000L // One minute
+    val soak = SoakMonitor.start("NpeTestSafeKt", 60_000L) // One minute unless -Dsoak.minutes is set
+    val duration = soak.durationMillis
     var npeCount = 0L
     var totalCalls = 0L
     val progressBarWidth = 50
@@ -33,10 +34,12 @@ fun main() {
             val length = s?.length ?: 0 // Safe call and Elvis operator
             totalCalls++
         }
+        soak.addOperations(1000)
     }
     
     // Clear progress bar line and move to next line
     print("\r" + " ".repeat(progressBarWidth + 10) + "\r")
+    soak.close()
     
     // Output the results in a table format
     println("+-------------------------+------------------------+")
@@ -44,7 +47,7 @@ fun main() {
     println("+-------------------------+------------------------+")
     println("| Total Calls             | ${String.format("%,22d", totalCalls)} |")
     println("| NPE Count               | ${String.format("%,22d", npeCount)} |") // Always 0
-    println("| NPE per Minute          | ${String.format("%,22d", 0)} |")
+    println("| NPE per Minute          | ${String.format("%,22.0f", npeCount / (duration / 60_000.0))} |")
     println("| NPE Percentage          | ${String.format("%,21.3f%%", 0.0)} |")
     println("+-------------------------+------------------------+")
 } 
\ No newline at end of file
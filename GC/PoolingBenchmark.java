@@ -0,0 +1,395 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Object pooling vs fresh allocation benchmark.
+ * GCTest only allocates fresh objects; this compares a fresh byte[] per operation
+ * with a ThreadLocal pool, a shared ConcurrentLinkedQueue pool and a lock-free
+ * striped array pool (with adjacent and with padded stripes), single- and
+ * multi-threaded. Reports throughput, allocated bytes per operation, GC count and
+ * time, how many buffers each pool holds, and how many of them stay reachable after
+ * the pool itself is dropped while its worker threads live on. Run it under G1 and ZGC
+ * (gradle runJavaPoolingBenchmark -Pgc=zgc) to compare collectors.
+ * The workload runner and pools are shared with KotlinPoolingBenchmark.
+ */
+public class PoolingBenchmark {
+    public static final int BUFFER_SIZE = Integer.getInteger("pool.bufferSize", 1024);
+    public static final long DURATION_MS = Long.getLong("durationMs", 2000);
+    public static final int USED_BYTES = 256; // Bytes of each buffer an operation writes
+    private static final int CHECK_INTERVAL = 1024; // Operations between deadline checks
+
+    /** Pools create buffers through newBuffer, which tracks them weakly for the leak check. */
+    public abstract static class BufferPool {
+        private final List<WeakReference<byte[]>> created = Collections.synchronizedList(new ArrayList<>());
+
+        public abstract byte[] acquire();
+
+        public abstract void release(byte[] buffer);
+
+        protected byte[] newBuffer() {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            created.add(new WeakReference<>(buffer));
+            return buffer;
+        }
+
+        /** Buffers this pool has ever created; at rest all of them are held by the pool. */
+        public List<WeakReference<byte[]>> createdBuffers() {
+            return created;
+        }
+    }
+
+    /** One operation of a worker thread; each worker gets its own instance. */
+    @FunctionalInterface
+    public interface Operation {
+        long run(long sequence);
+    }
+
+    public static class PoolResult {
+        public final String variant;
+        public final int threads;
+        public final double opsPerSecond;
+        public final double bytesPerOp;
+        public final long gcCount;
+        public final long gcTimeMs;
+        public int pooledObjects;
+        public int leakedObjects;
+
+        PoolResult(String variant, int threads, double opsPerSecond, double bytesPerOp, long gcCount, long gcTimeMs) {
+            this.variant = variant;
+            this.threads = threads;
+            this.opsPerSecond = opsPerSecond;
+            this.bytesPerOp = bytesPerOp;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
+        }
+    }
+
+    // No pool at all: every acquire allocates (and zeroes) a new buffer
+    public static class AllocatingPool extends BufferPool {
+        @Override
+        public byte[] acquire() {
+            return new byte[BUFFER_SIZE];
+        }
+
+        @Override
+        public void release(byte[] buffer) {
+        }
+    }
+
+    // Per-thread free list; the buffers hang off each thread's ThreadLocalMap, not off the pool
+    public static class ThreadLocalPool extends BufferPool {
+        private final ThreadLocal<ArrayDeque<byte[]>> free = ThreadLocal.withInitial(ArrayDeque::new);
+
+        @Override
+        public byte[] acquire() {
+            byte[] buffer = free.get().pollFirst();
+            return buffer != null ? buffer : newBuffer();
+        }
+
+        @Override
+        public void release(byte[] buffer) {
+            free.get().addFirst(buffer);
+        }
+    }
+
+    // Shared unbounded queue; every release allocates a queue node
+    public static class ConcurrentQueuePool extends BufferPool {
+        private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public byte[] acquire() {
+            byte[] buffer = free.poll();
+            return buffer != null ? buffer : newBuffer();
+        }
+
+        @Override
+        public void release(byte[] buffer) {
+            free.offer(buffer);
+        }
+    }
+
+    /**
+     * Bounded lock-free pool: threads hash to a stripe of a few slots and swap buffers in and out.
+     * Unpadded stripes share cache lines, so threads on different stripes still invalidate each other;
+     * padded stripes start 32 references (128 bytes, two lines) apart.
+     */
+    public static class StripedPool extends BufferPool {
+        private static final int SLOTS_PER_STRIPE = 4;
+        private static final int PADDED_STRIDE = 32;
+
+        private final AtomicReferenceArray<byte[]> slots;
+        private final int stripeMask;
+        private final int stride;
+
+        public StripedPool(int stripes, boolean padded) {
+            int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+            this.stripeMask = size - 1;
+            this.stride = padded ? PADDED_STRIDE : SLOTS_PER_STRIPE;
+            this.slots = new AtomicReferenceArray<>(size * stride);
+        }
+
+        private int stripeBase() {
+            return (int) (Thread.currentThread().getId() & stripeMask) * stride;
+        }
+
+        @Override
+        public byte[] acquire() {
+            int base = stripeBase();
+            for (int i = 0; i < SLOTS_PER_STRIPE; i++) {
+                if (slots.get(base + i) != null) {
+                    byte[] buffer = slots.getAndSet(base + i, null);
+                    if (buffer != null) {
+                        return buffer;
+                    }
+                }
+            }
+            return newBuffer();
+        }
+
+        @Override
+        public void release(byte[] buffer) {
+            int base = stripeBase();
+            for (int i = 0; i < SLOTS_PER_STRIPE; i++) {
+                if (slots.get(base + i) == null && slots.compareAndSet(base + i, null, buffer)) {
+                    return;
+                }
+            }
+            // Stripe full: drop the buffer and let the GC have it
+        }
+    }
+
+    // Keeps results reachable so the JIT cannot drop the measured work
+    private static volatile long sink;
+
+    private final List<PoolResult> results = new ArrayList<>();
+
+    /** The shared buffer workload: acquire, write part of the buffer, read it back, release. */
+    public static Operation bufferOperation(BufferPool pool) {
+        return sequence -> {
+            byte[] buffer = pool.acquire();
+            for (int k = 0; k < USED_BYTES; k += 8) {
+                buffer[k] = (byte) (sequence + k);
+            }
+            long value = buffer[(int) (sequence & (USED_BYTES - 8)) & ~7];
+            pool.release(buffer);
+            return value;
+        };
+    }
+
+    public static int[] threadCounts() {
+        String configured = System.getProperty("pool.threads");
+        if (configured != null) {
+            String[] parts = configured.split(",");
+            int[] counts = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                counts[i] = Integer.parseInt(parts[i].trim());
+            }
+            return counts;
+        }
+        return new int[]{1, Math.max(2, Runtime.getRuntime().availableProcessors())};
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gcBean.getCollectionCount());
+            time += Math.max(0, gcBean.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    public static String collectorNames() {
+        List<String> names = new ArrayList<>();
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            names.add(gcBean.getName());
+        }
+        return String.join(", ", names);
+    }
+
+    public static void forceGC() {
+        System.gc();
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Objects among the given weak references that something still keeps reachable after a full GC. */
+    public static int stillReachable(List<? extends WeakReference<?>> references) {
+        forceGC();
+        int reachable = 0;
+        synchronized (references) {
+            for (WeakReference<?> reference : references) {
+                if (reference.get() != null) {
+                    reachable++;
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /** Runs one operation per worker thread for durationMs (scaled by the duration factor). */
+    public static PoolResult measure(String variant, ExecutorService workers, int threads, Supplier<Operation> perThread,
+                                     double durationFactor) throws Exception {
+        forceGC();
+        long duration = (long) (DURATION_MS * durationFactor);
+        long[] gcBefore = gcTotals();
+        long start = System.nanoTime();
+        long deadline = start + duration * 1_000_000L;
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(workers.submit(() -> runWorker(perThread.get(), deadline)));
+        }
+        long ops = 0;
+        long allocated = 0;
+        for (Future<long[]> future : futures) {
+            long[] worker = future.get();
+            ops += worker[0];
+            allocated += worker[1];
+        }
+        long elapsed = System.nanoTime() - start;
+        long[] gcAfter = gcTotals();
+        return new PoolResult(variant, threads, ops * 1e9 / elapsed, (double) allocated / Math.max(1, ops),
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+    }
+
+    /**
+     * Measures the buffer workload on a pool, then drops the pool and counts its buffers that are still reachable.
+     * The workers stay alive, so a ThreadLocal pool's buffers linger in their ThreadLocalMaps as stale entries.
+     */
+    public static PoolResult measurePool(String variant, ExecutorService workers, int threads, Supplier<BufferPool> newPool,
+                                         double durationFactor) throws Exception {
+        return measurePool(variant, workers, threads, newPool, PoolingBenchmark::bufferOperation, durationFactor);
+    }
+
+    public static PoolResult measurePool(String variant, ExecutorService workers, int threads, Supplier<BufferPool> newPool,
+                                         Function<BufferPool, Operation> operation, double durationFactor) throws Exception {
+        // The only strong reference to the pool lives in this holder, so it can be cleared before the check
+        BufferPool[] holder = {newPool.get()};
+        List<WeakReference<byte[]>> created = holder[0].createdBuffers();
+        PoolResult result = measure(variant, workers, threads, () -> operation.apply(holder[0]), durationFactor);
+        holder[0] = null;
+        result.pooledObjects = created.size();
+        result.leakedObjects = stillReachable(created);
+        return result;
+    }
+
+    private static long[] runWorker(Operation operation, long deadline) {
+        long allocatedBefore = allocatedBytes();
+        long ops = 0;
+        long sum = 0;
+        do {
+            for (int i = 0; i < CHECK_INTERVAL; i++) {
+                sum += operation.run(ops++);
+            }
+        } while (System.nanoTime() < deadline);
+        sink += sum;
+        return new long[]{ops, allocatedBytes() - allocatedBefore};
+    }
+
+    public void runAll(int threads, double durationFactor, boolean record) throws Exception {
+        List<PoolResult> round = new ArrayList<>();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            round.add(measurePool("fresh allocation", workers, threads, AllocatingPool::new, durationFactor));
+            round.add(measurePool("ThreadLocal pool", workers, threads, ThreadLocalPool::new, durationFactor));
+            round.add(measurePool("ConcurrentLinkedQueue pool", workers, threads, ConcurrentQueuePool::new, durationFactor));
+            round.add(measurePool("striped pool (adjacent)", workers, threads, () -> new StripedPool(threads, false), durationFactor));
+            round.add(measurePool("striped pool (padded)", workers, threads, () -> new StripedPool(threads, true), durationFactor));
+        } finally {
+            workers.shutdown();
+        }
+        if (record) {
+            results.addAll(round);
+        }
+    }
+
+    public static void printResults(String title, List<PoolResult> results) {
+        System.out.println("\n=== " + title + " (" + collectorNames() + ") ===");
+        System.out.println("+------------------------------+---------+----------------+--------------+----------+-------------+------------+------------+");
+        System.out.println("| Variant                      | Threads | Ops/s          | Alloc B/op   | GC Count | GC Time(ms) | Pooled Obj | Leaked Obj |");
+        System.out.println("+------------------------------+---------+----------------+--------------+----------+-------------+------------+------------+");
+        for (PoolResult r : results) {
+            System.out.printf("| %-28s | %7d | %,14.0f | %,12.1f | %,8d | %,11d | %,10d | %,10d |\n",
+                    r.variant, r.threads, r.opsPerSecond, r.bytesPerOp, r.gcCount, r.gcTimeMs, r.pooledObjects, r.leakedObjects);
+        }
+        System.out.println("+------------------------------+---------+----------------+--------------+----------+-------------+------------+------------+");
+        System.out.println("Pooled Obj: objects the pool created; Leaked Obj: still reachable after the pool was dropped (workers alive)");
+    }
+
+    /** Leak and false-sharing notes, derived from the measured rows rather than asserted. */
+    public static void printRisks(List<PoolResult> results) {
+        System.out.println("\n=== Pooling Risks ===");
+        for (PoolResult r : results) {
+            if (r.leakedObjects > 0) {
+                System.out.printf("- %s (%d threads): %,d of %,d pooled objects outlive the pool itself, until the worker threads die\n",
+                        r.variant, r.threads, r.leakedObjects, r.pooledObjects);
+            }
+            if (r.variant.contains("ConcurrentLinkedQueue") && r.bytesPerOp > 1) {
+                System.out.printf("- %s (%d threads): still allocates %.1f bytes/op (a queue node per release)\n",
+                        r.variant, r.threads, r.bytesPerOp);
+            }
+        }
+        for (PoolResult adjacent : results) {
+            if (!adjacent.variant.contains("(adjacent)") || adjacent.threads < 2) {
+                continue;
+            }
+            for (PoolResult padded : results) {
+                if (padded.threads == adjacent.threads && padded.variant.equals(adjacent.variant.replace("(adjacent)", "(padded)"))) {
+                    System.out.printf("- %s (%d threads): padded stripes run at %.2fx the adjacent-stripe throughput (above 1 means adjacent stripes false-share)\n",
+                            adjacent.variant.replace(" (adjacent)", ""), adjacent.threads, padded.opsPerSecond / adjacent.opsPerSecond);
+                }
+            }
+        }
+    }
+
+    // Every operation writes USED_BYTES into its buffer, so smaller buffers would be overrun
+    public static void checkBufferSize() {
+        if (BUFFER_SIZE < USED_BYTES) {
+            throw new IllegalArgumentException("pool.bufferSize must be at least " + USED_BYTES + " bytes, got " + BUFFER_SIZE);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        checkBufferSize();
+        PoolingBenchmark benchmark = new PoolingBenchmark();
+
+        System.out.println("Java Pooling Benchmark:");
+        System.out.println("==================================");
+
+        // Short warm-up round so every pool is compiled before it is measured
+        benchmark.runAll(1, 0.25, false);
+
+        for (int threads : threadCounts()) {
+            benchmark.runAll(threads, 1.0, true);
+        }
+
+        printResults("Java Pooling Results", benchmark.results);
+        printRisks(benchmark.results);
+
+        System.out.println("==================================");
+        System.out.println("Java Pooling Benchmark Completed");
+    }
+}
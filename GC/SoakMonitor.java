@@ -0,0 +1,209 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Soak mode for the GC and NPE tests.
+ * Enabled with -Dsoak.minutes=N: the test runs for N minutes instead of one,
+ * and a daemon thread samples throughput, heap and old-gen occupancy, GC count/time,
+ * total JIT compilation time, code cache usage and thread count every
+ * soak.intervalSeconds (default 10) into a CSV time series (soak.file,
+ * default <test>-soak.csv). With soak.batchFile set, every addOperations call is also
+ * appended as a row there through a SampleWriter (soak.batchWriter, default channel).
+ * Without soak.minutes every method is a no-op and the test runs for its default
+ * length, or -DdurationMs when the launcher sets it.
+ */
+public class SoakMonitor implements AutoCloseable {
+    private static final String CSV_HEADER = "elapsed_s,operations,ops_per_sec,heap_used_mb,old_gen_used_mb,"
+            + "gc_count,gc_time_ms,compilation_time_ms,code_cache_used_kb,thread_count";
+
+    private final boolean enabled;
+    private final long durationMillis;
+    private final LongAdder operations = new LongAdder();
+    private final long startNanos = System.nanoTime();
+    private ScheduledExecutorService sampler;
+    private PrintWriter out;
+    private Path file;
+    private SampleWriter batchWriter;
+    private Path batchFile;
+    private long lastOperations;
+    private long lastSampleNanos = startNanos;
+    private double peakOpsPerSec;
+    private double lastOpsPerSec;
+    private long firstOldGenBytes = -1;
+    private long lastOldGenBytes;
+    private long firstCodeCacheBytes = -1;
+    private long lastCodeCacheBytes;
+    private int samples;
+
+    private SoakMonitor(String testName, long defaultDurationMillis) {
+        String minutes = System.getProperty("soak.minutes");
+        enabled = minutes != null;
+        durationMillis = enabled ? (long) (Double.parseDouble(minutes) * 60_000)
+                : Long.getLong("durationMs", defaultDurationMillis);
+        if (!enabled) {
+            return;
+        }
+        long intervalSeconds = Long.getLong("soak.intervalSeconds", 10);
+        file = Paths.get(System.getProperty("soak.file", testName + "-soak.csv"));
+        try {
+            out = new PrintWriter(Files.newBufferedWriter(file));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write soak time series to " + file, e);
+        }
+        out.println(CSV_HEADER);
+        System.out.printf("Soak mode: %s for %.1f minutes, sampling every %d s into %s%n",
+                testName, durationMillis / 60_000.0, intervalSeconds, file.toAbsolutePath());
+        String batchPath = System.getProperty("soak.batchFile");
+        if (batchPath != null) {
+            batchFile = Paths.get(batchPath);
+            SampleWriter.Kind kind = SampleWriter.Kind.parse(System.getProperty("soak.batchWriter", "channel"));
+            try {
+                batchWriter = SampleWriter.open(kind, batchFile);
+                batchWriter.header("elapsed_ns", "batch_operations");
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write batch samples to " + batchFile, e);
+            }
+            System.out.printf("Recording every batch into %s with %s%n", batchFile.toAbsolutePath(), kind.getLabel());
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soak-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // defaultDurationMillis is the test's normal run length, used when soak mode is off
+    public static SoakMonitor start(String testName, long defaultDurationMillis) {
+        return new SoakMonitor(testName, defaultDurationMillis);
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    // Called by the test loop after each batch of work
+    public void addOperations(long count) {
+        if (enabled) {
+            operations.add(count);
+            if (batchWriter != null) {
+                recordBatch(count);
+            }
+        }
+    }
+
+    // Synchronized so rows from concurrent test threads are never interleaved
+    private synchronized void recordBatch(long count) {
+        try {
+            batchWriter.field(System.nanoTime() - startNanos).field(count).endRow();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write batch samples to " + batchFile, e);
+        }
+    }
+
+    private synchronized void sample() {
+        long now = System.nanoTime();
+        long ops = operations.sum();
+        double opsPerSec = (ops - lastOperations) * 1e9 / (now - lastSampleNanos);
+        lastOperations = ops;
+        lastSampleNanos = now;
+
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gcBean.getCollectionCount());
+            gcTime += Math.max(0, gcBean.getCollectionTime());
+        }
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        long compilationTime = compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation.getTotalCompilationTime() : -1;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long oldGen = poolUsed(MemoryType.HEAP, "Old Gen", "Tenured");
+        long codeCache = poolUsed(MemoryType.NON_HEAP, "CodeHeap", "Code Cache");
+
+        out.printf("%.1f,%d,%.0f,%.1f,%.1f,%d,%d,%d,%d,%d%n",
+                (now - startNanos) / 1e9, ops, opsPerSec, heapUsed / (1024.0 * 1024),
+                oldGen < 0 ? -1 : oldGen / (1024.0 * 1024), gcCount, gcTime, compilationTime,
+                codeCache < 0 ? -1 : codeCache / 1024, threads.getThreadCount());
+        out.flush();
+
+        if (samples == 0) {
+            firstOldGenBytes = oldGen;
+            firstCodeCacheBytes = codeCache;
+        }
+        // Compared against the peak rather than the first sample, which still includes warm-up
+        peakOpsPerSec = Math.max(peakOpsPerSec, opsPerSec);
+        lastOpsPerSec = opsPerSec;
+        lastOldGenBytes = oldGen;
+        lastCodeCacheBytes = codeCache;
+        samples++;
+    }
+
+    // Sums the pools of the given type whose name contains any of the fragments; -1 if none match
+    private static long poolUsed(MemoryType type, String... nameFragments) {
+        long used = -1;
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() != type) {
+                continue;
+            }
+            for (String fragment : nameFragments) {
+                if (pool.getName().contains(fragment)) {
+                    used = Math.max(used, 0) + pool.getUsage().getUsed();
+                    break;
+                }
+            }
+        }
+        return used;
+    }
+
+    // Stops sampling and prints how far the last sample drifted
+    @Override
+    public synchronized void close() {
+        if (!enabled) {
+            return;
+        }
+        sampler.shutdownNow();
+        out.close();
+        if (batchWriter != null) {
+            try {
+                batchWriter.close();
+                System.out.println("Batch samples written to " + batchFile.toAbsolutePath());
+            } catch (IOException e) {
+                System.out.println("Failed to close batch samples " + batchFile + ": " + e.getMessage());
+            }
+        }
+        if (samples < 2) {
+            System.out.println("Soak run too short for drift summary, samples written to " + file);
+            return;
+        }
+        System.out.println("+-------------------------+------------------------+");
+        System.out.println("| Soak Drift              | Value                  |");
+        System.out.println("+-------------------------+------------------------+");
+        System.out.printf("| Samples                 | %,22d |\n", samples);
+        System.out.printf("| Last vs peak throughput | %,21.1f%% |\n", (lastOpsPerSec / peakOpsPerSec - 1) * 100);
+        if (firstOldGenBytes >= 0) {
+            System.out.printf("| Old gen growth (MB)     | %,22.1f |\n", (lastOldGenBytes - firstOldGenBytes) / (1024.0 * 1024));
+        }
+        if (firstCodeCacheBytes >= 0) {
+            System.out.printf("| Code cache growth (KB)  | %,22d |\n", (lastCodeCacheBytes - firstCodeCacheBytes) / 1024);
+        }
+        System.out.println("+-------------------------+------------------------+");
+        System.out.println("Time series written to " + file.toAbsolutePath());
+    }
+}
@@ -6,19 +6,19 @@ mkdir -p ../build/classes
 echo "===== Compile GC Test ====="
 
 echo "Starting Java GC Test Compile..."
-javac -d ../build/classes GCTest.java
+javac -d ../build/classes GCTest.java SoakMonitor.java ../Harness/SampleWriter.java
 
 echo "Starting Kotlin GC Test Compile..."
-kotlinc -d ../build/classes GCTest.kt
+kotlinc -cp ../build/classes -d ../build/classes GCTest.kt
 
 echo "===== Compile NPE Test ====="
 
 echo "Starting Java NPE Test Compile..."
-javac -d ../build/classes NpeTest.java
+javac -cp ../build/classes -d ../build/classes NpeTest.java
 
 echo "Starting Kotlin NPE Test Compile..."
-kotlinc -d ../build/classes NpeTestForced.kt
-kotlinc -d ../build/classes NpeTestSafe.kt
+kotlinc -cp ../build/classes -d ../build/classes NpeTestForced.kt
+kotlinc -cp ../build/classes -d ../build/classes NpeTestSafe.kt
 
 # get kotlin stdlib path
 KOTLIN_STDLIB=$(find /opt/homebrew/Cellar/kotlin -name "kotlin-stdlib.jar" | head -1)
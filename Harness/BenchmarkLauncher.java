@@ -0,0 +1,371 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Single entry point for the whole benchmark matrix.
+ * Every benchmark main class is registered here as a named scenario with tags,
+ * default args and parameters. Selected scenarios run in forked JVMs, up to
+ * --parallel at a time. Scenarios marked isolated (multi-threaded ones whose
+ * numbers depend on having the CPUs to themselves) always run alone afterwards.
+ *
+ * Usage: BenchmarkLauncher [--list] [--config FILE] [--include GLOB,...] [--exclude GLOB,...]
+ *                          [--parallel N] [--param KEY=VALUE] [--logs DIR]
+ * Globs match scenario names or tags, e.g. --include "gc.*,memory" --exclude "*.kotlin".
+ * Parameters reach the benchmarks as system properties: iterations (Compliation and
+ * Memory loop counts) and durationMs (GC/NPE test length). Thread benchmarks take
+ * their numTasks/numIterations as args.
+ *
+ * The config file is a .properties file that can set the same options
+ * (include, exclude, parallel, param.KEY) and add or override scenarios:
+ *   scenario.NAME.main=MainClass
+ *   scenario.NAME.args=arg1 arg2
+ *   scenario.NAME.jvmArgs=-Xmx2g
+ *   scenario.NAME.tags=tag1,tag2
+ *   scenario.NAME.isolated=true
+ *   scenario.NAME.param.KEY=VALUE
+ */
+public class BenchmarkLauncher {
+    static class Scenario {
+        final String name;
+        String mainClass;
+        List<String> args = new ArrayList<>();
+        List<String> jvmArgs = new ArrayList<>();
+        Set<String> tags = new LinkedHashSet<>();
+        Map<String, String> params = new LinkedHashMap<>();
+        boolean isolated;
+
+        Scenario(String name, String mainClass, boolean isolated, String tags, String... args) {
+            this.name = name;
+            this.mainClass = mainClass;
+            this.isolated = isolated;
+            this.tags.addAll(Arrays.asList(tags.split(",")));
+            this.args.addAll(Arrays.asList(args));
+        }
+
+        Scenario jvmArgs(String... jvmArgs) {
+            this.jvmArgs.addAll(Arrays.asList(jvmArgs));
+            return this;
+        }
+    }
+
+    private static class ScenarioResult {
+        String name;
+        int exitCode;
+        double elapsedSec;
+        Path log;
+
+        ScenarioResult(String name, int exitCode, double elapsedSec, Path log) {
+            this.name = name;
+            this.exitCode = exitCode;
+            this.elapsedSec = elapsedSec;
+            this.log = log;
+        }
+    }
+
+    private final Map<String, Scenario> registry = new LinkedHashMap<>();
+    private final Map<String, String> globalParams = new LinkedHashMap<>();
+    private final List<String> includes = new ArrayList<>();
+    private final List<String> excludes = new ArrayList<>();
+    private int parallel = 1;
+    private Path logDir = Paths.get("build", "benchmark-logs");
+
+    public BenchmarkLauncher() {
+        // GC/ - fixed-duration tests, scaled with -PdurationMs
+        register(new Scenario("gc.java", "GCTest", false, "gc,java"));
+        register(new Scenario("gc.kotlin", "GCTestKt", false, "gc,kotlin"));
+        register(new Scenario("npe.java", "NpeTest", false, "npe,gc,java"));
+        register(new Scenario("npe.kotlin-forced", "NpeTestForcedKt", false, "npe,gc,kotlin"));
+        register(new Scenario("npe.kotlin-safe", "NpeTestSafeKt", false, "npe,gc,kotlin"));
+        register(new Scenario("pooling.java.g1", "PoolingBenchmark", true, "gc,java")
+                .jvmArgs("-Xmx512m", "-XX:+UseG1GC"));
+        register(new Scenario("pooling.java.zgc", "PoolingBenchmark", true, "gc,java")
+                .jvmArgs("-Xmx512m", "-XX:+UseZGC"));
+        register(new Scenario("pooling.kotlin.g1", "KotlinPoolingBenchmarkKt", true, "gc,kotlin")
+                .jvmArgs("-Xmx512m", "-XX:+UseG1GC"));
+        register(new Scenario("pooling.kotlin.zgc", "KotlinPoolingBenchmarkKt", true, "gc,kotlin")
+                .jvmArgs("-Xmx512m", "-XX:+UseZGC"));
+        // Compliation/
+        register(new Scenario("inline.java", "JavaBenchmark", false, "compilation,java"));
+        register(new Scenario("inline.kotlin", "InlineBenchmarkKt", false, "compilation,kotlin"));
+        register(new Scenario("codecache.java", "CodeCachePressureBenchmark", false, "compilation,java")
+                .jvmArgs("-XX:ReservedCodeCacheSize=4m", "-XX:-UseCodeCacheFlushing"));
+        register(new Scenario("codecache.kotlin", "InlineCodeSizeBenchmarkKt", false, "compilation,kotlin"));
+        register(new Scenario("recursion.java", "JavaRecursionBenchmark", false, "compilation,java"));
+        register(new Scenario("recursion.kotlin", "KotlinRecursionBenchmark", false, "compilation,kotlin"));
+        register(new Scenario("branch.java", "BranchPredictionBenchmark", false, "compilation,java"));
+        register(new Scenario("branch.kotlin", "KotlinBranchPredictionBenchmark", false, "compilation,kotlin"));
+        // The launcher only has the main build; the -Xno-*-assertions build runs from runKotlinNullCheckBenchmarkNoAssertions
+        register(new Scenario("nullcheck.java", "JavaNullCheckBenchmark", false, "compilation,npe,java"));
+        register(new Scenario("nullcheck.kotlin", "KotlinNullCheckBenchmark", false, "compilation,npe,kotlin"));
+        // Memory/
+        register(new Scenario("memory.lambda.java", "JavaLambdaMemoryBenchmark", false, "memory,java"));
+        register(new Scenario("memory.lambda.kotlin", "KotlinLambdaMemoryBenchmark", false, "memory,kotlin"));
+        register(new Scenario("memory.higher-order.java", "JavaHigherOrderBenchmark", false, "memory,java"));
+        register(new Scenario("memory.higher-order.kotlin", "KotlinHigherOrderBenchmark", false, "memory,kotlin"));
+        register(new Scenario("memory.primitive-collections.java", "JavaPrimitiveCollectionsBenchmark", false, "memory,java")
+                .jvmArgs("-Xmx4g"));
+        register(new Scenario("memory.primitive-collections.kotlin", "KotlinPrimitiveCollectionsBenchmark", false, "memory,kotlin")
+                .jvmArgs("-Xmx4g"));
+        // Layout timings measure cache misses and memory bandwidth, so a parallel run would skew them
+        register(new Scenario("memory.layout.java", "JavaMemoryLayoutBenchmark", true, "memory,java")
+                .jvmArgs("-Xmx2g", "-XX:+UseCompressedOops"));
+        register(new Scenario("memory.layout.java.no-coops", "JavaMemoryLayoutBenchmark", true, "memory,java")
+                .jvmArgs("-Xmx2g", "-XX:-UseCompressedOops"));
+        register(new Scenario("memory.layout.kotlin", "KotlinMemoryLayoutBenchmark", true, "memory,kotlin")
+                .jvmArgs("-Xmx2g", "-XX:+UseCompressedOops"));
+        register(new Scenario("memory.layout.kotlin.no-coops", "KotlinMemoryLayoutBenchmark", true, "memory,kotlin")
+                .jvmArgs("-Xmx2g", "-XX:-UseCompressedOops"));
+        register(new Scenario("memory.pipeline.java", "JavaPipelineBenchmark", true, "memory,java")
+                .jvmArgs("-Xmx3g"));
+        register(new Scenario("memory.pipeline.kotlin", "KotlinPipelineBenchmark", true, "memory,kotlin")
+                .jvmArgs("-Xmx3g"));
+        // Execution/ - all multi-threaded, so isolated
+        register(new Scenario("threadpool.java", "ThreadPoolBenchmark", true, "execution,java", "cpu", "1000", "10000"));
+        register(new Scenario("threadpool.kotlin", "Test1Kt", true, "execution,kotlin", "1000", "10000"));
+        register(new Scenario("threadpool.blocking-io.java", "ThreadPoolBenchmark", true, "execution,io,java", "all", "10000", "10"));
+        register(new Scenario("handoff.java", "QueueHandoffBenchmark", true, "execution,java"));
+        register(new Scenario("handoff.kotlin", "ChannelHandoffBenchmarkKt", true, "execution,kotlin"));
+        register(new Scenario("fanout.java", "FanOutBenchmark", true, "execution,java"));
+        register(new Scenario("fanout.kotlin", "CoroutineFanOutBenchmarkKt", true, "execution,kotlin"));
+        register(new Scenario("locks.java", "LockContentionBenchmark", true, "execution,java"));
+        register(new Scenario("locks.kotlin", "MutexContentionBenchmarkKt", true, "execution,kotlin"));
+        register(new Scenario("false-sharing.java", "FalseSharingBenchmark", true, "execution,java")
+                .jvmArgs("-XX:-RestrictContended", "--add-exports", "java.base/jdk.internal.misc=ALL-UNNAMED"));
+        register(new Scenario("false-sharing.kotlin", "KotlinFalseSharingBenchmarkKt", true, "execution,kotlin")
+                .jvmArgs("--add-exports", "java.base/jdk.internal.misc=ALL-UNNAMED"));
+        register(new Scenario("coroutine-suspend.kotlin", "CoroutineSuspendBenchmark", true, "execution,kotlin"));
+        register(new Scenario("skewed.java", "SkewedWorkloadBenchmark", true, "execution,java"));
+        register(new Scenario("skewed.kotlin", "SkewedDispatcherBenchmarkKt", true, "execution,kotlin"));
+        // Harness/
+        register(new Scenario("sample-writer.java", "SampleWriterBenchmark", true, "io,java"));
+    }
+
+    public void register(Scenario scenario) {
+        registry.put(scenario.name, scenario);
+    }
+
+    // Applies a .properties config file: launcher options, global params and scenario definitions
+    public void loadConfig(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.equals("include")) {
+                includes.addAll(Arrays.asList(value.split(",")));
+            } else if (key.equals("exclude")) {
+                excludes.addAll(Arrays.asList(value.split(",")));
+            } else if (key.equals("parallel")) {
+                parallel = Integer.parseInt(value);
+            } else if (key.startsWith("param.")) {
+                globalParams.put(key.substring("param.".length()), value);
+            } else if (key.startsWith("scenario.")) {
+                applyScenarioKey(key.substring("scenario.".length()), value);
+            } else {
+                throw new IllegalArgumentException("Unknown config key: " + key);
+            }
+        }
+    }
+
+    // NAME.field=value, where NAME may itself contain dots (e.g. gc.java.args)
+    private void applyScenarioKey(String key, String value) {
+        int param = key.indexOf(".param.");
+        String name = param >= 0 ? key.substring(0, param) : key.substring(0, key.lastIndexOf('.'));
+        String field = param >= 0 ? "param" : key.substring(key.lastIndexOf('.') + 1);
+        Scenario scenario = registry.computeIfAbsent(name, n -> new Scenario(n, null, false, "custom"));
+        switch (field) {
+            case "main":
+                scenario.mainClass = value;
+                break;
+            case "args":
+                scenario.args = splitWords(value);
+                break;
+            case "jvmArgs":
+                scenario.jvmArgs = splitWords(value);
+                break;
+            case "tags":
+                scenario.tags = new LinkedHashSet<>(Arrays.asList(value.split(",")));
+                break;
+            case "isolated":
+                scenario.isolated = Boolean.parseBoolean(value);
+                break;
+            case "param":
+                scenario.params.put(key.substring(param + ".param.".length()), value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown scenario field: scenario." + key);
+        }
+    }
+
+    private static List<String> splitWords(String value) {
+        return value.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(value.split("\\s+")));
+    }
+
+    private static boolean matches(Scenario scenario, List<String> globs) {
+        for (String glob : globs) {
+            Pattern pattern = Pattern.compile(Pattern.quote(glob.trim()).replace("*", "\\E.*\\Q"));
+            if (pattern.matcher(scenario.name).matches()) {
+                return true;
+            }
+            for (String tag : scenario.tags) {
+                if (pattern.matcher(tag).matches()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    List<Scenario> select() {
+        List<Scenario> selected = new ArrayList<>();
+        for (Scenario scenario : registry.values()) {
+            if (scenario.mainClass == null) {
+                throw new IllegalArgumentException("Scenario " + scenario.name + " has no main class");
+            }
+            if ((includes.isEmpty() || matches(scenario, includes)) && !matches(scenario, excludes)) {
+                selected.add(scenario);
+            }
+        }
+        return selected;
+    }
+
+    private ScenarioResult runScenario(Scenario scenario) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(scenario.jvmArgs);
+        Map<String, String> params = new LinkedHashMap<>(globalParams);
+        params.putAll(scenario.params);
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            command.add("-D" + param.getKey() + "=" + param.getValue());
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(scenario.mainClass);
+        command.addAll(scenario.args);
+
+        Path log = logDir.resolve(scenario.name + ".log");
+        System.out.printf("[start] %s%n", scenario.name);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        int exitCode = process.waitFor();
+        double elapsedSec = (System.nanoTime() - start) / 1e9;
+
+        // Print each finished scenario's report in one piece so parallel runs never interleave
+        synchronized (System.out) {
+            System.out.printf("%n[done] %s (exit %d, %.1f s)%n", scenario.name, exitCode, elapsedSec);
+            System.out.println(new String(Files.readAllBytes(log)));
+        }
+        return new ScenarioResult(scenario.name, exitCode, elapsedSec, log);
+    }
+
+    public boolean run() throws Exception {
+        List<Scenario> selected = select();
+        if (selected.isEmpty()) {
+            System.out.println("No scenarios selected");
+            return true;
+        }
+        Files.createDirectories(logDir);
+        System.out.printf("Running %d scenarios, %d at a time (isolated scenarios run alone)%n", selected.size(), parallel);
+        long start = System.nanoTime();
+
+        List<ScenarioResult> results = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(parallel);
+        List<Future<ScenarioResult>> futures = new ArrayList<>();
+        for (Scenario scenario : selected) {
+            if (!scenario.isolated) {
+                futures.add(pool.submit(() -> runScenario(scenario)));
+            }
+        }
+        for (Future<ScenarioResult> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+        for (Scenario scenario : selected) {
+            if (scenario.isolated) {
+                results.add(runScenario(scenario));
+            }
+        }
+
+        System.out.println("\n=== Benchmark Matrix Summary ===");
+        System.out.println("+--------------------------------------+--------+--------------+------------------------------------------------+");
+        System.out.println("| Scenario                             | Exit   | Wall (s)     | Log                                            |");
+        System.out.println("+--------------------------------------+--------+--------------+------------------------------------------------+");
+        boolean success = true;
+        for (ScenarioResult result : results) {
+            System.out.printf("| %-36s | %6d | %,12.1f | %-46s |\n", result.name, result.exitCode, result.elapsedSec, result.log);
+            success &= result.exitCode == 0;
+        }
+        System.out.println("+--------------------------------------+--------+--------------+------------------------------------------------+");
+        System.out.printf("Total wall time: %.1f s%n", (System.nanoTime() - start) / 1e9);
+        return success;
+    }
+
+    private void printList() {
+        System.out.println("+--------------------------------------+--------------------------------------+----------+--------------------------+");
+        System.out.println("| Scenario                             | Main class                           | Isolated | Tags                     |");
+        System.out.println("+--------------------------------------+--------------------------------------+----------+--------------------------+");
+        for (Scenario scenario : select()) {
+            System.out.printf("| %-36s | %-36s | %-8s | %-24s |\n", scenario.name, scenario.mainClass,
+                    scenario.isolated ? "yes" : "no", String.join(",", scenario.tags));
+        }
+        System.out.println("+--------------------------------------+--------------------------------------+----------+--------------------------+");
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkLauncher launcher = new BenchmarkLauncher();
+        boolean list = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--list":
+                    list = true;
+                    break;
+                case "--config":
+                    launcher.loadConfig(Paths.get(args[++i]));
+                    break;
+                case "--include":
+                    launcher.includes.addAll(Arrays.asList(args[++i].split(",")));
+                    break;
+                case "--exclude":
+                    launcher.excludes.addAll(Arrays.asList(args[++i].split(",")));
+                    break;
+                case "--parallel":
+                    launcher.parallel = Integer.parseInt(args[++i]);
+                    break;
+                case "--param":
+                    String[] param = args[++i].split("=", 2);
+                    launcher.globalParams.put(param[0], param[1]);
+                    break;
+                case "--logs":
+                    launcher.logDir = Paths.get(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        if (list) {
+            launcher.printList();
+            return;
+        }
+        System.out.println("Starting Benchmark Launcher...");
+        if (!launcher.run()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * File-based performance baseline store with a regression diff.
+ * Runs a benchmark through RepetitionRunner's forked child loop, captures every
+ * cell of every result table as a scenario (see ResultTables), and stores the
+ * samples under perf-baselines/, keyed by benchmark, JVM version, JVM flags and
+ * benchmark args. A later run is compared scenario by scenario with Welch's
+ * t-test; significant changes are flagged, and the process exits with status 1
+ * when a significant regression exceeds the threshold.
+ *
+ * Usage:
+ *   PerfBaseline save  [run options] MainClass [-- args]   record the baseline
+ *   PerfBaseline check [run options] [--threshold PCT] [--baseline-jvm VERSION] MainClass [-- args]
+ *   PerfBaseline diff  [--threshold PCT] baseline.tsv current.tsv
+ *   PerfBaseline selfcheck                                      check which way known columns are read
+ * Run options are RepetitionRunner's --forks/--iterations/--warmup/--jvm-args;
+ * --store DIR overrides the store directory. --baseline-jvm compares against the
+ * baseline recorded on another JDK, to gate JDK upgrades.
+ */
+public class PerfBaseline {
+    private static final double SIGNIFICANCE = 0.01;
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5;
+    // Column names where a larger number is the better result; everything else is a cost
+    private static final Pattern HIGHER_IS_BETTER = Pattern.compile(
+            "(?i)/s\\b|/sec|per sec|per second|throughput|created|total calls|improvement|speedup|scaling|util");
+    // Lock and mutex fairness: slowest thread's ops over the fastest's, 1.0 is perfectly fair
+    private static final Pattern FAIRNESS = Pattern.compile("(?i)\\bmin/max\\b");
+    // Numbering ResultTables appends to the keys of repeated tables
+    private static final Pattern REPEAT_SUFFIX = Pattern.compile(" \\(\\d+\\)$");
+
+    // Real column headers from the benchmark tables, by the direction diff must read them in
+    private static final String[] HIGHER_IS_BETTER_COLUMNS = {
+            "Ops/s", "Ops/sec", "Rows/s", "MB/s", "Calls/sec", "First Window (c/s)", "Steady (calls/sec)",
+            "Messages/sec", "Requests/sec", "Min/Max", "Scaling", "Improvement (%)"};
+    private static final String[] LOWER_IS_BETTER_COLUMNS = {
+            "Time (ms)", "Execution Time (ms)", "GC Time(ms)", "Compile Time (ms)", "Makespan(ms)", "Time/op (ns)",
+            "No Warm-up (ms)", "Max Warm-up (ms)", "Java ns/call", "ns/elem", "p99 ns", "p99.9 (us)", "Max (us)", "Alloc B/op", "Alloc B/row", "Bytes/op",
+            "B/elem", "Heap/task (B)", "RSS/task (B)", "Branch Misses/Call", "Code Cache Growth KB", "Deopts",
+            "CoV (%)", "Slowdown"};
+
+    /**
+     * Key fields plus per-scenario samples of one run, as stored on disk.
+     * Format: "# key=value" metadata lines, then one "scenario<TAB>v1,v2,..." line per scenario.
+     */
+    static class RunResults {
+        final Map<String, String> meta = new LinkedHashMap<>();
+        final Map<String, List<Double>> samples = new LinkedHashMap<>();
+
+        void write(Path file) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+                for (Map.Entry<String, String> entry : meta.entrySet()) {
+                    out.println("# " + entry.getKey() + "=" + entry.getValue());
+                }
+                for (Map.Entry<String, List<Double>> entry : samples.entrySet()) {
+                    StringBuilder values = new StringBuilder();
+                    for (double value : entry.getValue()) {
+                        values.append(values.length() == 0 ? "" : ",").append(value);
+                    }
+                    out.println(entry.getKey() + "\t" + values);
+                }
+            }
+        }
+
+        static RunResults read(Path file) throws IOException {
+            RunResults results = new RunResults();
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("# ")) {
+                        int equals = line.indexOf('=');
+                        results.meta.put(line.substring(2, equals), line.substring(equals + 1));
+                    } else if (!line.isEmpty()) {
+                        int tab = line.lastIndexOf('\t');
+                        List<Double> values = new ArrayList<>();
+                        for (String value : line.substring(tab + 1).split(",")) {
+                            values.add(Double.parseDouble(value));
+                        }
+                        results.samples.put(line.substring(0, tab), values);
+                    }
+                }
+            }
+            return results;
+        }
+    }
+
+    // Runs all forks and collects every scenario's post-warm-up samples
+    static RunResults run(RepetitionRunner.Options options) throws IOException, InterruptedException {
+        RunResults results = new RunResults();
+        results.meta.put("benchmark", options.mainClass);
+        results.meta.put("jvm", System.getProperty("java.version"));
+        results.meta.put("flags", String.join(" ", options.jvmArgs));
+        results.meta.put("args", String.join(" ", options.benchmarkArgs));
+        results.meta.put("kotlin", kotlinVersion());
+        results.meta.put("forks", String.valueOf(options.forks));
+        results.meta.put("iterations", String.valueOf(options.iterations));
+        results.meta.put("recorded", Instant.now().toString());
+
+        for (int fork = 1; fork <= options.forks; fork++) {
+            System.out.printf("%s: fork %d/%d...%n", options.mainClass, fork, options.forks);
+            int[] iteration = {0};
+            RepetitionRunner.forkChild(options, options.mainClass, RepetitionRunner.ALL_ROWS, line -> {
+                if (line.startsWith(RepetitionRunner.SAMPLE_PREFIX)) {
+                    iteration[0]++;
+                } else if (line.startsWith(RepetitionRunner.ROW_PREFIX) && iteration[0] >= options.warmup) {
+                    String row = line.substring(RepetitionRunner.ROW_PREFIX.length());
+                    int tab = row.lastIndexOf('\t');
+                    results.samples.computeIfAbsent(row.substring(0, tab), k -> new ArrayList<>())
+                            .add(Double.parseDouble(row.substring(tab + 1)));
+                }
+            });
+        }
+        return results;
+    }
+
+    // Kotlin stdlib version on the classpath, recorded so Kotlin upgrades show up in the metadata
+    private static String kotlinVersion() {
+        try {
+            return String.valueOf(Class.forName("kotlin.KotlinVersion").getField("CURRENT").get(null));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return "n/a";
+        }
+    }
+
+    static Path baselineFile(Path store, String benchmark, String jvm, String flags, String args) {
+        String flagsHash = String.format("%08x", (flags + "|" + args).hashCode());
+        return store.resolve(benchmark + "_jdk" + jvm + "_" + flagsHash + ".tsv");
+    }
+
+    // Prints the per-scenario comparison and returns the number of gating regressions
+    static int diff(RunResults baseline, RunResults current, double thresholdPercent) {
+        System.out.printf("%n=== Performance Diff: %s ===%n", current.meta.get("benchmark"));
+        System.out.printf("Baseline: jvm %s, kotlin %s, flags [%s], recorded %s%n", baseline.meta.get("jvm"),
+                baseline.meta.get("kotlin"), baseline.meta.get("flags"), baseline.meta.get("recorded"));
+        System.out.printf("Current:  jvm %s, kotlin %s, flags [%s]%n", current.meta.get("jvm"),
+                current.meta.get("kotlin"), current.meta.get("flags"));
+        System.out.println("+----------------------------------------------------------+--------------+--------------+----------+----------+--------------+");
+        System.out.println("| Scenario                                                 | Baseline     | Current      | Change   | p-value  | Verdict      |");
+        System.out.println("+----------------------------------------------------------+--------------+--------------+----------+----------+--------------+");
+
+        Set<String> scenarios = new LinkedHashSet<>(baseline.samples.keySet());
+        scenarios.addAll(current.samples.keySet());
+        int regressions = 0;
+        int flagged = 0;
+        for (String scenario : scenarios) {
+            List<Double> before = baseline.samples.get(scenario);
+            List<Double> after = current.samples.get(scenario);
+            if (before == null || after == null) {
+                System.out.printf("| %-56s | %12s | %12s | %8s | %8s | %-12s |\n", abbreviate(scenario),
+                        before == null ? "-" : "", after == null ? "-" : "", "", "", before == null ? "new" : "missing");
+                continue;
+            }
+            double[] a = RepetitionRunner.Stats.removeOutliers(toArray(before));
+            double[] b = RepetitionRunner.Stats.removeOutliers(toArray(after));
+            double meanBefore = RepetitionRunner.Stats.mean(a);
+            double meanAfter = RepetitionRunner.Stats.mean(b);
+            double change = meanBefore == 0 ? 0 : (meanAfter / meanBefore - 1) * 100;
+            double p = pValue(a, b);
+            // With a single sample per side there is no variance; fall back to the threshold alone
+            boolean significant = Double.isNaN(p) || p < SIGNIFICANCE;
+            boolean worse = higherIsBetter(scenario) ? change < 0 : change > 0;
+
+            String verdict = "~";
+            if (significant && change != 0) {
+                if (worse && Math.abs(change) >= thresholdPercent) {
+                    verdict = "REGRESSION";
+                    regressions++;
+                } else {
+                    verdict = worse ? "regression" : "improvement";
+                }
+                flagged++;
+            }
+            System.out.printf("| %-56s | %,12.3f | %,12.3f | %+7.1f%% | %8s | %-12s |\n", abbreviate(scenario),
+                    meanBefore, meanAfter, change, Double.isNaN(p) ? "n/a" : String.format("%.4f", p), verdict);
+        }
+        System.out.println("+----------------------------------------------------------+--------------+--------------+----------+----------+--------------+");
+        System.out.printf("%d scenarios, %d significant changes, %d regressions over %.1f%%%n",
+                scenarios.size(), flagged, regressions, thresholdPercent);
+        return regressions;
+    }
+
+    // Only the column decides: section and row titles such as "Java Warm-up Improvement" say nothing about direction
+    static boolean higherIsBetter(String scenario) {
+        String column = REPEAT_SUFFIX.matcher(scenario).replaceFirst("");
+        int separator = column.lastIndexOf(" / ");
+        if (separator >= 0) {
+            column = column.substring(separator + 3);
+        }
+        return FAIRNESS.matcher(column).find() || HIGHER_IS_BETTER.matcher(column).find();
+    }
+
+    // Classifies the known column headers and returns how many are read the wrong way
+    static int selfCheck() {
+        System.out.println("\n=== Column Direction Check ===");
+        System.out.println("+--------------------------------+----------+----------+--------+");
+        System.out.println("| Column                         | Expected | Actual   | Status |");
+        System.out.println("+--------------------------------+----------+----------+--------+");
+        int wrong = 0;
+        for (String[] columns : new String[][]{HIGHER_IS_BETTER_COLUMNS, LOWER_IS_BETTER_COLUMNS}) {
+            boolean expected = columns == HIGHER_IS_BETTER_COLUMNS;
+            for (String column : columns) {
+                // Classified inside a full scenario name, as diff sees it, under a misleading section and row
+                boolean actual = higherIsBetter("Java Warm-up Improvement / Throughput test / " + column);
+                if (actual != expected) {
+                    wrong++;
+                }
+                System.out.printf("| %-30s | %-8s | %-8s | %-6s |\n", column, expected ? "higher" : "lower",
+                        actual ? "higher" : "lower", actual == expected ? "ok" : "WRONG");
+            }
+        }
+        System.out.println("+--------------------------------+----------+----------+--------+");
+        System.out.printf("%d columns, %d classified the wrong way%n", HIGHER_IS_BETTER_COLUMNS.length + LOWER_IS_BETTER_COLUMNS.length, wrong);
+        return wrong;
+    }
+
+    private static double pValue(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) {
+            return Double.NaN;
+        }
+        if (RepetitionRunner.Stats.stdev(a) == 0 && RepetitionRunner.Stats.stdev(b) == 0) {
+            return RepetitionRunner.Stats.mean(a) == RepetitionRunner.Stats.mean(b) ? 1 : 0;
+        }
+        return RepetitionRunner.Stats.welchTest(a, b)[2];
+    }
+
+    private static double[] toArray(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    // Keeps the tail of long scenario names, which holds the row and column
+    private static String abbreviate(String value) {
+        return value.length() <= 56 ? value : "..." + value.substring(value.length() - 53);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: PerfBaseline save|check|diff|selfcheck [options] ...");
+            System.exit(2);
+        }
+        String command = args[0];
+        Path store = Paths.get(System.getProperty("perf.store", "perf-baselines"));
+        double threshold = DEFAULT_THRESHOLD_PERCENT;
+        String baselineJvm = null;
+        List<String> rest = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--store":
+                    store = Paths.get(args[++i]);
+                    break;
+                case "--threshold":
+                    threshold = Double.parseDouble(args[++i]);
+                    break;
+                case "--baseline-jvm":
+                    baselineJvm = args[++i];
+                    break;
+                case "--":
+                    rest.addAll(Arrays.asList(args).subList(i, args.length));
+                    i = args.length;
+                    break;
+                default:
+                    rest.add(args[i]);
+            }
+        }
+
+        if (command.equals("selfcheck")) {
+            System.exit(selfCheck() > 0 ? 1 : 0);
+        }
+        if (command.equals("diff")) {
+            if (rest.size() != 2) {
+                throw new IllegalArgumentException("diff needs a baseline file and a current file");
+            }
+            int regressions = diff(RunResults.read(Paths.get(rest.get(0))), RunResults.read(Paths.get(rest.get(1))), threshold);
+            System.exit(regressions > 0 ? 1 : 0);
+        }
+
+        RepetitionRunner.Options options = RepetitionRunner.parse(rest.toArray(new String[0]));
+        RunResults current = run(options);
+        Path ownKey = baselineFile(store, options.mainClass, current.meta.get("jvm"),
+                current.meta.get("flags"), current.meta.get("args"));
+        if (command.equals("save")) {
+            current.write(ownKey);
+            System.out.printf("Baseline with %d scenarios saved to %s%n", current.samples.size(), ownKey.toAbsolutePath());
+            return;
+        }
+        if (!command.equals("check")) {
+            throw new IllegalArgumentException("Unknown command: " + command);
+        }
+
+        current.write(store.resolve("latest").resolve(ownKey.getFileName()));
+        Path baselinePath = baselineJvm == null ? ownKey
+                : baselineFile(store, options.mainClass, baselineJvm, current.meta.get("flags"), current.meta.get("args"));
+        if (!Files.exists(baselinePath)) {
+            System.out.println("No baseline at " + baselinePath.toAbsolutePath() + "; run 'PerfBaseline save' first");
+            System.exit(2);
+        }
+        int regressions = diff(RunResults.read(baselinePath), current, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+}
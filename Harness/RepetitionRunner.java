@@ -0,0 +1,409 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Statistically rigorous repetition engine for the existing benchmarks.
+ * Forks N fresh JVMs per benchmark, runs the benchmark's main M times in each
+ * (the first W are discarded as warm-up), drops Tukey outliers and reports the
+ * mean, standard deviation, 99% confidence interval and the spread between forks.
+ * With --vs, a second benchmark (typically the Kotlin twin) is measured the same
+ * way and compared with Welch's t-test.
+ *
+ * The measured value is the wall time of one main() call unless --metric names a
+ * table row to read instead, e.g. --metric "Complex Condition" takes the first
+ * number of the last "| Complex Condition | ... |" row, "Complex Condition#2" the second.
+ *
+ * Usage: RepetitionRunner [--forks N] [--iterations M] [--warmup W] [--metric ROW[#COL]]
+ *                         [--vs MainClass] [--vs-metric ROW[#COL]] [--jvm-args "..."]
+ *                         MainClass [-- benchmark args...]
+ */
+public class RepetitionRunner {
+    private static final String CHILD_FLAG = "--child";
+    static final String SAMPLE_PREFIX = "SAMPLE ";
+    // Metric value that makes the child print every table cell (see ResultTables) before each SAMPLE line
+    static final String ALL_ROWS = "*";
+    static final String ROW_PREFIX = "ROW ";
+    private static final double CONFIDENCE = 0.99;
+    private static final double SIGNIFICANCE = 0.01;
+
+    static class Options {
+        int forks = 5;
+        int iterations = 5;
+        int warmup = 1;
+        String mainClass;
+        String metric;
+        String vsClass;
+        String vsMetric;
+        List<String> jvmArgs = new ArrayList<>();
+        List<String> benchmarkArgs = new ArrayList<>();
+    }
+
+    /**
+     * Retained samples of one benchmark plus their summary statistics.
+     */
+    public static class Summary {
+        final String name;
+        final String unit;
+        final double[] samples;
+        final int outliers;
+        final double mean;
+        final double stdev;
+        final double ciHalfWidth;
+        final double forkStdev;
+
+        Summary(String name, String unit, List<double[]> forks) {
+            this.name = name;
+            this.unit = unit;
+            double[] forkMeans = new double[forks.size()];
+            List<Double> all = new ArrayList<>();
+            for (int i = 0; i < forks.size(); i++) {
+                forkMeans[i] = Stats.mean(forks.get(i));
+                for (double sample : forks.get(i)) {
+                    all.add(sample);
+                }
+            }
+            double[] pooled = all.stream().mapToDouble(Double::doubleValue).toArray();
+            samples = Stats.removeOutliers(pooled);
+            outliers = pooled.length - samples.length;
+            mean = Stats.mean(samples);
+            stdev = Stats.stdev(samples);
+            ciHalfWidth = samples.length < 2 ? Double.NaN
+                    : Stats.tQuantile(1 - CONFIDENCE, samples.length - 1) * stdev / Math.sqrt(samples.length);
+            forkStdev = Stats.stdev(forkMeans);
+        }
+    }
+
+    // Mean, spread and Student t helpers (no external math library in this project)
+    static class Stats {
+        static double mean(double[] values) {
+            return Arrays.stream(values).average().orElse(Double.NaN);
+        }
+
+        static double stdev(double[] values) {
+            if (values.length < 2) {
+                return 0;
+            }
+            double mean = mean(values);
+            double sumSquares = 0;
+            for (double value : values) {
+                sumSquares += (value - mean) * (value - mean);
+            }
+            return Math.sqrt(sumSquares / (values.length - 1));
+        }
+
+        // Tukey fences: drops values outside [Q1 - 1.5 IQR, Q3 + 1.5 IQR]
+        static double[] removeOutliers(double[] values) {
+            if (values.length < 4) {
+                return values.clone();
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            double q1 = quantile(sorted, 0.25);
+            double q3 = quantile(sorted, 0.75);
+            double iqr = q3 - q1;
+            return Arrays.stream(values).filter(v -> v >= q1 - 1.5 * iqr && v <= q3 + 1.5 * iqr).toArray();
+        }
+
+        // Linear interpolation between closest ranks
+        static double quantile(double[] sorted, double q) {
+            double position = q * (sorted.length - 1);
+            int lower = (int) Math.floor(position);
+            int upper = Math.min(lower + 1, sorted.length - 1);
+            return sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]);
+        }
+
+        // Welch's unequal-variance t-test; returns {t, degrees of freedom, two-sided p}
+        static double[] welchTest(double[] a, double[] b) {
+            double varianceA = stdev(a) * stdev(a) / a.length;
+            double varianceB = stdev(b) * stdev(b) / b.length;
+            double t = (mean(a) - mean(b)) / Math.sqrt(varianceA + varianceB);
+            double df = (varianceA + varianceB) * (varianceA + varianceB)
+                    / (varianceA * varianceA / (a.length - 1) + varianceB * varianceB / (b.length - 1));
+            return new double[]{t, df, tTwoSidedP(t, df)};
+        }
+
+        // Two-sided p-value of Student's t distribution
+        static double tTwoSidedP(double t, double df) {
+            return incompleteBeta(df / 2, 0.5, df / (df + t * t));
+        }
+
+        // t such that the two-sided tail probability equals alpha
+        static double tQuantile(double alpha, double df) {
+            double low = 0;
+            double high = 1e4;
+            for (int i = 0; i < 200; i++) {
+                double mid = (low + high) / 2;
+                if (tTwoSidedP(mid, df) > alpha) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            return (low + high) / 2;
+        }
+
+        // Regularized incomplete beta I_x(a, b), continued fraction from Numerical Recipes
+        static double incompleteBeta(double a, double b, double x) {
+            if (x <= 0) {
+                return 0;
+            }
+            if (x >= 1) {
+                return 1;
+            }
+            double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                    + a * Math.log(x) + b * Math.log(1 - x));
+            if (x < (a + 1) / (a + b + 2)) {
+                return front * betaContinuedFraction(a, b, x) / a;
+            }
+            return 1 - front * betaContinuedFraction(b, a, 1 - x) / b;
+        }
+
+        private static double betaContinuedFraction(double a, double b, double x) {
+            double tiny = 1e-300;
+            double c = 1;
+            double d = 1 - (a + b) * x / (a + 1);
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            double h = d;
+            for (int m = 1; m <= 300; m++) {
+                int m2 = 2 * m;
+                double aa = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+                d = 1 / (Math.abs(1 + aa * d) < tiny ? tiny : 1 + aa * d);
+                c = Math.abs(1 + aa / c) < tiny ? tiny : 1 + aa / c;
+                h *= d * c;
+                aa = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+                d = 1 / (Math.abs(1 + aa * d) < tiny ? tiny : 1 + aa * d);
+                c = Math.abs(1 + aa / c) < tiny ? tiny : 1 + aa / c;
+                double delta = d * c;
+                h *= delta;
+                if (Math.abs(delta - 1) < 1e-12) {
+                    break;
+                }
+            }
+            return h;
+        }
+
+        // Lanczos approximation
+        private static double logGamma(double x) {
+            double[] coefficients = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+                    -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+            double y = x;
+            double tmp = x + 5.5;
+            tmp -= (x + 0.5) * Math.log(tmp);
+            double series = 1.000000000190015;
+            for (double coefficient : coefficients) {
+                series += coefficient / ++y;
+            }
+            return -tmp + Math.log(2.5066282746310005 * series / x);
+        }
+    }
+
+    // Runs in each forked JVM: invokes main repeatedly and prints one SAMPLE line per iteration
+    private static void runChild(String[] args) throws Exception {
+        String mainClass = args[1];
+        int iterations = Integer.parseInt(args[2]);
+        String metric = args[3].isEmpty() ? null : args[3];
+        String[] benchmarkArgs = Arrays.copyOfRange(args, 4, args.length);
+        Method main = Class.forName(mainClass).getMethod("main", String[].class);
+        PrintStream realOut = System.out;
+
+        for (int i = 0; i < iterations; i++) {
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(captured, true));
+            long start = System.nanoTime();
+            try {
+                main.invoke(null, (Object) benchmarkArgs.clone());
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            } finally {
+                System.setOut(realOut);
+            }
+            double wallMs = (System.nanoTime() - start) / 1_000_000.0;
+            if (ALL_ROWS.equals(metric)) {
+                realOut.println(ROW_PREFIX + "Wall time (ms)\t" + wallMs);
+                for (Map.Entry<String, Double> row : ResultTables.readAll(captured.toString()).entrySet()) {
+                    realOut.println(ROW_PREFIX + row.getKey() + "\t" + row.getValue());
+                }
+            }
+            double value = metric == null || ALL_ROWS.equals(metric) ? wallMs : readMetric(captured.toString(), metric);
+            realOut.println(SAMPLE_PREFIX + value);
+        }
+    }
+
+    // Reads the COL-th number (1-based) of the last table row whose first cell is ROW
+    static double readMetric(String output, String metric) {
+        int hash = metric.lastIndexOf('#');
+        String row = hash < 0 ? metric : metric.substring(0, hash);
+        int column = hash < 0 ? 1 : Integer.parseInt(metric.substring(hash + 1));
+        Double value = null;
+        for (String line : output.split("\\R")) {
+            String[] cells = line.split("\\|");
+            if (cells.length < 3 || !cells[1].trim().equals(row)) {
+                continue;
+            }
+            int numeric = 0;
+            for (int i = 2; i < cells.length; i++) {
+                Double parsed = ResultTables.parseNumber(cells[i]);
+                if (parsed != null && ++numeric == column) {
+                    value = parsed;
+                    break;
+                }
+            }
+        }
+        if (value == null) {
+            throw new IllegalStateException("No numeric cell " + column + " in a row named '" + row + "'");
+        }
+        return value;
+    }
+
+    // Forks one JVM running the child loop and passes every stdout line to the handler
+    static void forkChild(Options options, String mainClass, String metric, Consumer<String> handler)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(options.jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(RepetitionRunner.class.getName());
+        command.add(CHILD_FLAG);
+        command.add(mainClass);
+        command.add(String.valueOf(options.warmup + options.iterations));
+        command.add(metric == null ? "" : metric);
+        command.addAll(options.benchmarkArgs);
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                handler.accept(line);
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException(mainClass + " fork failed (exit code " + exitCode + ")");
+        }
+    }
+
+    // Forks one JVM and returns its measured (post-warm-up) samples
+    private static double[] runFork(Options options, String mainClass, String metric) throws IOException, InterruptedException {
+        List<Double> samples = new ArrayList<>();
+        forkChild(options, mainClass, metric, line -> {
+            if (line.startsWith(SAMPLE_PREFIX)) {
+                samples.add(Double.parseDouble(line.substring(SAMPLE_PREFIX.length())));
+            }
+        });
+        if (samples.size() != options.warmup + options.iterations) {
+            throw new IllegalStateException(mainClass + " fork returned " + samples.size() + " samples");
+        }
+        return samples.subList(options.warmup, samples.size()).stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    static Summary measure(Options options, String mainClass, String metric) throws IOException, InterruptedException {
+        List<double[]> forks = new ArrayList<>();
+        for (int fork = 1; fork <= options.forks; fork++) {
+            System.out.printf("%s: fork %d/%d...%n", mainClass, fork, options.forks);
+            forks.add(runFork(options, mainClass, metric));
+        }
+        return new Summary(mainClass, metric == null ? "ms/run" : metric, forks);
+    }
+
+    private static void printResults(Options options, List<Summary> summaries) {
+        System.out.printf("%n=== Repetition Results (%d forks x %d iterations, %d warm-up) ===%n",
+                options.forks, options.iterations, options.warmup);
+        System.out.println("+--------------------------+--------------------------+---------+----------+--------------+--------------+--------------+--------------+");
+        System.out.println("| Benchmark                | Metric                   | Samples | Outliers | Mean         | Stdev        | 99% CI (+/-) | Fork stdev   |");
+        System.out.println("+--------------------------+--------------------------+---------+----------+--------------+--------------+--------------+--------------+");
+        for (Summary s : summaries) {
+            System.out.printf("| %-24s | %-24s | %,7d | %,8d | %,12.3f | %,12.3f | %,12.3f | %,12.3f |\n",
+                    s.name, s.unit, s.samples.length, s.outliers, s.mean, s.stdev, s.ciHalfWidth, s.forkStdev);
+        }
+        System.out.println("+--------------------------+--------------------------+---------+----------+--------------+--------------+--------------+--------------+");
+
+        System.out.println("README rows (mean +/- 99% CI):");
+        for (Summary s : summaries) {
+            System.out.printf("| %s | %,.2f +/- %,.2f |%n", s.name, s.mean, s.ciHalfWidth);
+        }
+
+        if (summaries.size() == 2) {
+            Summary a = summaries.get(0);
+            Summary b = summaries.get(1);
+            double[] welch = Stats.welchTest(a.samples, b.samples);
+            double t = welch[0];
+            double df = welch[1];
+            double p = welch[2];
+            System.out.printf("%nWelch t-test %s vs %s: difference %+,.3f (%+.1f%%), t=%.2f, df=%.1f, p=%.4g -> %s at %.0f%%%n",
+                    a.name, b.name, a.mean - b.mean, (a.mean / b.mean - 1) * 100, t, df, p,
+                    p < SIGNIFICANCE ? "significant" : "not significant", SIGNIFICANCE * 100);
+        }
+    }
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--forks":
+                    options.forks = Integer.parseInt(args[++i]);
+                    break;
+                case "--iterations":
+                    options.iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--warmup":
+                    options.warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--metric":
+                    options.metric = args[++i];
+                    break;
+                case "--vs":
+                    options.vsClass = args[++i];
+                    break;
+                case "--vs-metric":
+                    options.vsMetric = args[++i];
+                    break;
+                case "--jvm-args":
+                    options.jvmArgs.addAll(Arrays.asList(args[++i].trim().split("\\s+")));
+                    break;
+                case "--":
+                    options.benchmarkArgs.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                    i = args.length;
+                    break;
+                default:
+                    if (options.mainClass != null) {
+                        throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                    }
+                    options.mainClass = args[i];
+            }
+        }
+        if (options.mainClass == null) {
+            throw new IllegalArgumentException("Missing benchmark main class");
+        }
+        if (options.vsMetric == null) {
+            options.vsMetric = options.metric;
+        }
+        return options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(CHILD_FLAG)) {
+            runChild(args);
+            return;
+        }
+        Options options = parse(args);
+        System.out.println("Starting Repetition Runner...");
+        List<Summary> summaries = new ArrayList<>();
+        summaries.add(measure(options, options.mainClass, options.metric));
+        if (options.vsClass != null) {
+            summaries.add(measure(options, options.vsClass, options.vsMetric));
+        }
+        printResults(options, summaries);
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads every numeric cell out of the ASCII result tables the benchmarks print.
+ * Each value is keyed as "section / row / column": the section is the last
+ * "=== ... ===" title, the row is the text of the leading non-numeric cells and
+ * the column comes from the table's header row, so for example
+ * "Combined Test Results / Complex Condition / Execution Time (ms)" or
+ * "Skewed Workload Scheduler Results / ForkJoinPool (split) uniform / p99 (ms)".
+ */
+public class ResultTables {
+    private ResultTables() {
+    }
+
+    public static Map<String, Double> readAll(String output) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        String section = "";
+        String[] header = null;
+        boolean inTable = false;
+        for (String line : output.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("===")) {
+                section = trimmed.replace("=", "").trim();
+                inTable = false;
+            } else if (trimmed.startsWith("+-")) {
+                if (!inTable) {
+                    inTable = true;
+                    header = null;
+                }
+            } else if (trimmed.startsWith("|") && inTable) {
+                String[] cells = trimmed.split("\\|");
+                if (header == null) {
+                    header = cells;
+                    continue;
+                }
+                if (cells.length < 3) {
+                    continue;
+                }
+                StringBuilder row = new StringBuilder(cells[1].trim());
+                int first = 2;
+                while (first < cells.length && parseNumber(cells[first]) == null) {
+                    row.append(' ').append(cells[first++].trim());
+                }
+                for (int i = first; i < cells.length; i++) {
+                    Double value = parseNumber(cells[i]);
+                    if (value != null) {
+                        String column = i < header.length ? header[i].trim() : "#" + i;
+                        String key = key(section, row.toString().trim(), column);
+                        // Repeated tables under one title (e.g. per-size runs) get numbered keys
+                        for (int n = 2; values.containsKey(key); n++) {
+                            key = key(section, row.toString().trim(), column) + " (" + n + ")";
+                        }
+                        values.put(key, value);
+                    }
+                }
+            } else {
+                inTable = false;
+            }
+        }
+        return values;
+    }
+
+    // Accepts the repo's printf formats: grouping commas and trailing percent signs
+    static Double parseNumber(String cell) {
+        String text = cell.trim().replace(",", "").replace("%", "");
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String key(String section, String row, String column) {
+        return (section.isEmpty() ? "" : section + " / ") + row + " / " + column;
+    }
+}
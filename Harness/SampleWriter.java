@@ -0,0 +1,295 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends CSV rows of long fields to a file for high-rate sample logging.
+ * Four backends share the same output format: PrintStream with autoflush (what
+ * redirecting System.out amounts to), BufferedWriter, FileChannel writes from a
+ * direct ByteBuffer, and appends into a MappedByteBuffer. The two ByteBuffer
+ * backends format digits themselves and allocate nothing per row.
+ * Not thread-safe: one writer per thread, or synchronize around whole rows.
+ *
+ * Usage: writer.field(a).field(b).endRow(); ... writer.close();
+ */
+public abstract class SampleWriter implements Closeable {
+    public enum Kind {
+        PRINT_STREAM("PrintStream (autoflush)"),
+        BUFFERED_WRITER("BufferedWriter"),
+        FILE_CHANNEL("FileChannel + direct buffer"),
+        MAPPED("MappedByteBuffer");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        // Accepts the enum name or a short alias: print, buffered, channel, mapped
+        public static Kind parse(String name) {
+            switch (name.toLowerCase()) {
+                case "print":
+                    return PRINT_STREAM;
+                case "buffered":
+                    return BUFFERED_WRITER;
+                case "channel":
+                    return FILE_CHANNEL;
+                case "mapped":
+                    return MAPPED;
+                default:
+                    return valueOf(name.toUpperCase());
+            }
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAPPED_CHUNK = 64 * 1024 * 1024;
+    private static final int MAX_FIELD_BYTES = 21; // Sign, 19 digits and a separator
+
+    protected boolean rowStarted;
+
+    public static SampleWriter open(Kind kind, Path file) throws IOException {
+        switch (kind) {
+            case PRINT_STREAM:
+                return new PrintStreamWriter(file);
+            case BUFFERED_WRITER:
+                return new BufferedSampleWriter(file);
+            case FILE_CHANNEL:
+                return new ChannelWriter(file);
+            default:
+                return new MappedWriter(file);
+        }
+    }
+
+    public abstract SampleWriter field(long value) throws IOException;
+
+    public abstract void endRow() throws IOException;
+
+    /** Writes a header row of column names; call it once before the first sample. */
+    public abstract void header(String... columns) throws IOException;
+
+    /** Bytes written so far, including anything still buffered. */
+    public abstract long bytesWritten();
+
+    // Like System.out redirected to a file: every row ends in println, which flushes
+    static class PrintStreamWriter extends SampleWriter {
+        private final PrintStream out;
+        private long bytes;
+
+        PrintStreamWriter(Path file) throws IOException {
+            out = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile()), 8192), true);
+        }
+
+        @Override
+        public SampleWriter field(long value) {
+            String text = Long.toString(value);
+            if (rowStarted) {
+                out.print(',');
+                bytes++;
+            }
+            out.print(text);
+            bytes += text.length();
+            rowStarted = true;
+            return this;
+        }
+
+        @Override
+        public void endRow() {
+            out.println();
+            bytes++;
+            rowStarted = false;
+        }
+
+        @Override
+        public void header(String... columns) {
+            String line = String.join(",", columns);
+            out.println(line);
+            bytes += line.length() + 1;
+        }
+
+        @Override
+        public long bytesWritten() {
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            out.close();
+        }
+    }
+
+    static class BufferedSampleWriter extends SampleWriter {
+        private final BufferedWriter out;
+        private long bytes;
+
+        BufferedSampleWriter(Path file) throws IOException {
+            out = Files.newBufferedWriter(file);
+        }
+
+        @Override
+        public SampleWriter field(long value) throws IOException {
+            String text = Long.toString(value);
+            if (rowStarted) {
+                out.write(',');
+                bytes++;
+            }
+            out.write(text);
+            bytes += text.length();
+            rowStarted = true;
+            return this;
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            out.write('\n');
+            bytes++;
+            rowStarted = false;
+        }
+
+        @Override
+        public void header(String... columns) throws IOException {
+            String line = String.join(",", columns);
+            out.write(line);
+            out.write('\n');
+            bytes += line.length() + 1;
+        }
+
+        @Override
+        public long bytesWritten() {
+            return bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /** Shared digit formatting for the ByteBuffer backends; ensureSpace makes room before each put. */
+    abstract static class ByteBufferWriter extends SampleWriter {
+        private final byte[] digits = new byte[20];
+        protected ByteBuffer buffer;
+
+        protected abstract void ensureSpace(int bytes) throws IOException;
+
+        @Override
+        public SampleWriter field(long value) throws IOException {
+            ensureSpace(MAX_FIELD_BYTES);
+            if (rowStarted) {
+                buffer.put((byte) ',');
+            }
+            if (value < 0) {
+                buffer.put((byte) '-');
+            }
+            int start = digits.length;
+            // Negative remainders avoid overflow on Long.MIN_VALUE
+            long remaining = value < 0 ? value : -value;
+            do {
+                digits[--start] = (byte) ('0' - remaining % 10);
+                remaining /= 10;
+            } while (remaining != 0);
+            buffer.put(digits, start, digits.length - start);
+            rowStarted = true;
+            return this;
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            ensureSpace(1);
+            buffer.put((byte) '\n');
+            rowStarted = false;
+        }
+
+        @Override
+        public void header(String... columns) throws IOException {
+            byte[] line = (String.join(",", columns) + "\n").getBytes(StandardCharsets.US_ASCII);
+            ensureSpace(line.length);
+            buffer.put(line);
+        }
+    }
+
+    static class ChannelWriter extends ByteBufferWriter {
+        private final FileChannel channel;
+        private long flushed;
+
+        ChannelWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+
+        @Override
+        protected void ensureSpace(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public long bytesWritten() {
+            return flushed + buffer.position();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+            channel.close();
+        }
+    }
+
+    // Maps the file in 64 MB windows; the file grows with each new window and is trimmed on close
+    static class MappedWriter extends ByteBufferWriter {
+        private final FileChannel channel;
+        private long windowStart;
+
+        MappedWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, MAPPED_CHUNK);
+        }
+
+        @Override
+        protected void ensureSpace(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                windowStart += buffer.position();
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, MAPPED_CHUNK);
+            }
+        }
+
+        @Override
+        public long bytesWritten() {
+            return windowStart + buffer.position();
+        }
+
+        @Override
+        public void close() throws IOException {
+            long length = bytesWritten();
+            ((MappedByteBuffer) buffer).force();
+            buffer = null;
+            channel.truncate(length);
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sample logging I/O benchmark for SampleWriter.
+ * Each backend appends rows of four long fields (sequence, timestamp, value, bucket)
+ * to a file, as a benchmark would when recording per-batch samples:
+ * - throughput pass: rows/s and MB/s including close, bytes allocated per row and
+ *   the GCs it caused
+ * - latency pass: every append timed into a LatencyHistogram (includes ~20 ns of
+ *   System.nanoTime overhead per row)
+ * - disturbance pass: a fixed CPU workload records one row per batch, compared with
+ *   the same workload recording nothing
+ * Files go to samples.dir (default java.io.tmpdir) and are deleted afterwards unless
+ * -Dsamples.keep=true.
+ *
+ * Usage: SampleWriterBenchmark [rows] [batches]
+ */
+public class SampleWriterBenchmark {
+    private static final String[] COLUMNS = {"sequence", "timestamp_ns", "value", "bucket"};
+    private static final int WORK_PER_BATCH = 200; // xorshift rounds, roughly 0.3 us
+
+    private static class WriterResult {
+        String writer;
+        double rowsPerSec;
+        double mbPerSec;
+        LatencyHistogram latency;
+        double allocatedBytesPerRow;
+        long gcCount;
+        long gcTimeMs;
+        double slowdownPercent;
+
+        WriterResult(String writer) {
+            this.writer = writer;
+        }
+    }
+
+    private final Path directory = Paths.get(System.getProperty("samples.dir", System.getProperty("java.io.tmpdir")));
+    private final boolean keepFiles = Boolean.getBoolean("samples.keep");
+    private final List<WriterResult> results = new ArrayList<>();
+    private long sink;
+
+    private Path fileFor(SampleWriter.Kind kind) {
+        return directory.resolve("samples-" + kind.name().toLowerCase() + ".csv");
+    }
+
+    private static void writeRow(SampleWriter writer, long i, long now) throws IOException {
+        writer.field(i).field(now).field(i * 31).field(i & 1023).endRow();
+    }
+
+    // Closes the writer and checks the file holds exactly what the writer reported
+    private void finish(SampleWriter writer, Path file) throws IOException {
+        long expected = writer.bytesWritten();
+        writer.close();
+        long actual = Files.size(file);
+        if (actual != expected) {
+            throw new IllegalStateException(file + " has " + actual + " bytes, writer reported " + expected);
+        }
+    }
+
+    private void cleanUp(Path file) throws IOException {
+        if (!keepFiles) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void measureThroughput(SampleWriter.Kind kind, long rows, WriterResult result) throws IOException {
+        Path file = fileFor(kind);
+        long[] gcBefore = gcTotals();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        SampleWriter writer = SampleWriter.open(kind, file);
+        writer.header(COLUMNS);
+        for (long i = 0; i < rows; i++) {
+            writeRow(writer, i, System.nanoTime());
+        }
+        long bytes = writer.bytesWritten();
+        finish(writer, file);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        long[] gcAfter = gcTotals();
+        cleanUp(file);
+
+        result.rowsPerSec = rows * 1e9 / elapsed;
+        result.mbPerSec = bytes * 1e9 / elapsed / (1024.0 * 1024);
+        result.allocatedBytesPerRow = (double) allocated / rows;
+        result.gcCount = gcAfter[0] - gcBefore[0];
+        result.gcTimeMs = gcAfter[1] - gcBefore[1];
+    }
+
+    private LatencyHistogram measureLatency(SampleWriter.Kind kind, long rows) throws IOException {
+        Path file = fileFor(kind);
+        LatencyHistogram histogram = new LatencyHistogram();
+        SampleWriter writer = SampleWriter.open(kind, file);
+        writer.header(COLUMNS);
+        for (long i = 0; i < rows; i++) {
+            long before = System.nanoTime();
+            writeRow(writer, i, before);
+            histogram.record(System.nanoTime() - before);
+        }
+        finish(writer, file);
+        cleanUp(file);
+        return histogram;
+    }
+
+    private static long work(long seed) {
+        long x = seed | 1;
+        for (int k = 0; k < WORK_PER_BATCH; k++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+
+    // Nanoseconds for the workload alone, or with one row per batch when kind is non-null
+    private long runWorkload(SampleWriter.Kind kind, long batches) throws IOException {
+        Path file = kind == null ? null : fileFor(kind);
+        SampleWriter writer = kind == null ? null : SampleWriter.open(kind, file);
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (long batch = 0; batch < batches; batch++) {
+            long value = work(batch + checksum);
+            checksum += value;
+            if (writer != null) {
+                writeRow(writer, batch, System.nanoTime() - start);
+            }
+        }
+        if (writer != null) {
+            finish(writer, file);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += checksum;
+        if (file != null) {
+            cleanUp(file);
+        }
+        return elapsed;
+    }
+
+    public void runAll(long rows, long batches, boolean record) throws IOException {
+        long baseline = runWorkload(null, batches);
+        for (SampleWriter.Kind kind : SampleWriter.Kind.values()) {
+            WriterResult result = new WriterResult(kind.getLabel());
+            measureThroughput(kind, rows, result);
+            result.latency = measureLatency(kind, rows);
+            // Rerun the baseline after each backend so a drifting machine does not favour the first one
+            long logged = runWorkload(kind, batches);
+            long rerun = runWorkload(null, batches);
+            baseline = Math.min(baseline, rerun);
+            result.slowdownPercent = ((double) logged / baseline - 1) * 100;
+            if (record) {
+                results.add(result);
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gcBean.getCollectionCount());
+            time += Math.max(0, gcBean.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    public void printResults(long rows, long batches) {
+        System.out.printf("\n=== Sample Writer Results (%,d rows, %,d workload batches) ===\n", rows, batches);
+        System.out.println("+-----------------------------+--------------+---------+---------+---------+----------+-----------+------------+----------+-------------+------------+");
+        System.out.println("| Writer                      | Rows/s       | MB/s    | p50 ns  | p99 ns  | p99.9 ns | Max us    | Alloc B/row| GC Count | GC Time(ms) | Slowdown   |");
+        System.out.println("+-----------------------------+--------------+---------+---------+---------+----------+-----------+------------+----------+-------------+------------+");
+        for (WriterResult r : results) {
+            System.out.printf("| %-27s | %,12.0f | %,7.1f | %,7d | %,7d | %,8d | %,9.1f | %,10.1f | %,8d | %,11d | %+9.1f%% |\n",
+                    r.writer, r.rowsPerSec, r.mbPerSec, r.latency.getPercentile(50), r.latency.getPercentile(99),
+                    r.latency.getPercentile(99.9), r.latency.getMax() / 1000.0, r.allocatedBytesPerRow,
+                    r.gcCount, r.gcTimeMs, r.slowdownPercent);
+        }
+        System.out.println("+-----------------------------+--------------+---------+---------+---------+----------+-----------+------------+----------+-------------+------------+");
+        System.out.println("Slowdown: workload time with one row per batch vs the same workload recording nothing");
+    }
+
+    public static void main(String[] args) throws IOException {
+        long rows = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        long batches = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        System.out.println("Sample Writer Benchmark:");
+        System.out.println("==================================");
+        SampleWriterBenchmark benchmark = new SampleWriterBenchmark();
+
+        // Warm-up pass so every backend and the workload are compiled before they are measured
+        benchmark.runAll(Math.max(1, rows / 10), Math.max(1, batches / 10), false);
+
+        benchmark.runAll(rows, batches, true);
+        benchmark.printResults(rows, batches);
+
+        System.out.println("==================================");
+        System.out.println("Sample Writer Benchmark Completed (checksum " + (benchmark.sink & 0xff) + ")");
+    }
+}
@@ -0,0 +1,358 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Startup and class-loading benchmark for the Java and Kotlin entry points.
+ * Launches each main class in a fresh JVM per run with a tiny workload
+ * (-DdurationMs / -Diterations) and measures launch-to-main, launch-to-first-output
+ * and launch-to-exit. Loaded classes come from ClassLoadingMXBean and from
+ * -Xlog:class+load, split into Kotlin stdlib, non-JDK lambda and CDS-archived classes.
+ * Variants: default (JDK CDS archive), -Xshare:off, -XX:TieredStopAtLevel=1,
+ * and a dynamic AppCDS archive (-XX:ArchiveClassesAtExit training run, then
+ * -XX:SharedArchiveFile) with and without C1-only. CDS only archives classes
+ * loaded from jars, so classpath directories are packed into jars first and
+ * every variant launches from that same classpath.
+ *
+ * Usage: StartupBenchmark [--runs N] [MainClass ...]
+ *        StartupBenchmark --create-archive FILE MainClass[,MainClass...]
+ *        StartupBenchmark [--runs N] --archive FILE [MainClass ...]
+ * --create-archive records one AppCDS archive from a training run of all the given
+ * entry points; --archive reruns the entry points with and without it and reports
+ * the startup and peak RSS change. Both need a jar-only classpath, since the archive
+ * is only valid for the classpath it was created with.
+ */
+public class StartupBenchmark {
+    private static final String PROBE_FLAG = "--probe";
+    private static final String PROBE_PREFIX = "PROBE ";
+    private static final String[] DEFAULT_TARGETS = {"GCTest", "GCTestKt", "JavaBenchmark", "InlineBenchmarkKt"};
+    // Shrinks the fixed-length workloads so a run measures startup, not steady state
+    private static final String[] WORKLOAD_PARAMS = {"-DdurationMs=200", "-Diterations=100000"};
+    private static final Pattern CLASS_LOAD = Pattern.compile("\\] (\\S+) source: (.*)$");
+    private static final Pattern JDK_CLASS = Pattern.compile("java\\.|javax\\.|jdk\\.|sun\\.|com\\.sun\\.");
+
+    private static class StartupResult {
+        String target;
+        String variant;
+        double mainEntryMs;
+        double firstOutputMs;
+        double exitMs;
+        long loadedClasses;
+        long kotlinClasses;
+        long lambdaClasses;
+        long sharedClasses;
+        double peakRssMb;
+
+        StartupResult(String target, String variant) {
+            this.target = target;
+            this.variant = variant;
+        }
+    }
+
+    private final List<StartupResult> results = new ArrayList<>();
+    private final Path workDir;
+    private final String classPath;
+
+    public StartupBenchmark(Path workDir) throws IOException {
+        this.workDir = workDir;
+        this.classPath = jarClassPath(workDir);
+    }
+
+    // Replaces each directory on java.class.path with a jar of its contents
+    private static String jarClassPath(Path workDir) throws IOException {
+        List<String> entries = new ArrayList<>();
+        int index = 0;
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path source = Paths.get(entry);
+            if (!Files.isDirectory(source)) {
+                entries.add(entry);
+                continue;
+            }
+            Path jar = workDir.resolve("classes-" + index++ + ".jar");
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(source)) {
+                files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+            }
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                for (Path file : files) {
+                    out.putNextEntry(new JarEntry(source.relativize(file).toString().replace(File.separatorChar, '/')));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            }
+            entries.add(jar.toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    // Runs in the launched JVM: reports uptime at main entry, then class counts and peak RSS once the mains return
+    private static void runProbe(String[] args) throws Exception {
+        long entryUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        for (String mainClass : args[1].split(",")) {
+            Method main = Class.forName(mainClass).getMethod("main", String[].class);
+            try {
+                main.invoke(null, (Object) Arrays.copyOfRange(args, 2, args.length));
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        System.out.flush();
+        System.err.println(PROBE_PREFIX + entryUptime + " "
+                + ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() + " " + peakRssKb());
+    }
+
+    // VmHWM from /proc/self/status (Linux only), -1 elsewhere
+    private static long peakRssKb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux
+        }
+        return -1;
+    }
+
+    private List<String> javaCommand(List<String> jvmArgs, Path classLog, String target) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList(WORKLOAD_PARAMS));
+        if (classLog != null) {
+            command.add("-Xlog:class+load=info:file=" + classLog);
+        }
+        command.add("-cp");
+        command.add(classPath);
+        command.add(StartupBenchmark.class.getName());
+        command.add(PROBE_FLAG);
+        command.add(target);
+        return command;
+    }
+
+    // One timed launch; returns null if the JVM rejected the flags
+    private StartupResult launch(String target, String variant, List<String> jvmArgs) throws IOException, InterruptedException {
+        Path classLog = workDir.resolve(target + "-classes.log");
+        Path errLog = workDir.resolve(target + "-stderr.log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(javaCommand(jvmArgs, classLog, target))
+                .redirectError(errLog.toFile()).start();
+        long firstOutput = -1;
+        try (InputStream out = process.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = out.read(buffer)) >= 0) {
+                if (read > 0 && firstOutput < 0) {
+                    firstOutput = System.nanoTime();
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        long end = System.nanoTime();
+        if (exitCode != 0) {
+            System.err.printf("%s [%s] exited with %d, see %s%n", target, variant, exitCode, errLog);
+            return null;
+        }
+
+        StartupResult result = new StartupResult(target, variant);
+        result.exitMs = (end - start) / 1_000_000.0;
+        result.firstOutputMs = firstOutput < 0 ? result.exitMs : (firstOutput - start) / 1_000_000.0;
+        for (String line : Files.readAllLines(errLog)) {
+            if (line.startsWith(PROBE_PREFIX)) {
+                String[] fields = line.substring(PROBE_PREFIX.length()).split(" ");
+                result.mainEntryMs = Double.parseDouble(fields[0]);
+                result.loadedClasses = Long.parseLong(fields[1]);
+                result.peakRssMb = Long.parseLong(fields[2]) / 1024.0;
+            }
+        }
+        for (String line : Files.readAllLines(classLog)) {
+            Matcher matcher = CLASS_LOAD.matcher(line);
+            if (!matcher.find()) {
+                continue;
+            }
+            String name = matcher.group(1);
+            if (name.startsWith("kotlin.")) {
+                result.kotlinClasses++;
+            }
+            // Java lambdas are hidden $$Lambda classes; Kotlin 1.8 compiles lambdas to Outer$fn$1 classes.
+            // The JDK's own lambdas and anonymous classes are left out, so only the benchmark and its libraries count
+            if (!JDK_CLASS.matcher(name).lookingAt() && (name.contains("$$Lambda") || name.matches(".*\\$\\d+$"))) {
+                result.lambdaClasses++;
+            }
+            if (matcher.group(2).startsWith("shared objects file")) {
+                result.sharedClasses++;
+            }
+        }
+        return result;
+    }
+
+    // Averages several launches of one target/variant into a single row
+    public void runVariant(String target, String variant, List<String> jvmArgs, int runs) throws IOException, InterruptedException {
+        StartupResult sum = new StartupResult(target, variant);
+        int completed = 0;
+        for (int i = 0; i < runs; i++) {
+            StartupResult run = launch(target, variant, jvmArgs);
+            if (run == null) {
+                break;
+            }
+            sum.mainEntryMs += run.mainEntryMs;
+            sum.firstOutputMs += run.firstOutputMs;
+            sum.exitMs += run.exitMs;
+            sum.peakRssMb += run.peakRssMb;
+            sum.loadedClasses = run.loadedClasses;
+            sum.kotlinClasses = run.kotlinClasses;
+            sum.lambdaClasses = run.lambdaClasses;
+            sum.sharedClasses = run.sharedClasses;
+            completed++;
+        }
+        if (completed == 0) {
+            sum.exitMs = -1; // Printed as n/a
+            results.add(sum);
+            return;
+        }
+        sum.mainEntryMs /= completed;
+        sum.firstOutputMs /= completed;
+        sum.exitMs /= completed;
+        sum.peakRssMb /= completed;
+        results.add(sum);
+    }
+
+    // Training run that dumps the classes the targets loaded into a dynamic AppCDS archive
+    public boolean createArchive(String targets, Path archive) throws IOException, InterruptedException {
+        Files.deleteIfExists(archive);
+        List<String> jvmArgs = new ArrayList<>();
+        jvmArgs.add("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+        Path log = workDir.resolve(targets.replace(',', '_') + "-archive.log");
+        Process process = new ProcessBuilder(javaCommand(jvmArgs, null, targets))
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(log.toFile()).start();
+        if (process.waitFor() != 0 || !Files.exists(archive)) {
+            System.out.println("AppCDS archive creation failed for " + targets + " (needs JDK 13+), see " + log);
+            return false;
+        }
+        return true;
+    }
+
+    private void printResults() {
+        System.out.println("\n=== Startup and Class Loading Results ===");
+        System.out.println("+----------------------+------------------+------------+--------------+------------+----------+----------+----------+----------+------------+");
+        System.out.println("| Entry Point          | Variant          | Main (ms)  | Output (ms)  | Exit (ms)  | Classes  | kotlin.* | Lambdas  | From CDS | RSS (MB)   |");
+        System.out.println("+----------------------+------------------+------------+--------------+------------+----------+----------+----------+----------+------------+");
+        for (StartupResult r : results) {
+            if (r.exitMs < 0) {
+                System.out.printf("| %-20s | %-16s | %10s | %12s | %10s | %8s | %8s | %8s | %8s | %10s |\n",
+                        r.target, r.variant, "n/a", "n/a", "n/a", "n/a", "n/a", "n/a", "n/a", "n/a");
+                continue;
+            }
+            System.out.printf("| %-20s | %-16s | %,10.1f | %,12.1f | %,10.1f | %,8d | %,8d | %,8d | %,8d | %,10.1f |\n",
+                    r.target, r.variant, r.mainEntryMs, r.firstOutputMs, r.exitMs,
+                    r.loadedClasses, r.kotlinClasses, r.lambdaClasses, r.sharedClasses, r.peakRssMb);
+        }
+        System.out.println("+----------------------+------------------+------------+--------------+------------+----------+----------+----------+----------+------------+");
+        System.out.println("Main: JVM uptime at main(); Output: launch to first stdout byte; Exit: launch to process exit; RSS: peak resident set");
+    }
+
+    // Change from the first variant of each target to the given one
+    private void printArchiveComparison(String variant, Path archive) throws IOException {
+        System.out.println("\n=== AppCDS Archive Impact ===");
+        System.out.printf("Archive: %s (%,.1f MB)%n", archive, Files.size(archive) / (1024.0 * 1024.0));
+        System.out.println("+----------------------+--------------+--------------+--------------+");
+        System.out.println("| Entry Point          | Main         | Output       | Peak RSS     |");
+        System.out.println("+----------------------+--------------+--------------+--------------+");
+        StartupResult base = null;
+        for (StartupResult r : results) {
+            if (base == null || !base.target.equals(r.target)) {
+                base = r;
+            } else if (r.variant.equals(variant) && base.exitMs > 0 && r.exitMs > 0) {
+                System.out.printf("| %-20s | %+11.1f%% | %+11.1f%% | %+11.1f%% |\n", r.target,
+                        (r.mainEntryMs / base.mainEntryMs - 1) * 100,
+                        (r.firstOutputMs / base.firstOutputMs - 1) * 100,
+                        (r.peakRssMb / base.peakRssMb - 1) * 100);
+            }
+        }
+        System.out.println("+----------------------+--------------+--------------+--------------+");
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(PROBE_FLAG)) {
+            runProbe(args);
+            return;
+        }
+        System.out.println("Starting Startup Benchmark...");
+        int runs = 5;
+        Path createArchive = null;
+        Path archive = null;
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--runs")) {
+                runs = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--create-archive")) {
+                createArchive = Paths.get(args[++i]);
+            } else if (args[i].equals("--archive")) {
+                archive = Paths.get(args[++i]);
+            } else {
+                targets.add(args[i]);
+            }
+        }
+        if (targets.isEmpty()) {
+            targets.addAll(Arrays.asList(DEFAULT_TARGETS));
+        }
+
+        Path workDir = Files.createTempDirectory("startup-benchmark");
+        StartupBenchmark benchmark = new StartupBenchmark(workDir);
+        if (createArchive != null) {
+            Files.createDirectories(createArchive.toAbsolutePath().getParent());
+            if (!benchmark.createArchive(String.join(",", targets), createArchive)) {
+                System.exit(1);
+            }
+            System.out.printf("AppCDS archive for %s written to %s (%,.1f MB)%n", String.join(", ", targets),
+                    createArchive.toAbsolutePath(), Files.size(createArchive) / (1024.0 * 1024.0));
+            return;
+        }
+        if (archive != null) {
+            if (!Files.exists(archive)) {
+                throw new IllegalArgumentException("No AppCDS archive at " + archive.toAbsolutePath());
+            }
+            for (String target : targets) {
+                System.out.println("Measuring " + target + "...");
+                benchmark.runVariant(target, "default CDS", new ArrayList<>(), runs);
+                benchmark.runVariant(target, "AppCDS", Arrays.asList("-XX:SharedArchiveFile=" + archive.toAbsolutePath()), runs);
+            }
+            benchmark.printResults();
+            benchmark.printArchiveComparison("AppCDS", archive);
+            return;
+        }
+
+        for (String target : targets) {
+            System.out.println("Measuring " + target + "...");
+            benchmark.runVariant(target, "default CDS", new ArrayList<>(), runs);
+            benchmark.runVariant(target, "-Xshare:off", Arrays.asList("-Xshare:off"), runs);
+            benchmark.runVariant(target, "C1 only", Arrays.asList("-XX:TieredStopAtLevel=1"), runs);
+            Path targetArchive = workDir.resolve(target + ".jsa");
+            if (!benchmark.createArchive(target, targetArchive)) {
+                continue;
+            }
+            benchmark.runVariant(target, "AppCDS", Arrays.asList("-XX:SharedArchiveFile=" + targetArchive), runs);
+            benchmark.runVariant(target, "AppCDS + C1 only",
+                    Arrays.asList("-XX:SharedArchiveFile=" + targetArchive, "-XX:TieredStopAtLevel=1"), runs);
+        }
+        benchmark.printResults();
+        System.out.println("Class logs and archives: " + workDir);
+    }
+}
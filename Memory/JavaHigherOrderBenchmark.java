@@ -3,7 +3,7 @@ import java.lang.management.MemoryMXBean;
 import java.lang.management.MemoryUsage;
 
 public class JavaHigherOrderBenchmark {
-    private static final int ITERATIONS = 1_000_000;
+    private static final int ITERATIONS = Integer.getInteger("iterations", 1_000_000);
 
     @FunctionalInterface
     public interface IntOperation {
@@ -0,0 +1,344 @@
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Memory layout benchmark.
+ * Stores the same records as an array of objects (in allocation order and in
+ * shuffled allocation order), as parallel primitive arrays (struct-of-arrays)
+ * and packed into an off-heap direct buffer, then traverses them sequentially
+ * and in random order at L1-, L2-, L3- and DRAM-sized working sets.
+ * Run it with -XX:+UseCompressedOops and -XX:-UseCompressedOops to see what
+ * wider references cost the object layout. The traversal and reporting helpers
+ * are shared with KotlinMemoryLayoutBenchmark.
+ */
+public class JavaMemoryLayoutBenchmark {
+    // Packed record: int id (padded to 8), double x, double y, long timestamp
+    public static final int RECORD_BYTES = 32;
+    // 16 KB, 256 KB, 4 MB and 128 MB of packed records
+    public static final int[] DEFAULT_SIZES = {512, 8_192, 131_072, 4_194_304};
+    public static final int WARMUP_SIZE = 8_192;
+    // Footprint is measured once per layout on this many records; small sets are lost in heap noise
+    public static final int FOOTPRINT_RECORDS = 1 << 20;
+    private static final long RECORDS_PER_MEASUREMENT = 10_000_000L; // Small sets are traversed repeatedly up to this many records
+    private static final int X_OFFSET = 8;
+    private static final int TIMESTAMP_OFFSET = 24;
+
+    // Keeps results reachable so the JIT cannot drop the measured loops
+    private static volatile long sink;
+    // Keeps a layout alive while its footprint is sampled
+    private static volatile Object retained;
+
+    /** One traversal of a layout, repeated the given number of times; returns a checksum. */
+    @FunctionalInterface
+    public interface Pass {
+        long run(int passes);
+    }
+
+    public static final class Record {
+        final int id;
+        final double x;
+        final double y;
+        final long timestamp;
+
+        Record(int id, double x, double y, long timestamp) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.timestamp = timestamp;
+        }
+    }
+
+    public static class LayoutResult {
+        public final String layout;
+        public final int records;
+        public final double bytesPerRecord;
+        public final double sequentialNs;
+        public final double randomNs;
+
+        public LayoutResult(String layout, int records, double bytesPerRecord, double sequentialNs, double randomNs) {
+            this.layout = layout;
+            this.records = records;
+            this.bytesPerRecord = bytesPerRecord;
+            this.sequentialNs = sequentialNs;
+            this.randomNs = randomNs;
+        }
+    }
+
+    public static final class StructOfArrays {
+        final int[] ids;
+        final double[] xs;
+        final double[] ys;
+        final long[] timestamps;
+
+        StructOfArrays(int records) {
+            ids = new int[records];
+            xs = new double[records];
+            ys = new double[records];
+            timestamps = new long[records];
+            for (int i = 0; i < records; i++) {
+                ids[i] = i;
+                xs[i] = xOf(i);
+                ys[i] = yOf(i);
+                timestamps[i] = timestampOf(i);
+            }
+        }
+    }
+
+    private final List<LayoutResult> results = new ArrayList<>();
+    private final Map<String, Double> footprints = new LinkedHashMap<>();
+
+    // Field values are derived from the id, so every layout holds identical data
+    public static double xOf(int id) {
+        return id * 0.5;
+    }
+
+    public static double yOf(int id) {
+        return id * 0.25;
+    }
+
+    public static long timestampOf(int id) {
+        return 1_700_000_000_000L + id;
+    }
+
+    // Fixed seed, so every layout walks the same random order
+    public static int[] randomOrder(int records) {
+        int[] order = new int[records];
+        for (int i = 0; i < records; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(42);
+        for (int i = records - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /** One untimed pass to fault in and warm the data, then ns per record over the timed passes. */
+    public static double nsPerRecord(int records, Pass pass) {
+        int passes = (int) Math.max(1, RECORDS_PER_MEASUREMENT / records);
+        sink += pass.run(1);
+        long start = System.nanoTime();
+        sink += pass.run(passes);
+        return (double) (System.nanoTime() - start) / ((long) passes * records);
+    }
+
+    public static void forceGC() {
+        System.gc();
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static long usedHeapAfterGc() {
+        forceGC();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /** Heap bytes per record of a layout, from the heap growth while one FOOTPRINT_RECORDS instance is alive. */
+    public static double bytesPerRecord(IntFunction<Object> build) {
+        long before = usedHeapAfterGc();
+        retained = build.apply(FOOTPRINT_RECORDS);
+        long after = usedHeapAfterGc();
+        retained = null;
+        return Math.max(0, after - before) / (double) FOOTPRINT_RECORDS;
+    }
+
+    public static String compressedOops() {
+        HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        return bean == null ? "unknown" : bean.getVMOption("UseCompressedOops").getValue();
+    }
+
+    // Where the packed records would sit in a typical cache hierarchy
+    public static String cacheLevel(int records) {
+        long bytes = (long) records * RECORD_BYTES;
+        if (bytes <= 32 * 1024) {
+            return "L1";
+        } else if (bytes <= 1024 * 1024) {
+            return "L2";
+        } else if (bytes <= 32 * 1024 * 1024) {
+            return "L3";
+        }
+        return "DRAM";
+    }
+
+    // Objects in allocation order sit next to each other in the TLAB; shuffled ones are scattered across it.
+    // A full GC slides objects without reordering them; a young GC copies them in array order and can undo part of the shuffle.
+    public static Record[] buildObjects(int records, boolean shuffled) {
+        int[] allocationOrder = shuffled ? randomOrder(records) : null;
+        Record[] objects = new Record[records];
+        for (int i = 0; i < records; i++) {
+            int id = shuffled ? allocationOrder[i] : i;
+            objects[id] = new Record(id, xOf(id), yOf(id), timestampOf(id));
+        }
+        return objects;
+    }
+
+    public static ByteBuffer buildOffHeap(int records) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(records * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < records; i++) {
+            int base = i * RECORD_BYTES;
+            buffer.putInt(base, i);
+            buffer.putDouble(base + X_OFFSET, xOf(i));
+            buffer.putDouble(base + 16, yOf(i));
+            buffer.putLong(base + TIMESTAMP_OFFSET, timestampOf(i));
+        }
+        return buffer;
+    }
+
+    public void measureFootprints() {
+        footprints.put("Record[] (alloc order)", bytesPerRecord(records -> buildObjects(records, false)));
+        footprints.put("Record[] (shuffled alloc)", bytesPerRecord(records -> buildObjects(records, true)));
+        footprints.put("struct of arrays", bytesPerRecord(StructOfArrays::new));
+        // Off-heap bytes are the buffer itself; none of it shows up in the heap
+        footprints.put("direct ByteBuffer", (double) RECORD_BYTES);
+    }
+
+    public void runObjects(int records, boolean shuffled, boolean record) {
+        int[] order = randomOrder(records);
+        Record[] objects = buildObjects(records, shuffled);
+
+        double sequential = nsPerRecord(records, passes -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (Record r : objects) {
+                    sum += r.timestamp + (long) r.x;
+                }
+            }
+            return sum;
+        });
+        double random = nsPerRecord(records, passes -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int index : order) {
+                    Record r = objects[index];
+                    sum += r.timestamp + (long) r.x;
+                }
+            }
+            return sum;
+        });
+        record(shuffled ? "Record[] (shuffled alloc)" : "Record[] (alloc order)", records, sequential, random, record);
+    }
+
+    // Struct-of-arrays: the traversal reads x and timestamp only, so it never touches id or y
+    public void runStructOfArrays(int records, boolean record) {
+        int[] order = randomOrder(records);
+        StructOfArrays soa = new StructOfArrays(records);
+        double[] xs = soa.xs;
+        long[] timestamps = soa.timestamps;
+
+        double sequential = nsPerRecord(records, passes -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int i = 0; i < timestamps.length; i++) {
+                    sum += timestamps[i] + (long) xs[i];
+                }
+            }
+            return sum;
+        });
+        double random = nsPerRecord(records, passes -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int index : order) {
+                    sum += timestamps[index] + (long) xs[index];
+                }
+            }
+            return sum;
+        });
+        record("struct of arrays", records, sequential, random, record);
+    }
+
+    public void runOffHeap(int records, boolean record) {
+        int[] order = randomOrder(records);
+        ByteBuffer buffer = buildOffHeap(records);
+
+        double sequential = nsPerRecord(records, passes -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int i = 0; i < records; i++) {
+                    int base = i * RECORD_BYTES;
+                    sum += buffer.getLong(base + TIMESTAMP_OFFSET) + (long) buffer.getDouble(base + X_OFFSET);
+                }
+            }
+            return sum;
+        });
+        double random = nsPerRecord(records, passes -> {
+            long sum = 0;
+            for (int p = 0; p < passes; p++) {
+                for (int index : order) {
+                    int base = index * RECORD_BYTES;
+                    sum += buffer.getLong(base + TIMESTAMP_OFFSET) + (long) buffer.getDouble(base + X_OFFSET);
+                }
+            }
+            return sum;
+        });
+        record("direct ByteBuffer", records, sequential, random, record);
+    }
+
+    private void record(String layout, int records, double sequential, double random, boolean record) {
+        if (record) {
+            results.add(new LayoutResult(layout, records, footprints.getOrDefault(layout, Double.NaN), sequential, random));
+        }
+    }
+
+    public void runAll(int records, boolean record) {
+        runObjects(records, false, record);
+        runObjects(records, true, record);
+        runStructOfArrays(records, record);
+        runOffHeap(records, record);
+    }
+
+    public static void printResults(String title, List<LayoutResult> results) {
+        System.out.println("\n=== " + title + " (UseCompressedOops=" + compressedOops() + ") ===");
+        System.out.println("+----------------------------+--------------+-------+--------------+-----------------+-----------------+");
+        System.out.println("| Layout                     | Records      | Level | Bytes/Record | Sequential (ns) | Random (ns)     |");
+        System.out.println("+----------------------------+--------------+-------+--------------+-----------------+-----------------+");
+        for (LayoutResult r : results) {
+            System.out.printf("| %-26s | %,12d | %-5s | %,12.2f | %,15.2f | %,15.2f |\n",
+                    r.layout, r.records, cacheLevel(r.records), r.bytesPerRecord, r.sequentialNs, r.randomNs);
+        }
+        System.out.println("+----------------------------+--------------+-------+--------------+-----------------+-----------------+");
+        System.out.println("Level is where " + RECORD_BYTES + "-byte packed records would fit; Bytes/Record is heap growth at " + FOOTPRINT_RECORDS + " records (buffer size off-heap)");
+    }
+
+    public static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", ""));
+        }
+        return sizes;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args) : DEFAULT_SIZES;
+        JavaMemoryLayoutBenchmark benchmark = new JavaMemoryLayoutBenchmark();
+
+        System.out.println("Java Memory Layout Benchmark:");
+        System.out.println("==================================");
+
+        // Warm up every traversal once so the first measured size is not interpreted
+        benchmark.runAll(WARMUP_SIZE, false);
+        benchmark.measureFootprints();
+
+        for (int size : sizes) {
+            benchmark.runAll(size, true);
+        }
+
+        printResults("Java Memory Layout Results", benchmark.results);
+
+        System.out.println("==================================");
+        System.out.println("Java Memory Layout Benchmark Completed");
+    }
+}
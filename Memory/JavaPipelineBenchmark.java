@@ -0,0 +1,331 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Collection pipeline benchmark, Java side.
+ * Three pipelines over a List<Integer> of 0..n-1:
+ * - map/filter/reduce: x * 3, keep the even ones, sum
+ * - flatMap: x -> (x, x / 2), keep multiples of 3, sum
+ * - groupBy: group by x % 16, sum each group, combine as sum((key + 1) * groupSum)
+ * each written as a serial Stream, a parallel Stream, a loop over the List and a
+ * loop over an int[] copy. Reports ns/element and bytes allocated per element,
+ * summed over all threads so parallel streams count their workers (a worker that
+ * exits mid-measurement drops out of the count). KotlinPipelineBenchmark reuses
+ * the measuring and reporting and adds eager collections and Sequence.
+ */
+public class JavaPipelineBenchmark {
+    public static final String MAP_FILTER_REDUCE = "map/filter/reduce";
+    public static final String FLAT_MAP = "flatMap";
+    public static final String GROUP_BY = "groupBy";
+    public static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    public static final int WARMUP_SIZE = 10_000;
+    public static final int GROUPS = 16;
+    private static final long ELEMENTS_PER_MEASUREMENT = 10_000_000L; // Small inputs are repeated up to this many elements
+
+    // Keeps results reachable so the JIT cannot drop the measured pipelines
+    private static volatile long sink;
+
+    @FunctionalInterface
+    public interface Pipeline {
+        long run(List<Integer> input);
+    }
+
+    public static class PipelineResult {
+        public final String pipeline;
+        public final String idiom;
+        public final int elements;
+        public final double nsPerElement;
+        public final double bytesPerElement;
+        public final long gcCount;
+
+        public PipelineResult(String pipeline, String idiom, int elements, double nsPerElement,
+                              double bytesPerElement, long gcCount) {
+            this.pipeline = pipeline;
+            this.idiom = idiom;
+            this.elements = elements;
+            this.nsPerElement = nsPerElement;
+            this.bytesPerElement = bytesPerElement;
+            this.gcCount = gcCount;
+        }
+    }
+
+    public static List<Integer> input(int size) {
+        List<Integer> input = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            input.add(i);
+        }
+        return input;
+    }
+
+    // Reference results every idiom must reproduce, computed once per input
+    public static long[] expected(List<Integer> input) {
+        return new long[]{mapFilterReduceLoop(input), flatMapLoop(input), groupByLoop(input)};
+    }
+
+    private static long repetitionsFor(int size) {
+        return Math.max(1, ELEMENTS_PER_MEASUREMENT / size);
+    }
+
+    public static PipelineResult measure(String pipeline, String idiom, List<Integer> input, long expected, Pipeline body) {
+        int size = input.size();
+        long reps = repetitionsFor(size);
+        System.gc();
+        long gcBefore = getGcCount();
+        long allocatedBefore = allocatedBytesAllThreads();
+        long start = System.nanoTime();
+        long last = 0;
+        for (long r = 0; r < reps; r++) {
+            last = body.run(input);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytesAllThreads() - allocatedBefore;
+        long gcCount = getGcCount() - gcBefore;
+        if (last != expected) {
+            throw new IllegalStateException(idiom + " " + pipeline + " returned " + last + ", expected " + expected);
+        }
+        sink = last;
+        double elementsTotal = (double) reps * size;
+        return new PipelineResult(pipeline, idiom, size, elapsed / elementsTotal, allocated / elementsTotal, gcCount);
+    }
+
+    // Skip sizes that would only measure OutOfMemoryError; the flatMap stages hold about this much per element
+    public static boolean fitsInHeap(int size) {
+        long estimatedBytesPerElement = 160;
+        Runtime runtime = Runtime.getRuntime();
+        long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        if ((long) size * estimatedBytesPerElement > available) {
+            System.out.printf("Skipping %,d elements (needs ~%,d MB, increase -Xmx)%n",
+                    size, (long) size * estimatedBytesPerElement / (1024 * 1024));
+            return false;
+        }
+        return true;
+    }
+
+    // Hand-written loops over the List, also the reference results
+
+    private static long mapFilterReduceLoop(List<Integer> input) {
+        long sum = 0;
+        for (int i = 0, n = input.size(); i < n; i++) {
+            int mapped = input.get(i) * 3;
+            if (mapped % 2 == 0) {
+                sum += mapped;
+            }
+        }
+        return sum;
+    }
+
+    private static long flatMapLoop(List<Integer> input) {
+        long sum = 0;
+        for (int i = 0, n = input.size(); i < n; i++) {
+            int x = input.get(i);
+            if (x % 3 == 0) {
+                sum += x;
+            }
+            int half = x / 2;
+            if (half % 3 == 0) {
+                sum += half;
+            }
+        }
+        return sum;
+    }
+
+    private static long groupByLoop(List<Integer> input) {
+        long[] groups = new long[GROUPS];
+        for (int i = 0, n = input.size(); i < n; i++) {
+            int x = input.get(i);
+            groups[x % GROUPS] += x;
+        }
+        return combineGroups(groups);
+    }
+
+    public static long combineGroups(long[] groups) {
+        long result = 0;
+        for (int key = 0; key < groups.length; key++) {
+            result += (key + 1) * groups[key];
+        }
+        return result;
+    }
+
+    public static long combineGroups(Map<Integer, Long> groups) {
+        long result = 0;
+        for (Map.Entry<Integer, Long> group : groups.entrySet()) {
+            result += (group.getKey() + 1) * group.getValue();
+        }
+        return result;
+    }
+
+    // The same loops over a primitive int[] copy: no unboxing, the lower bound
+
+    private static long mapFilterReduceArray(int[] input) {
+        long sum = 0;
+        for (int x : input) {
+            int mapped = x * 3;
+            if (mapped % 2 == 0) {
+                sum += mapped;
+            }
+        }
+        return sum;
+    }
+
+    private static long flatMapArray(int[] input) {
+        long sum = 0;
+        for (int x : input) {
+            if (x % 3 == 0) {
+                sum += x;
+            }
+            int half = x / 2;
+            if (half % 3 == 0) {
+                sum += half;
+            }
+        }
+        return sum;
+    }
+
+    private static long groupByArray(int[] input) {
+        long[] groups = new long[GROUPS];
+        for (int x : input) {
+            groups[x % GROUPS] += x;
+        }
+        return combineGroups(groups);
+    }
+
+    // Streams; parallel() is the only difference between the two stream idioms
+
+    private static Stream<Integer> stream(List<Integer> input, boolean parallel) {
+        return parallel ? input.parallelStream() : input.stream();
+    }
+
+    private static long mapFilterReduceStream(List<Integer> input, boolean parallel) {
+        return stream(input, parallel)
+                .map(x -> x * 3)
+                .filter(x -> x % 2 == 0)
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    private static long flatMapStream(List<Integer> input, boolean parallel) {
+        return stream(input, parallel)
+                .flatMap(x -> Stream.of(x, x / 2))
+                .filter(x -> x % 3 == 0)
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    private static long groupByStream(List<Integer> input, boolean parallel) {
+        Map<Integer, Long> groups = stream(input, parallel)
+                .collect(Collectors.groupingBy(x -> x % GROUPS, Collectors.summingLong(Integer::longValue)));
+        return combineGroups(groups);
+    }
+
+    public static List<PipelineResult> runAll(int size) {
+        List<PipelineResult> round = new ArrayList<>();
+        List<Integer> input = input(size);
+        int[] array = input.stream().mapToInt(Integer::intValue).toArray();
+        long[] expected = expected(input);
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            String idiom = parallel ? "Java parallel Stream" : "Java Stream";
+            round.add(measure(MAP_FILTER_REDUCE, idiom, input, expected[0], in -> mapFilterReduceStream(in, parallel)));
+            round.add(measure(FLAT_MAP, idiom, input, expected[1], in -> flatMapStream(in, parallel)));
+            round.add(measure(GROUP_BY, idiom, input, expected[2], in -> groupByStream(in, parallel)));
+        }
+        round.add(measure(MAP_FILTER_REDUCE, "Java loop (List)", input, expected[0], JavaPipelineBenchmark::mapFilterReduceLoop));
+        round.add(measure(FLAT_MAP, "Java loop (List)", input, expected[1], JavaPipelineBenchmark::flatMapLoop));
+        round.add(measure(GROUP_BY, "Java loop (List)", input, expected[2], JavaPipelineBenchmark::groupByLoop));
+        round.add(measure(MAP_FILTER_REDUCE, "Java loop (int[])", input, expected[0], in -> mapFilterReduceArray(array)));
+        round.add(measure(FLAT_MAP, "Java loop (int[])", input, expected[1], in -> flatMapArray(array)));
+        round.add(measure(GROUP_BY, "Java loop (int[])", input, expected[2], in -> groupByArray(array)));
+        return round;
+    }
+
+    /**
+     * Prints one table per pipeline. "vs best" is ns/element relative to the fastest
+     * idiom at the same size; "vs smallest" relative to the same idiom at the smallest
+     * size, so values above 1 mean the idiom gets slower per element as the input grows.
+     */
+    public static void printResults(String title, List<PipelineResult> results) {
+        System.out.println("\n=== " + title + " ===");
+        for (String pipeline : new String[]{MAP_FILTER_REDUCE, FLAT_MAP, GROUP_BY}) {
+            System.out.println("\n" + pipeline + ":");
+            System.out.println("+--------------------------+--------------+-----------+-----------+----------+---------+-------------+");
+            System.out.println("| Idiom                    | Elements     | ns/elem   | B/elem    | GC Count | vs best | vs smallest |");
+            System.out.println("+--------------------------+--------------+-----------+-----------+----------+---------+-------------+");
+            for (PipelineResult result : results) {
+                if (!result.pipeline.equals(pipeline)) {
+                    continue;
+                }
+                double best = Double.MAX_VALUE;
+                for (PipelineResult other : results) {
+                    if (other.pipeline.equals(pipeline) && other.elements == result.elements) {
+                        best = Math.min(best, other.nsPerElement);
+                    }
+                }
+                PipelineResult smallest = result;
+                for (PipelineResult other : results) {
+                    if (other.pipeline.equals(pipeline) && other.idiom.equals(result.idiom) && other.elements < smallest.elements) {
+                        smallest = other;
+                    }
+                }
+                System.out.printf("| %-24s | %,12d | %,9.2f | %,9.1f | %,8d | %6.2fx | %10.2fx |\n",
+                        result.idiom, result.elements, result.nsPerElement, result.bytesPerElement,
+                        result.gcCount, result.nsPerElement / best, result.nsPerElement / smallest.nsPerElement);
+            }
+            System.out.println("+--------------------------+--------------+-----------+-----------+----------+---------+-------------+");
+        }
+    }
+
+    public static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", ""));
+        }
+        return sizes;
+    }
+
+    private static long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gcBean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long allocatedBytesAllThreads() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        long total = 0;
+        for (long allocated : ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(bean.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args) : DEFAULT_SIZES;
+        List<PipelineResult> results = new ArrayList<>();
+
+        System.out.println("Java Pipeline Benchmark:");
+        System.out.println("==================================");
+
+        // Warm up every pipeline once so the first measured size is not interpreted
+        runAll(WARMUP_SIZE);
+
+        for (int size : sizes) {
+            if (fitsInHeap(size)) {
+                results.addAll(runAll(size));
+            }
+        }
+
+        printResults("Java Pipeline Results", results);
+
+        System.out.println("==================================");
+        System.out.println("Java Pipeline Benchmark Completed");
+    }
+}
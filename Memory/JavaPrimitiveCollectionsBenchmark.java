@@ -0,0 +1,473 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boxed vs primitive-specialized collections benchmark.
+ * Compares HashMap<Integer, Integer> / ArrayList<Integer> with a hand-written
+ * open-addressing IntIntMap and a growable int[] list.
+ */
+public class JavaPrimitiveCollectionsBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private static final long OPS_PER_MEASUREMENT = 10_000_000L; // Small sizes are repeated up to this many ops
+    private static final int WARMUP_SIZE = 100_000;
+
+    // Keeps results reachable so the JIT cannot drop the measured loops
+    private static volatile long sink;
+
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+    /**
+     * Open-addressing int -> int hash map with linear probing.
+     * Key 0 marks a free slot, so it is stored out of line.
+     */
+    public static class IntIntMap {
+        private static final int FREE_KEY = 0;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private int[] keys;
+        private int[] values;
+        private int size;
+        private int mask;
+        private int threshold;
+        private boolean hasFreeKey;
+        private int freeValue;
+
+        public IntIntMap(int expectedSize) {
+            int capacity = tableSizeFor((int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR));
+            allocate(capacity);
+        }
+
+        public void put(int key, int value) {
+            if (key == FREE_KEY) {
+                if (!hasFreeKey) {
+                    size++;
+                }
+                hasFreeKey = true;
+                freeValue = value;
+                return;
+            }
+            int slot = mix(key) & mask;
+            while (keys[slot] != FREE_KEY) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size >= threshold) {
+                rehash(keys.length * 2);
+            }
+        }
+
+        public int get(int key, int defaultValue) {
+            if (key == FREE_KEY) {
+                return hasFreeKey ? freeValue : defaultValue;
+            }
+            int slot = mix(key) & mask;
+            int current;
+            while ((current = keys[slot]) != FREE_KEY) {
+                if (current == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return defaultValue;
+        }
+
+        public void forEach(IntIntConsumer consumer) {
+            if (hasFreeKey) {
+                consumer.accept(FREE_KEY, freeValue);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != FREE_KEY) {
+                    consumer.accept(keys[i], values[i]);
+                }
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private void rehash(int newCapacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(newCapacity);
+            size = hasFreeKey ? 1 : 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE_KEY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private static int tableSizeFor(int n) {
+            int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+            return capacity < 0 ? 1 << 30 : capacity;
+        }
+    }
+
+    /**
+     * Growable list of primitive ints backed by a single int[].
+     */
+    public static class IntArrayList {
+        private int[] elements;
+        private int size;
+
+        public IntArrayList(int initialCapacity) {
+            elements = new int[Math.max(initialCapacity, 10)];
+        }
+
+        public void add(int value) {
+            if (size == elements.length) {
+                int[] grown = new int[elements.length + (elements.length >> 1)];
+                System.arraycopy(elements, 0, grown, 0, size);
+                elements = grown;
+            }
+            elements[size++] = value;
+        }
+
+        public int get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return elements[index];
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    // Result of one structure at one size
+    private static class CollectionResult {
+        String structure;
+        int size;
+        double putNsPerOp;
+        double getNsPerOp;
+        double iterateNsPerOp;
+        double bytesPerEntry;
+        long gcCount;
+
+        CollectionResult(String structure, int size) {
+            this.structure = structure;
+            this.size = size;
+        }
+    }
+
+    // Sums values seen by IntIntMap.forEach without allocating per call
+    private static class SumConsumer implements IntIntConsumer {
+        long sum;
+
+        @Override
+        public void accept(int key, int value) {
+            sum += value;
+        }
+    }
+
+    private final List<CollectionResult> results = new ArrayList<>();
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args) : DEFAULT_SIZES;
+        JavaPrimitiveCollectionsBenchmark benchmark = new JavaPrimitiveCollectionsBenchmark();
+
+        System.out.println("Java Primitive Collections Benchmark:");
+        System.out.println("==================================");
+
+        // Warm up every code path once so the first measured size is not interpreted
+        benchmark.runAll(WARMUP_SIZE, false);
+
+        for (int size : sizes) {
+            benchmark.runAll(size, true);
+        }
+
+        benchmark.printResults();
+
+        System.out.println("==================================");
+        System.out.println("Java Primitive Collections Benchmark Completed");
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", ""));
+        }
+        return sizes;
+    }
+
+    public void runAll(int size, boolean record) {
+        runBoxedMap(size, record);
+        runIntIntMap(size, record);
+        runBoxedList(size, record);
+        runIntArrayList(size, record);
+    }
+
+    // Distinct, non-sequential keys (odd multiplier is a bijection on int)
+    private static int keyAt(int i) {
+        return i * 0x9E3779B1;
+    }
+
+    private static int repetitionsFor(int size) {
+        return (int) Math.max(1, OPS_PER_MEASUREMENT / size);
+    }
+
+    public void runBoxedMap(int size, boolean record) {
+        // Roughly 16 (Integer key) + 16 (Integer value) + 32 (Node) + 8 (table slot), doubled for resize
+        if (!fitsInHeap("HashMap<Integer,Integer>", size, 144)) {
+            return;
+        }
+        CollectionResult result = new CollectionResult("HashMap<Integer,Integer>", size);
+        int reps = repetitionsFor(size);
+        forceGC();
+        long startMemory = getUsedMemory();
+        long gcBefore = getGcCount();
+
+        Map<Integer, Integer> map = null;
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put(keyAt(i), i);
+            }
+        }
+        result.putNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        long sum = 0;
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            for (int i = 0; i < size; i++) {
+                sum += map.get(keyAt(i));
+            }
+        }
+        result.getNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                sum += entry.getValue();
+            }
+        }
+        result.iterateNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        result.gcCount = getGcCount() - gcBefore;
+        forceGC();
+        result.bytesPerEntry = Math.max(0, getUsedMemory() - startMemory) / (double) size;
+        sink = sum + map.size();
+        record(result, record);
+    }
+
+    public void runIntIntMap(int size, boolean record) {
+        // keys[] + values[] at load factor 0.75, doubled for rehash
+        if (!fitsInHeap("IntIntMap", size, 48)) {
+            return;
+        }
+        CollectionResult result = new CollectionResult("IntIntMap", size);
+        int reps = repetitionsFor(size);
+        forceGC();
+        long startMemory = getUsedMemory();
+        long gcBefore = getGcCount();
+
+        IntIntMap map = null;
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            map = new IntIntMap(16);
+            for (int i = 0; i < size; i++) {
+                map.put(keyAt(i), i);
+            }
+        }
+        result.putNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        long sum = 0;
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            for (int i = 0; i < size; i++) {
+                sum += map.get(keyAt(i), -1);
+            }
+        }
+        result.getNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        SumConsumer consumer = new SumConsumer();
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            map.forEach(consumer);
+        }
+        result.iterateNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        result.gcCount = getGcCount() - gcBefore;
+        forceGC();
+        result.bytesPerEntry = Math.max(0, getUsedMemory() - startMemory) / (double) size;
+        sink = sum + consumer.sum + map.size();
+        record(result, record);
+    }
+
+    public void runBoxedList(int size, boolean record) {
+        // 16 (Integer) + 4-8 (reference), with 1.5x growth headroom
+        if (!fitsInHeap("ArrayList<Integer>", size, 48)) {
+            return;
+        }
+        CollectionResult result = new CollectionResult("ArrayList<Integer>", size);
+        int reps = repetitionsFor(size);
+        forceGC();
+        long startMemory = getUsedMemory();
+        long gcBefore = getGcCount();
+
+        List<Integer> list = null;
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            list = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                list.add(keyAt(i));
+            }
+        }
+        result.putNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        long sum = 0;
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            for (int i = 0; i < size; i++) {
+                sum += list.get(i);
+            }
+        }
+        result.getNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            for (Integer value : list) {
+                sum += value;
+            }
+        }
+        result.iterateNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        result.gcCount = getGcCount() - gcBefore;
+        forceGC();
+        result.bytesPerEntry = Math.max(0, getUsedMemory() - startMemory) / (double) size;
+        sink = sum + list.size();
+        record(result, record);
+    }
+
+    public void runIntArrayList(int size, boolean record) {
+        // 4 bytes per element, with 1.5x growth headroom during copy
+        if (!fitsInHeap("IntArrayList", size, 12)) {
+            return;
+        }
+        CollectionResult result = new CollectionResult("IntArrayList", size);
+        int reps = repetitionsFor(size);
+        forceGC();
+        long startMemory = getUsedMemory();
+        long gcBefore = getGcCount();
+
+        IntArrayList list = null;
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            list = new IntArrayList(10);
+            for (int i = 0; i < size; i++) {
+                list.add(keyAt(i));
+            }
+        }
+        result.putNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        long sum = 0;
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            for (int i = 0; i < size; i++) {
+                sum += list.get(i);
+            }
+        }
+        result.getNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        // Iterating is index-based as well; there is no iterator object to allocate
+        start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            int n = list.size();
+            for (int i = 0; i < n; i++) {
+                sum += list.get(i);
+            }
+        }
+        result.iterateNsPerOp = (double) (System.nanoTime() - start) / ((long) reps * size);
+
+        result.gcCount = getGcCount() - gcBefore;
+        forceGC();
+        result.bytesPerEntry = Math.max(0, getUsedMemory() - startMemory) / (double) size;
+        sink = sum + list.size();
+        record(result, record);
+    }
+
+    private void record(CollectionResult result, boolean record) {
+        if (record) {
+            results.add(result);
+        }
+    }
+
+    // Skip sizes that would only measure OutOfMemoryError
+    private boolean fitsInHeap(String structure, int size, long estimatedBytesPerEntry) {
+        Runtime runtime = Runtime.getRuntime();
+        long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        if ((long) size * estimatedBytesPerEntry > available) {
+            System.out.printf("Skipping %s at %,d entries (needs ~%,d MB, increase -Xmx)%n",
+                    structure, size, (long) size * estimatedBytesPerEntry / (1024 * 1024));
+            return false;
+        }
+        return true;
+    }
+
+    private void printResults() {
+        System.out.println("\n=== Combined Test Results ===");
+        System.out.println("+--------------------------+--------------+------------+------------+--------------+-------------+----------+");
+        System.out.println("| Structure                | Entries      | Put (ns)   | Get (ns)   | Iterate (ns) | Bytes/Entry | GC Count |");
+        System.out.println("+--------------------------+--------------+------------+------------+--------------+-------------+----------+");
+
+        for (CollectionResult result : results) {
+            System.out.printf("| %-24s | %,12d | %,10.2f | %,10.2f | %,12.2f | %,11.2f | %,8d |\n",
+                    result.structure, result.size, result.putNsPerOp, result.getNsPerOp,
+                    result.iterateNsPerOp, result.bytesPerEntry, result.gcCount);
+        }
+
+        System.out.println("+--------------------------+--------------+------------+------------+--------------+-------------+----------+");
+    }
+
+    public static void forceGC() {
+        System.gc();
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gcBean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long getUsedMemory() {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heapUsage = memoryBean.getHeapMemoryUsage();
+        return heapUsage.getUsed();
+    }
+}
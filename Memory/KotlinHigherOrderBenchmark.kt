@@ -1,7 +1,7 @@
 import java.lang.management.ManagementFactory
 
 object KotlinHigherOrderBenchmark {
-    const val ITERATIONS = 1_000_000  // ✅ Public constant for inline compatibility
+    val ITERATIONS: Int = Integer.getInteger("iterations", 1_000_000)  // ✅ Public for inline compatibility, -Diterations overrides
 
     @JvmStatic
     fun main(args: Array<String>) {
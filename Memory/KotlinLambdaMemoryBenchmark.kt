@@ -1,7 +1,7 @@
 import java.lang.management.ManagementFactory
 
 object KotlinLambdaMemoryBenchmark {
-    const val ITERATIONS = 1_000_000
+    val ITERATIONS: Int = Integer.getInteger("iterations", 1_000_000)
 
     @JvmStatic
     fun main(args: Array<String>) {
@@ -0,0 +1,168 @@
+import java.nio.ByteBuffer
+
+/**
+ * Memory layout benchmark, Kotlin side.
+ * The same records as JavaMemoryLayoutBenchmark held the way Kotlin code usually
+ * holds them: Array<Record> and List<Record> of data classes, primitive columns
+ * read through a @JvmInline value class handle, and a packed direct buffer.
+ * Traversal timing, footprint sampling and reporting come from JavaMemoryLayoutBenchmark.
+ */
+object KotlinMemoryLayoutBenchmark {
+    private const val X_OFFSET = 8
+    private const val TIMESTAMP_OFFSET = 24
+
+    data class Record(val id: Int, val x: Double, val y: Double, val timestamp: Long)
+
+    class Columns(records: Int) {
+        val ids = IntArray(records) { it }
+        val xs = DoubleArray(records) { JavaMemoryLayoutBenchmark.xOf(it) }
+        val ys = DoubleArray(records) { JavaMemoryLayoutBenchmark.yOf(it) }
+        val timestamps = LongArray(records) { JavaMemoryLayoutBenchmark.timestampOf(it) }
+    }
+
+    // Object-like access to one row of the columns; erased to a plain Int index at compile time
+    @JvmInline
+    value class RecordRef(val index: Int) {
+        fun x(columns: Columns): Double = columns.xs[index]
+        fun timestamp(columns: Columns): Long = columns.timestamps[index]
+    }
+
+    private val results = mutableListOf<JavaMemoryLayoutBenchmark.LayoutResult>()
+    private val footprints = linkedMapOf<String, Double>()
+
+    private fun buildArray(records: Int): Array<Record> = Array(records) {
+        Record(it, JavaMemoryLayoutBenchmark.xOf(it), JavaMemoryLayoutBenchmark.yOf(it), JavaMemoryLayoutBenchmark.timestampOf(it))
+    }
+
+    private fun buildList(records: Int): List<Record> = List(records) {
+        Record(it, JavaMemoryLayoutBenchmark.xOf(it), JavaMemoryLayoutBenchmark.yOf(it), JavaMemoryLayoutBenchmark.timestampOf(it))
+    }
+
+    fun measureFootprints() {
+        footprints["Array<Record>"] = JavaMemoryLayoutBenchmark.bytesPerRecord { buildArray(it) }
+        footprints["List<Record>"] = JavaMemoryLayoutBenchmark.bytesPerRecord { buildList(it) }
+        footprints["columns + value class"] = JavaMemoryLayoutBenchmark.bytesPerRecord { Columns(it) }
+        // Off-heap bytes are the buffer itself; none of it shows up in the heap
+        footprints["direct ByteBuffer"] = JavaMemoryLayoutBenchmark.RECORD_BYTES.toDouble()
+    }
+
+    private fun record(layout: String, records: Int, sequential: Double, random: Double, record: Boolean) {
+        if (record) {
+            results.add(JavaMemoryLayoutBenchmark.LayoutResult(layout, records, footprints[layout] ?: Double.NaN, sequential, random))
+        }
+    }
+
+    fun runArray(records: Int, record: Boolean) {
+        val order = JavaMemoryLayoutBenchmark.randomOrder(records)
+        val objects = buildArray(records)
+        val sequential = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) { for (r in objects) sum += r.timestamp + r.x.toLong() }
+            sum
+        }
+        val random = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) { for (index in order) sum += objects[index].let { it.timestamp + it.x.toLong() } }
+            sum
+        }
+        record("Array<Record>", records, sequential, random, record)
+    }
+
+    // for-in over a List goes through its Iterator; random access through get()
+    fun runList(records: Int, record: Boolean) {
+        val order = JavaMemoryLayoutBenchmark.randomOrder(records)
+        val objects = buildList(records)
+        val sequential = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) { for (r in objects) sum += r.timestamp + r.x.toLong() }
+            sum
+        }
+        val random = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) { for (index in order) sum += objects[index].let { it.timestamp + it.x.toLong() } }
+            sum
+        }
+        record("List<Record>", records, sequential, random, record)
+    }
+
+    fun runColumns(records: Int, record: Boolean) {
+        val order = JavaMemoryLayoutBenchmark.randomOrder(records)
+        val columns = Columns(records)
+        val sequential = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) {
+                for (i in 0 until records) {
+                    val ref = RecordRef(i)
+                    sum += ref.timestamp(columns) + ref.x(columns).toLong()
+                }
+            }
+            sum
+        }
+        val random = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) {
+                for (index in order) {
+                    val ref = RecordRef(index)
+                    sum += ref.timestamp(columns) + ref.x(columns).toLong()
+                }
+            }
+            sum
+        }
+        record("columns + value class", records, sequential, random, record)
+    }
+
+    fun runOffHeap(records: Int, record: Boolean) {
+        val order = JavaMemoryLayoutBenchmark.randomOrder(records)
+        val buffer: ByteBuffer = JavaMemoryLayoutBenchmark.buildOffHeap(records)
+        val stride = JavaMemoryLayoutBenchmark.RECORD_BYTES
+        val sequential = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) {
+                for (i in 0 until records) {
+                    val base = i * stride
+                    sum += buffer.getLong(base + TIMESTAMP_OFFSET) + buffer.getDouble(base + X_OFFSET).toLong()
+                }
+            }
+            sum
+        }
+        val random = JavaMemoryLayoutBenchmark.nsPerRecord(records) { passes ->
+            var sum = 0L
+            repeat(passes) {
+                for (index in order) {
+                    val base = index * stride
+                    sum += buffer.getLong(base + TIMESTAMP_OFFSET) + buffer.getDouble(base + X_OFFSET).toLong()
+                }
+            }
+            sum
+        }
+        record("direct ByteBuffer", records, sequential, random, record)
+    }
+
+    fun runAll(records: Int, record: Boolean) {
+        runArray(records, record)
+        runList(records, record)
+        runColumns(records, record)
+        runOffHeap(records, record)
+    }
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val sizes = if (args.isNotEmpty()) JavaMemoryLayoutBenchmark.parseSizes(args) else JavaMemoryLayoutBenchmark.DEFAULT_SIZES
+
+        println("Kotlin Memory Layout Benchmark:")
+        println("==================================")
+
+        // Warm up every traversal once so the first measured size is not interpreted
+        runAll(JavaMemoryLayoutBenchmark.WARMUP_SIZE, false)
+        measureFootprints()
+
+        for (size in sizes) {
+            runAll(size, true)
+        }
+
+        JavaMemoryLayoutBenchmark.printResults("Kotlin Memory Layout Results", results)
+
+        println("==================================")
+        println("Kotlin Memory Layout Benchmark Completed")
+    }
+}
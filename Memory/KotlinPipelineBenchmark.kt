@@ -0,0 +1,106 @@
+/**
+ * Collection pipeline benchmark, Kotlin side.
+ * The three JavaPipelineBenchmark pipelines written as eager collection operators
+ * (every stage materializes a List), as a lazy Sequence (groupBy becomes
+ * groupingBy().fold(), which builds no per-group lists), and as a for loop. The Java
+ * Stream and loop idioms are measured on the same input, so one table covers every
+ * idiom. Timing, allocation sampling and reporting come from JavaPipelineBenchmark.
+ */
+object KotlinPipelineBenchmark {
+    private const val EAGER = "Kotlin eager collections"
+    private const val SEQUENCE = "Kotlin Sequence"
+    private const val LOOP = "Kotlin for loop"
+
+    private fun mapFilterReduceEager(input: List<Int>): Long =
+        input.map { it * 3 }.filter { it % 2 == 0 }.sumOf { it.toLong() }
+
+    private fun flatMapEager(input: List<Int>): Long =
+        input.flatMap { listOf(it, it / 2) }.filter { it % 3 == 0 }.sumOf { it.toLong() }
+
+    private fun groupByEager(input: List<Int>): Long =
+        input.groupBy { it % JavaPipelineBenchmark.GROUPS }
+            .entries.sumOf { (key, values) -> (key + 1) * values.sumOf { it.toLong() } }
+
+    private fun mapFilterReduceSequence(input: List<Int>): Long =
+        input.asSequence().map { it * 3 }.filter { it % 2 == 0 }.sumOf { it.toLong() }
+
+    private fun flatMapSequence(input: List<Int>): Long =
+        input.asSequence().flatMap { sequenceOf(it, it / 2) }.filter { it % 3 == 0 }.sumOf { it.toLong() }
+
+    private fun groupBySequence(input: List<Int>): Long =
+        input.asSequence().groupingBy { it % JavaPipelineBenchmark.GROUPS }
+            .fold(0L) { sum, value -> sum + value }
+            .entries.sumOf { (key, sum) -> (key + 1) * sum }
+
+    private fun mapFilterReduceLoop(input: List<Int>): Long {
+        var sum = 0L
+        for (x in input) {
+            val mapped = x * 3
+            if (mapped % 2 == 0) sum += mapped
+        }
+        return sum
+    }
+
+    private fun flatMapLoop(input: List<Int>): Long {
+        var sum = 0L
+        for (x in input) {
+            if (x % 3 == 0) sum += x
+            val half = x / 2
+            if (half % 3 == 0) sum += half
+        }
+        return sum
+    }
+
+    private fun groupByLoop(input: List<Int>): Long {
+        val groups = LongArray(JavaPipelineBenchmark.GROUPS)
+        for (x in input) {
+            groups[x % JavaPipelineBenchmark.GROUPS] += x.toLong()
+        }
+        return JavaPipelineBenchmark.combineGroups(groups)
+    }
+
+    fun runAll(size: Int): List<JavaPipelineBenchmark.PipelineResult> {
+        val input = JavaPipelineBenchmark.input(size)
+        val expected = JavaPipelineBenchmark.expected(input)
+        val round = mutableListOf<JavaPipelineBenchmark.PipelineResult>()
+        fun measure(pipeline: String, idiom: String, expected: Long, body: (List<Int>) -> Long) {
+            round.add(JavaPipelineBenchmark.measure(pipeline, idiom, input, expected) { body(it) })
+        }
+
+        measure(JavaPipelineBenchmark.MAP_FILTER_REDUCE, EAGER, expected[0], ::mapFilterReduceEager)
+        measure(JavaPipelineBenchmark.FLAT_MAP, EAGER, expected[1], ::flatMapEager)
+        measure(JavaPipelineBenchmark.GROUP_BY, EAGER, expected[2], ::groupByEager)
+        measure(JavaPipelineBenchmark.MAP_FILTER_REDUCE, SEQUENCE, expected[0], ::mapFilterReduceSequence)
+        measure(JavaPipelineBenchmark.FLAT_MAP, SEQUENCE, expected[1], ::flatMapSequence)
+        measure(JavaPipelineBenchmark.GROUP_BY, SEQUENCE, expected[2], ::groupBySequence)
+        measure(JavaPipelineBenchmark.MAP_FILTER_REDUCE, LOOP, expected[0], ::mapFilterReduceLoop)
+        measure(JavaPipelineBenchmark.FLAT_MAP, LOOP, expected[1], ::flatMapLoop)
+        measure(JavaPipelineBenchmark.GROUP_BY, LOOP, expected[2], ::groupByLoop)
+        return round
+    }
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val sizes = if (args.isNotEmpty()) JavaPipelineBenchmark.parseSizes(args) else JavaPipelineBenchmark.DEFAULT_SIZES
+        val results = mutableListOf<JavaPipelineBenchmark.PipelineResult>()
+
+        println("Kotlin Pipeline Benchmark:")
+        println("==================================")
+
+        // Warm up every pipeline once so the first measured size is not interpreted
+        runAll(JavaPipelineBenchmark.WARMUP_SIZE)
+        JavaPipelineBenchmark.runAll(JavaPipelineBenchmark.WARMUP_SIZE)
+
+        for (size in sizes) {
+            if (JavaPipelineBenchmark.fitsInHeap(size)) {
+                results.addAll(runAll(size))
+                results.addAll(JavaPipelineBenchmark.runAll(size))
+            }
+        }
+
+        JavaPipelineBenchmark.printResults("Kotlin vs Java Pipeline Results", results)
+
+        println("==================================")
+        println("Kotlin Pipeline Benchmark Completed")
+    }
+}
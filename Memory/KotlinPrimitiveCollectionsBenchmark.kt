@@ -0,0 +1,325 @@
+import java.lang.management.ManagementFactory
+
+object KotlinPrimitiveCollectionsBenchmark {
+    val DEFAULT_SIZES = intArrayOf(1_000, 10_000, 100_000, 1_000_000, 10_000_000)
+    const val OPS_PER_MEASUREMENT = 10_000_000L  // Small sizes are repeated up to this many ops
+    const val WARMUP_SIZE = 100_000
+
+    /** Keeps results reachable so the JIT cannot drop the measured loops */
+    @Volatile
+    var sink = 0L
+
+    /** Open-addressing Int -> Int hash map with linear probing; key 0 is stored out of line */
+    class IntIntMap(expectedSize: Int) {
+        @PublishedApi internal var keys = IntArray(0)
+        @PublishedApi internal var values = IntArray(0)
+        @PublishedApi internal var hasFreeKey = false
+        @PublishedApi internal var freeValue = 0
+        private var mask = 0
+        private var threshold = 0
+        var size = 0
+            private set
+
+        init {
+            allocate(tableSizeFor(Math.ceil(maxOf(expectedSize, 2) / LOAD_FACTOR.toDouble()).toInt()))
+        }
+
+        fun put(key: Int, value: Int) {
+            if (key == FREE_KEY) {
+                if (!hasFreeKey) size++
+                hasFreeKey = true
+                freeValue = value
+                return
+            }
+            var slot = mix(key) and mask
+            while (keys[slot] != FREE_KEY) {
+                if (keys[slot] == key) {
+                    values[slot] = value
+                    return
+                }
+                slot = (slot + 1) and mask
+            }
+            keys[slot] = key
+            values[slot] = value
+            if (++size >= threshold) {
+                rehash(keys.size * 2)
+            }
+        }
+
+        fun get(key: Int, defaultValue: Int): Int {
+            if (key == FREE_KEY) return if (hasFreeKey) freeValue else defaultValue
+            var slot = mix(key) and mask
+            while (true) {
+                val current = keys[slot]
+                if (current == FREE_KEY) return defaultValue
+                if (current == key) return values[slot]
+                slot = (slot + 1) and mask
+            }
+        }
+
+        /** Inline so iteration compiles to a plain array scan with no lambda object */
+        inline fun forEach(action: (key: Int, value: Int) -> Unit) {
+            if (hasFreeKey) action(FREE_KEY, freeValue)
+            val k = keys
+            val v = values
+            for (i in k.indices) {
+                if (k[i] != FREE_KEY) action(k[i], v[i])
+            }
+        }
+
+        private fun rehash(newCapacity: Int) {
+            val oldKeys = keys
+            val oldValues = values
+            allocate(newCapacity)
+            size = if (hasFreeKey) 1 else 0
+            for (i in oldKeys.indices) {
+                if (oldKeys[i] != FREE_KEY) put(oldKeys[i], oldValues[i])
+            }
+        }
+
+        private fun allocate(capacity: Int) {
+            keys = IntArray(capacity)
+            values = IntArray(capacity)
+            mask = capacity - 1
+            threshold = (capacity * LOAD_FACTOR).toInt()
+        }
+
+        companion object {
+            const val FREE_KEY = 0
+            private const val LOAD_FACTOR = 0.75f
+
+            private fun mix(key: Int): Int {
+                val h = key * -0x61c88647
+                return h xor (h ushr 16)
+            }
+
+            private fun tableSizeFor(n: Int): Int {
+                val capacity = Integer.highestOneBit(maxOf(n - 1, 1)) shl 1
+                return if (capacity < 0) 1 shl 30 else capacity
+            }
+        }
+    }
+
+    /** Growable list of primitive ints backed by a single IntArray */
+    class IntArrayList(initialCapacity: Int = 10) {
+        private var elements = IntArray(maxOf(initialCapacity, 10))
+        var size = 0
+            private set
+
+        fun add(value: Int) {
+            if (size == elements.size) {
+                elements = elements.copyOf(elements.size + (elements.size shr 1))
+            }
+            elements[size++] = value
+        }
+
+        operator fun get(index: Int): Int {
+            if (index >= size) throw IndexOutOfBoundsException("Index: $index, Size: $size")
+            return elements[index]
+        }
+    }
+
+    private data class CollectionResult(
+        val structure: String,
+        val size: Int,
+        val putNsPerOp: Double,
+        val getNsPerOp: Double,
+        val iterateNsPerOp: Double,
+        val bytesPerEntry: Double,
+        val gcCount: Long
+    )
+
+    private val results = mutableListOf<CollectionResult>()
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val sizes = if (args.isNotEmpty()) args.map { it.replace("_", "").toInt() }.toIntArray() else DEFAULT_SIZES
+
+        println("Kotlin Primitive Collections Benchmark:")
+        println("==================================")
+
+        // Warm up every code path once so the first measured size is not interpreted
+        runAll(WARMUP_SIZE, record = false)
+
+        for (size in sizes) {
+            runAll(size, record = true)
+        }
+
+        printResults()
+
+        println("==================================")
+        println("Kotlin Primitive Collections Benchmark Completed")
+    }
+
+    fun runAll(size: Int, record: Boolean) {
+        runBoxedMap(size, record)
+        runIntIntMap(size, record)
+        runBoxedList(size, record)
+        runIntArrayList(size, record)
+    }
+
+    /** Distinct, non-sequential keys (odd multiplier is a bijection on Int) */
+    private fun keyAt(i: Int): Int = i * -0x61c8864f
+
+    private fun repetitionsFor(size: Int): Int = maxOf(1L, OPS_PER_MEASUREMENT / size).toInt()
+
+    /**
+     * Runs the put / get / iterate phases of one structure and records
+     * ns/op, retained bytes per entry and the GC count of the timed phases.
+     */
+    private inline fun <C : Any> measure(
+        structure: String,
+        size: Int,
+        estimatedBytesPerEntry: Long,
+        record: Boolean,
+        build: () -> C,
+        get: (C) -> Long,
+        iterate: (C) -> Long
+    ) {
+        if (!fitsInHeap(structure, size, estimatedBytesPerEntry)) return
+        val reps = repetitionsFor(size)
+        val ops = reps.toLong() * size
+        forceGC()
+        val startMemory = getUsedMemory()
+        val gcBefore = getGcCount()
+
+        var collection: C? = null
+        var start = System.nanoTime()
+        repeat(reps) { collection = build() }
+        val putNs = (System.nanoTime() - start).toDouble() / ops
+        val built = collection!!
+
+        var sum = 0L
+        start = System.nanoTime()
+        repeat(reps) { sum += get(built) }
+        val getNs = (System.nanoTime() - start).toDouble() / ops
+
+        start = System.nanoTime()
+        repeat(reps) { sum += iterate(built) }
+        val iterateNs = (System.nanoTime() - start).toDouble() / ops
+
+        val gcCount = getGcCount() - gcBefore
+        forceGC()
+        val bytesPerEntry = maxOf(0L, getUsedMemory() - startMemory).toDouble() / size
+        sink = sum + System.identityHashCode(built)
+        if (record) {
+            results.add(CollectionResult(structure, size, putNs, getNs, iterateNs, bytesPerEntry, gcCount))
+        }
+    }
+
+    fun runBoxedMap(size: Int, record: Boolean) = measure(
+        "HashMap<Int,Int>", size, 144, record,
+        build = {
+            val map = HashMap<Int, Int>()
+            for (i in 0 until size) map[keyAt(i)] = i
+            map
+        },
+        get = { map ->
+            var sum = 0L
+            for (i in 0 until size) sum += map[keyAt(i)]!!
+            sum
+        },
+        iterate = { map ->
+            var sum = 0L
+            for ((_, value) in map) sum += value
+            sum
+        }
+    )
+
+    fun runIntIntMap(size: Int, record: Boolean) = measure(
+        "IntIntMap", size, 48, record,
+        build = {
+            val map = IntIntMap(16)
+            for (i in 0 until size) map.put(keyAt(i), i)
+            map
+        },
+        get = { map ->
+            var sum = 0L
+            for (i in 0 until size) sum += map.get(keyAt(i), -1)
+            sum
+        },
+        iterate = { map ->
+            var sum = 0L
+            map.forEach { _, value -> sum += value }
+            sum
+        }
+    )
+
+    fun runBoxedList(size: Int, record: Boolean) = measure(
+        "MutableList<Int>", size, 48, record,
+        build = {
+            val list = mutableListOf<Int>()
+            for (i in 0 until size) list.add(keyAt(i))
+            list
+        },
+        get = { list ->
+            var sum = 0L
+            for (i in 0 until size) sum += list[i]
+            sum
+        },
+        iterate = { list ->
+            var sum = 0L
+            for (value in list) sum += value
+            sum
+        }
+    )
+
+    fun runIntArrayList(size: Int, record: Boolean) = measure(
+        "IntArrayList", size, 12, record,
+        build = {
+            val list = IntArrayList()
+            for (i in 0 until size) list.add(keyAt(i))
+            list
+        },
+        get = { list ->
+            var sum = 0L
+            for (i in 0 until size) sum += list[i]
+            sum
+        },
+        iterate = { list ->
+            var sum = 0L
+            for (i in 0 until list.size) sum += list[i]
+            sum
+        }
+    )
+
+    /** Skip sizes that would only measure OutOfMemoryError */
+    private fun fitsInHeap(structure: String, size: Int, estimatedBytesPerEntry: Long): Boolean {
+        val runtime = Runtime.getRuntime()
+        val available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory())
+        val needed = size.toLong() * estimatedBytesPerEntry
+        if (needed > available) {
+            println("Skipping %s at %,d entries (needs ~%,d MB, increase -Xmx)".format(structure, size, needed / (1024 * 1024)))
+            return false
+        }
+        return true
+    }
+
+    private fun printResults() {
+        println("\n=== Combined Test Results ===")
+        println("+--------------------------+--------------+------------+------------+--------------+-------------+----------+")
+        println("| Structure                | Entries      | Put (ns)   | Get (ns)   | Iterate (ns) | Bytes/Entry | GC Count |")
+        println("+--------------------------+--------------+------------+------------+--------------+-------------+----------+")
+
+        for (result in results) {
+            println("| %-24s | %,12d | %,10.2f | %,10.2f | %,12.2f | %,11.2f | %,8d |".format(
+                result.structure, result.size, result.putNsPerOp, result.getNsPerOp,
+                result.iterateNsPerOp, result.bytesPerEntry, result.gcCount))
+        }
+
+        println("+--------------------------+--------------+------------+------------+--------------+-------------+----------+")
+    }
+
+    fun forceGC() {
+        System.gc()
+        Thread.sleep(500)
+    }
+
+    private fun getGcCount(): Long =
+        ManagementFactory.getGarbageCollectorMXBeans().sumOf { maxOf(0L, it.collectionCount) }
+
+    fun getUsedMemory(): Long {
+        val memoryBean = ManagementFactory.getMemoryMXBean()
+        return memoryBean.heapMemoryUsage.used
+    }
+}